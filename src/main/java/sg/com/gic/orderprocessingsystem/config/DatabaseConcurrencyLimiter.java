@@ -0,0 +1,43 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caps how many listener tasks use the database at once. With virtual-thread listeners thousands of
+ * events can be in flight; without a cap they would all queue inside the connection pool and time
+ * out there. Waiting for a permit parks a virtual thread without holding a carrier.
+ */
+@Component
+public class DatabaseConcurrencyLimiter {
+
+  private final Semaphore permits;
+
+  public DatabaseConcurrencyLimiter(
+      @Value("${listener.executor.db-permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits) {
+    this.permits = new Semaphore(permits, true);
+  }
+
+  public void run(Runnable work) {
+    call(() -> {
+      work.run();
+      return null;
+    });
+  }
+
+  public <T> T call(Supplier<T> work) {
+    try {
+      permits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for a database permit", e);
+    }
+    try {
+      return work.get();
+    } finally {
+      permits.release();
+    }
+  }
+}
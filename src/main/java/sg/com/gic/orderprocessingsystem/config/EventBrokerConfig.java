@@ -0,0 +1,26 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import java.net.InetSocketAddress;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.EventBroker;
+
+/**
+ * Runs the event broker inside this process when {@code event.transport.broker.enabled=true}, so
+ * one of the service processes can host it instead of a separate broker process.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.transport.broker.enabled", havingValue = "true")
+public class EventBrokerConfig {
+
+  @Bean(initMethod = "start", destroyMethod = "close")
+  public EventBroker eventBroker(
+      @Value("${event.transport.broker-port:7070}") int port,
+      @Value("${event.transport.broker.publisher-credits:1024}") int publisherCredits,
+      @Value("${event.transport.max-batch:256}") int maxBatch,
+      @Value("${event.transport.broker.queue-capacity:100000}") int queueCapacity) {
+    return new EventBroker(new InetSocketAddress(port), publisherCredits, maxBatch, queueCapacity);
+  }
+}
@@ -0,0 +1,90 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Bounded executors for the {@code @Async} event listeners, one per listener so a slow stage cannot
+ * starve the others. When an executor is full it rejects the task instead of queueing without
+ * limit; the publisher then leaves the event pending in the outbox for the relay to retry.
+ *
+ * <p>{@code listener.executor.mode} picks the thread model. {@code platform} uses a fixed pool with a
+ * bounded queue. {@code virtual} starts a virtual thread per event, capped at {@code max-concurrency}
+ * running tasks, so listeners that block (the simulated payment gateway) do not hold a carrier
+ * thread; database work inside them is capped separately by {@link DatabaseConcurrencyLimiter}.
+ */
+@Configuration
+public class ListenerExecutorConfig {
+
+  public static final String PAYMENT_EXECUTOR = "paymentListenerExecutor";
+  public static final String NOTIFICATION_EXECUTOR = "notificationListenerExecutor";
+  public static final String RETRY_EXECUTOR = "retryListenerExecutor";
+
+  private final String mode;
+
+  public ListenerExecutorConfig(@Value("${listener.executor.mode:platform}") String mode) {
+    if (!mode.equals("platform") && !mode.equals("virtual")) {
+      throw new IllegalStateException("Unknown listener.executor.mode: " + mode);
+    }
+    this.mode = mode;
+  }
+
+  @Bean(name = PAYMENT_EXECUTOR)
+  public AsyncTaskExecutor paymentListenerExecutor(
+      @Value("${listener.executor.payment.pool-size:4}") int poolSize,
+      @Value("${listener.executor.payment.queue-capacity:100}") int queueCapacity,
+      @Value("${listener.executor.payment.max-concurrency:1000}") int maxConcurrency) {
+    return executor("payment-listener-", poolSize, queueCapacity, maxConcurrency);
+  }
+
+  @Bean(name = NOTIFICATION_EXECUTOR)
+  public AsyncTaskExecutor notificationListenerExecutor(
+      @Value("${listener.executor.notification.pool-size:2}") int poolSize,
+      @Value("${listener.executor.notification.queue-capacity:500}") int queueCapacity,
+      @Value("${listener.executor.notification.max-concurrency:1000}") int maxConcurrency) {
+    return executor("notification-listener-", poolSize, queueCapacity, maxConcurrency);
+  }
+
+  /**
+   * Runs handler retries once their backoff has passed; a full executor delays the retry by one
+   * tick instead of using up an attempt.
+   */
+  @Bean(name = RETRY_EXECUTOR)
+  public AsyncTaskExecutor retryListenerExecutor(
+      @Value("${listener.executor.retry.pool-size:2}") int poolSize,
+      @Value("${listener.executor.retry.queue-capacity:1000}") int queueCapacity,
+      @Value("${listener.executor.retry.max-concurrency:1000}") int maxConcurrency) {
+    return executor("retry-listener-", poolSize, queueCapacity, maxConcurrency);
+  }
+
+  private AsyncTaskExecutor executor(String threadNamePrefix, int poolSize, int queueCapacity,
+      int maxConcurrency) {
+    return mode.equals("virtual")
+        ? virtualThreadExecutor(threadNamePrefix, maxConcurrency)
+        : boundedExecutor(threadNamePrefix, poolSize, queueCapacity);
+  }
+
+  static ThreadPoolTaskExecutor boundedExecutor(String threadNamePrefix, int poolSize, int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setWaitForTasksToCompleteOnShutdown(true);
+    executor.setAwaitTerminationSeconds(5);
+    return executor;
+  }
+
+  static SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix, int maxConcurrency) {
+    SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+    executor.setVirtualThreads(true);
+    executor.setConcurrencyLimit(maxConcurrency);
+    executor.setRejectTasksWhenLimitReached(true);
+    executor.setTaskTerminationTimeout(5_000);
+    return executor;
+  }
+}
@@ -0,0 +1,23 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+/**
+ * Executor for outbox replays. Each replay holds a thread for its whole run, so the pool size is
+ * the number of replays that can progress at once; further requests wait in the queue.
+ */
+@Configuration
+public class ReplayConfig {
+
+  public static final String REPLAY_EXECUTOR = "outboxReplayExecutor";
+
+  @Bean(name = REPLAY_EXECUTOR)
+  public AsyncTaskExecutor outboxReplayExecutor(
+      @Value("${replay.max-concurrent:2}") int maxConcurrent,
+      @Value("${replay.queue-capacity:10}") int queueCapacity) {
+    return ListenerExecutorConfig.boundedExecutor("outbox-replay-", maxConcurrent, queueCapacity);
+  }
+}
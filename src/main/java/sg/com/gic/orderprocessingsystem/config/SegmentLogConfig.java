@@ -0,0 +1,29 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import sg.com.gic.orderprocessingsystem.eventbus.log.FsyncPolicy;
+import sg.com.gic.orderprocessingsystem.eventbus.log.SegmentLog;
+
+/**
+ * Opens the file-based event log when {@code event.publisher.type=segment-log}. Segments larger
+ * than 2 GiB cannot be mapped in one piece, so {@code event.log.segment-bytes} is an int.
+ */
+@Configuration
+@ConditionalOnProperty(name = "event.publisher.type", havingValue = "segment-log")
+public class SegmentLogConfig {
+
+  @Bean(destroyMethod = "close")
+  public SegmentLog segmentLog(
+      @Value("${event.log.directory:event-log}") String directory,
+      @Value("${event.log.segment-bytes:67108864}") int segmentBytes,
+      @Value("${event.log.index-interval-bytes:4096}") int indexIntervalBytes,
+      @Value("${event.log.fsync:interval}") String fsync) throws IOException {
+    return new SegmentLog(Path.of(directory), segmentBytes, indexIntervalBytes,
+        FsyncPolicy.forName(fsync));
+  }
+}
@@ -1,5 +1,6 @@
 package sg.com.gic.orderprocessingsystem.eventbus;
 
+import java.util.List;
 import java.util.function.Consumer;
 
 public interface EventPublisher {
@@ -7,4 +8,10 @@ public interface EventPublisher {
   void publish(Object event);
 
   <T> void subscribe(Class<T> eventType, Consumer<T> handler);
+
+  /**
+   * Like {@link #subscribe}, but hands {@code handler} the stored events in order, in lists of up
+   * to {@code event.batch.max-size}, so it can write a whole list in one transaction.
+   */
+  <T> void subscribeBatch(Class<T> eventType, Consumer<List<T>> handler);
 }
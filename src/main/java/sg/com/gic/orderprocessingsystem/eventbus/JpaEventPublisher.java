@@ -1,63 +1,297 @@
 package sg.com.gic.orderprocessingsystem.eventbus;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs.EncodedPayload;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventDispatcher;
 import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderScopedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.metrics.EventMetrics;
+import sg.com.gic.orderprocessingsystem.eventbus.offset.ConsumerOffsets;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.relay.RelayWakeups;
 import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.DeadLetters;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.RetryScheduler;
+import sg.com.gic.orderprocessingsystem.eventbus.writer.GroupCommitOutboxWriter;
 
 @Component
+@ConditionalOnProperty(name = "event.publisher.type", havingValue = "jpa", matchIfMissing = true)
 public class JpaEventPublisher  implements EventPublisher{
+  /** Prefix of the consumer name {@link #subscribe} reads the outbox log under. */
+  public static final String SUBSCRIBER_PREFIX = "subscriber:";
+
   private static final Logger logger = LoggerFactory.getLogger(JpaEventPublisher.class);
 
   private final OutboxEventRepository outboxEventRepository;
-  private final ApplicationEventPublisher applicationEventPublisher;
-  private final ObjectMapper objectMapper;
+  private final ConsumerOffsets consumerOffsets;
+  private final EventDispatcher eventDispatcher;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final EventCodecs eventCodecs;
+  private final RetryScheduler retryScheduler;
+  private final DeadLetters deadLetters;
+  private final EventMetrics eventMetrics;
+  private final RelayWakeups relayWakeups;
+  private final boolean relayEnabled;
+  private final int subscribePageSize;
+  private final int batchSize;
+  private final GroupCommitOutboxWriter groupCommitWriter;
 
-  public JpaEventPublisher(OutboxEventRepository outboxEventRepository,ApplicationEventPublisher applicationEventPublisher, ObjectMapper objectMapper) {
+  public JpaEventPublisher(OutboxEventRepository outboxEventRepository, ConsumerOffsets consumerOffsets,
+      EventDispatcher eventDispatcher, EventTypeRegistry eventTypeRegistry,
+      EventCodecs eventCodecs, RetryScheduler retryScheduler, DeadLetters deadLetters,
+      EventMetrics eventMetrics, RelayWakeups relayWakeups,
+      @Value("${outbox.relay.enabled:false}") boolean relayEnabled,
+      @Value("${outbox.subscribe.page-size:500}") int subscribePageSize,
+      @Value("${event.batch.max-size:100}") int batchSize,
+      Optional<GroupCommitOutboxWriter> groupCommitWriter) {
     this.outboxEventRepository = outboxEventRepository;
-    this.applicationEventPublisher = applicationEventPublisher;
-    this.objectMapper = objectMapper;
+    this.consumerOffsets = consumerOffsets;
+    this.eventDispatcher = eventDispatcher;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.eventCodecs = eventCodecs;
+    this.retryScheduler = retryScheduler;
+    this.deadLetters = deadLetters;
+    this.eventMetrics = eventMetrics;
+    this.relayWakeups = relayWakeups;
+    this.relayEnabled = relayEnabled;
+    this.subscribePageSize = subscribePageSize;
+    this.batchSize = batchSize;
+    this.groupCommitWriter = groupCommitWriter.orElse(null);
   }
 
+  /**
+   * Stores and delivers {@code event} as its type's delivery policy says. In-memory events skip
+   * the outbox and are only dispatched.
+   */
   @Override
   public void publish(Object event) {
     if (event == null) throw new NullPointerException("event is null");
 
+    EventType<?> type = eventTypeRegistry.forEvent(event);
+    if (!type.durable()) {
+      afterCommit(() -> dispatchInMemory(type, event));
+      return;
+    }
     try {
-      String payload = objectMapper.writeValueAsString(event);
-      OutboxEventEntity outboxEvent = new OutboxEventEntity(event.getClass().getSimpleName(), payload, LocalDateTime.now());
-      if(event.getClass().getSimpleName().equals("PaymentSucceededEvent")){
-        outboxEvent.setProcessed(true);
+      EncodedPayload payload = eventCodecs.encode(type, event);
+      OutboxEventEntity outboxEvent = new OutboxEventEntity(type.code(), type.schemaVersion(),
+          payload.codecId(), payload.bytes(), LocalDateTime.now());
+      // With the relay off every event is dispatched here, so none of the rows are left for it
+      outboxEvent.setRelayDelivery(relayEnabled && !type.deliveredOnPublish());
+      outboxEvent.setPartitionKey(OrderScopedEvent.partitionKey(event));
+      OutboxEventEntity saved = write(outboxEvent);
+      if (saved.getId() != null) {
+        logger.info("Event persisted to outbox: type={}, id={}", type.name(), saved.getId());
+      } else {
+        logger.info("Event staged for the outbox until commit: type={}", type.name());
       }
-      OutboxEventEntity saved = outboxEventRepository.save(outboxEvent);
-      logger.info("Event persisted to outbox: type={}, id={}", saved.getEventType(), saved.getId());
-      applicationEventPublisher.publishEvent(event);
-    } catch (JsonProcessingException e) {
+      // Relay rows are delivered by the OutboxRelay, which is woken once they commit; dispatching
+      // here as well would deliver them twice.
+      afterCommit(saved.isRelayDelivery()
+          ? relayWakeups::signal
+          : () -> dispatchOrSpill(type, saved, event));
+    } catch (IOException e) {
       throw new RuntimeException("Failed to serialize event", e);
     }
   }
 
+  /**
+   * Writes the row through the group-commit writer when it is enabled: batched with other
+   * publishers outside a transaction, or staged to be inserted with the rest of the caller's
+   * transaction's rows just before it commits, so those still commit or roll back together.
+   */
+  private OutboxEventEntity write(OutboxEventEntity outboxEvent) {
+    if (groupCommitWriter == null) {
+      return outboxEventRepository.save(outboxEvent);
+    }
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && TransactionSynchronizationManager.isSynchronizationActive()) {
+      groupCommitWriter.stage(outboxEvent);
+      return outboxEvent;
+    }
+    return groupCommitWriter.write(outboxEvent);
+  }
+
+  /**
+   * Runs {@code action} once the caller's transaction commits, or now outside of one. Listeners
+   * (and the relay) must never see an event whose row or the caller's own writes rolled back.
+   */
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  /**
+   * Dispatches an event that has no outbox row; with nowhere to spill it, an event the listener's
+   * executor rejects is dropped.
+   */
+  private void dispatchInMemory(EventType<?> type, Object event) {
+    try {
+      eventDispatcher.dispatch(event);
+    } catch (TaskRejectedException e) {
+      logger.warn("Listener executor saturated, in-memory event dropped: type={}", type.name());
+    }
+  }
+
+  /**
+   * Dispatches in-process; when the listener's executor is full the event is handed to the relay
+   * through the outbox, rather than blocking the publisher or dropping the event.
+   */
+  private void dispatchOrSpill(EventType<?> type, OutboxEventEntity saved, Object event) {
+    try {
+      eventDispatcher.dispatch(event);
+      eventMetrics.recordDispatch(type.code(), saved.getCreatedAt());
+    } catch (TaskRejectedException e) {
+      if (relayEnabled) {
+        logger.warn("Listener executor saturated, queueing event for the outbox relay: type={}, id={}",
+            type.name(), saved.getId());
+        outboxEventRepository.requeue(saved);
+        relayWakeups.signal();
+      } else {
+        logger.warn("Listener executor saturated and outbox relay disabled, event is only in the "
+            + "outbox log: type={}, id={}", type.name(), saved.getId());
+      }
+    }
+  }
+
+  /**
+   * Drains the outbox log for {@code eventType} as consumer {@value #SUBSCRIBER_PREFIX}{@code
+   * <EventName>}, from where that consumer last stopped. The whole log is read so that gaps in
+   * ids can be detected; rows of other types are skipped over. Rows that committed in a gap the
+   * consumer had read past are handled first. The offset is advanced once per
+   * page. A handler failure is retried in the background by the {@link RetryScheduler} and a row
+   * that cannot be decoded is dead-lettered, so neither stops the drain. The retry is stored, so
+   * one that a crash cut short is run again, with this handler, by the next call.
+   */
   @Override
   public <T> void subscribe(Class<T> eventType, Consumer<T> handler) {
-    String typeName = eventType.getSimpleName();
-    List<OutboxEventEntity> events = outboxEventRepository.findByEventTypeAndProcessedFalse(typeName);
-    for (OutboxEventEntity eventEntity : events) {
-      try {
-        T event = objectMapper.readValue(eventEntity.getPayload(), eventType);
-        handler.accept(event);
-        eventEntity.setProcessed(true);
-        outboxEventRepository.save(eventEntity);
-      } catch (JsonProcessingException e) {
-        throw new RuntimeException("Failed to deserialize outbox event payload", e);
+    EventType<T> type = eventTypeRegistry.forClass(eventType);
+    String consumer = SUBSCRIBER_PREFIX + type.name();
+    retryScheduler.recover(consumer, eventType, handler);
+    long position = consumerOffsets.position(consumer);
+    List<Long> skipped = new ArrayList<>();
+    for (OutboxEventEntity eventEntity : consumerOffsets.readSkipped(consumer, position)) {
+      if (eventEntity.getTypeCode() == type.code()) {
+        T event = decodeOrDeadLetter(consumer, type, eventEntity);
+        if (event != null) {
+          retryScheduler.execute(consumer, event, handler);
+        }
       }
+      skipped.add(eventEntity.getId());
     }
+    consumerOffsets.settleSkipped(consumer, skipped);
+    List<OutboxEventEntity> events;
+    do {
+      events = consumerOffsets.readAfter(consumer, position, subscribePageSize);
+      long consumed = position;
+      try {
+        for (OutboxEventEntity eventEntity : events) {
+          if (eventEntity.getTypeCode() == type.code()) {
+            T event = decodeOrDeadLetter(consumer, type, eventEntity);
+            if (event != null) {
+              retryScheduler.execute(consumer, event, handler);
+            }
+          }
+          consumed = eventEntity.getId();
+        }
+      } finally {
+        // Acknowledge whatever was already consumed, even when the page was cut short
+        if (consumed > position) {
+          consumerOffsets.advance(consumer, consumed);
+        }
+      }
+      position = consumed;
+    } while (events.size() == subscribePageSize);
     // No runtime in-memory registration — future publishes are not delivered in-process.
   }
+
+  /**
+   * Drains the outbox log for {@code eventType} like {@link #subscribe}, under the same consumer
+   * name, but hands the decoded events over in lists of up to {@code event.batch.max-size}; a list
+   * can span pages. The offset is advanced once per list, after the handler has returned, so a
+   * crash redelivers at most the list in hand. A failed list is split by
+   * {@link RetryScheduler#executeBatch}.
+   */
+  @Override
+  public <T> void subscribeBatch(Class<T> eventType, Consumer<List<T>> handler) {
+    EventType<T> type = eventTypeRegistry.forClass(eventType);
+    String consumer = SUBSCRIBER_PREFIX + type.name();
+    retryScheduler.recover(consumer, eventType, event -> handler.accept(List.of(event)));
+    long position = consumerOffsets.position(consumer);
+    List<T> skipped = new ArrayList<>();
+    List<Long> skippedIds = new ArrayList<>();
+    for (OutboxEventEntity eventEntity : consumerOffsets.readSkipped(consumer, position)) {
+      if (eventEntity.getTypeCode() == type.code()) {
+        T event = decodeOrDeadLetter(consumer, type, eventEntity);
+        if (event != null) {
+          skipped.add(event);
+        }
+      }
+      skippedIds.add(eventEntity.getId());
+    }
+    if (!skipped.isEmpty()) {
+      retryScheduler.executeBatch(consumer, skipped, handler);
+    }
+    consumerOffsets.settleSkipped(consumer, skippedIds);
+    long acknowledged = position;
+    List<T> batch = new ArrayList<>(batchSize);
+    List<OutboxEventEntity> events;
+    do {
+      events = consumerOffsets.readAfter(consumer, position, subscribePageSize);
+      for (OutboxEventEntity eventEntity : events) {
+        position = eventEntity.getId();
+        if (eventEntity.getTypeCode() != type.code()) {
+          continue;
+        }
+        T event = decodeOrDeadLetter(consumer, type, eventEntity);
+        if (event != null) {
+          batch.add(event);
+        }
+        if (batch.size() == batchSize) {
+          retryScheduler.executeBatch(consumer, batch, handler);
+          consumerOffsets.advance(consumer, position);
+          acknowledged = position;
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+    } while (events.size() == subscribePageSize);
+    retryScheduler.executeBatch(consumer, batch, handler);
+    if (position > acknowledged) {
+      consumerOffsets.advance(consumer, position);
+    }
+  }
+
+  private <T> T decodeOrDeadLetter(String consumer, EventType<T> type, OutboxEventEntity eventEntity) {
+    try {
+      return eventCodecs.decode(type, eventEntity.getCodecId(), eventEntity.getSchemaVersion(),
+          eventEntity.getPayload());
+    } catch (IOException | RuntimeException e) {
+      deadLetters.record(consumer, eventEntity, e);
+      return null;
+    }
+  }
 }
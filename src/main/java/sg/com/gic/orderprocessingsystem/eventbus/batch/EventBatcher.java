@@ -0,0 +1,192 @@
+package sg.com.gic.orderprocessingsystem.eventbus.batch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects events handed to one subscriber and passes them on in lists.
+ *
+ * <p>Callers hand an event to {@link #handle}, which queues it and waits until the batch holding it
+ * has been handled, so whatever delivered the event (a listener executor, a ring consumer, the
+ * relay, a transport subscription) only counts it as done once it is. A full queue or a stopped
+ * batcher rejects the event instead of blocking or throwing, and the caller handles it itself.
+ *
+ * <p>A worker thread takes the first queued event, keeps collecting until {@code maxSize} events
+ * are queued or {@code maxWait} has passed since that first event, and hands the list to the
+ * handler. Because every caller waits, a batch holds at most one event per concurrent caller:
+ * batching pays off behind a deliverer that runs many events at once, such as the virtual-thread
+ * listener executor. With a single worker and a FIFO queue batches keep the order events were
+ * queued in; a queue that orders events itself, such as priority lanes, decides which events go
+ * into the next batch.
+ */
+public final class EventBatcher<T> {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventBatcher.class);
+  private static final long IDLE_POLL_MILLIS = 100;
+  private static final long IDLE_POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(IDLE_POLL_MILLIS);
+
+  private final String name;
+  private final int maxSize;
+  private final long maxWaitNanos;
+  private final Consumer<List<T>> handler;
+  private final BlockingQueue<Queued<T>> queue;
+  private final List<Thread> threads;
+  private volatile boolean running = true;
+
+  /**
+   * An event in a batcher's queue; queues that order events themselves read it through
+   * {@link #event()}.
+   */
+  public static final class Queued<T> {
+
+    private final T event;
+    private final CompletableFuture<Void> handled = new CompletableFuture<>();
+
+    private Queued(T event) {
+      this.event = event;
+    }
+
+    public T event() {
+      return event;
+    }
+  }
+
+  EventBatcher(String name, int maxSize, long maxWaitMillis, int queueCapacity, boolean virtualThreads,
+      Consumer<List<T>> handler) {
+    this(name, maxSize, maxWaitMillis, new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), 1,
+        virtualThreads, handler);
+  }
+
+  EventBatcher(String name, int maxSize, long maxWaitMillis, BlockingQueue<Queued<T>> queue,
+      int workers, boolean virtualThreads, Consumer<List<T>> handler) {
+    if (maxSize < 1 || maxWaitMillis < 0 || workers < 1 || queue.remainingCapacity() < maxSize) {
+      throw new IllegalStateException("Invalid event.batch settings: max-size=" + maxSize
+          + ", max-wait-ms=" + maxWaitMillis + ", queue-capacity=" + queue.remainingCapacity()
+          + ", workers=" + workers);
+    }
+    this.name = name;
+    this.maxSize = maxSize;
+    this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    this.handler = handler;
+    this.queue = queue;
+    List<Thread> workerThreads = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      String threadName = workers == 1 ? "event-batch-" + name : "event-batch-" + name + "-" + i;
+      // Virtual workers when listeners run on virtual threads, so blocking handlers hold no carrier
+      workerThreads.add(virtualThreads
+          ? Thread.ofVirtual().name(threadName).unstarted(this::batchLoop)
+          : Thread.ofPlatform().name(threadName).daemon().unstarted(this::batchLoop));
+    }
+    this.threads = List.copyOf(workerThreads);
+  }
+
+  void start() {
+    threads.forEach(Thread::start);
+  }
+
+  /**
+   * Stops accepting events and waits for the ones already queued to be handed over.
+   */
+  void stop() throws InterruptedException {
+    running = false;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    for (Thread thread : threads) {
+      thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+    }
+  }
+
+  /**
+   * Queues an event for the next batch and waits until that batch has been handled.
+   *
+   * @return false, without waiting, when the queue is full or the batcher has stopped; the caller
+   *     then handles the event itself
+   */
+  public boolean handle(T event) {
+    if (!running) {
+      return false;
+    }
+    Queued<T> queued = new Queued<>(event);
+    if (!queue.offer(queued)) {
+      return false;
+    }
+    // stop() may have run after the check above, and the workers may have seen an empty queue and
+    // exited since. Whichever of us takes the event out of the queue owns it.
+    if (!running && queue.remove(queued)) {
+      return false;
+    }
+    queued.handled.join();
+    return true;
+  }
+
+  /**
+   * Events queued and not yet handed to the handler.
+   */
+  public int pending() {
+    return queue.size();
+  }
+
+  private void batchLoop() {
+    List<Queued<T>> batch = new ArrayList<>(maxSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        collectBatch(batch);
+      } catch (InterruptedException e) {
+        // Interrupted outside of stop(): hand over everything still queued, then exit
+        Thread.currentThread().interrupt();
+        running = false;
+        queue.drainTo(batch);
+      }
+      if (!batch.isEmpty()) {
+        handle(batch);
+        batch = new ArrayList<>(maxSize);
+      }
+    }
+  }
+
+  private void collectBatch(List<Queued<T>> batch) throws InterruptedException {
+    Queued<T> first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + maxWaitNanos;
+    while (batch.size() < maxSize) {
+      if (queue.drainTo(batch, maxSize - batch.size()) > 0) {
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0 || !running) {
+        // Once stopping, hand over what has been collected instead of waiting out max-wait
+        return;
+      }
+      Queued<T> next = queue.poll(Math.min(remaining, IDLE_POLL_NANOS), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      }
+    }
+  }
+
+  private void handle(List<Queued<T>> batch) {
+    List<T> events = new ArrayList<>(batch.size());
+    for (Queued<T> queued : batch) {
+      events.add(queued.event);
+    }
+    try {
+      handler.accept(events);
+    } catch (RuntimeException e) {
+      // Handlers retry their own failures; anything escaping must not stop the batch thread
+      logger.error("Event batch handler failed: batcher={}, events={}", name, batch.size(), e);
+    } finally {
+      for (Queued<T> queued : batch) {
+        queued.handled.complete(null);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package sg.com.gic.orderprocessingsystem.eventbus.batch;
+
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.batch.EventBatcher.Queued;
+
+/**
+ * Creates the {@link EventBatcher}s listeners hand their events to when
+ * {@code event.batch.listeners.enabled} is set, sized by {@code event.batch.max-size} and
+ * {@code event.batch.max-wait-ms}, and stops them on shutdown after their queued events are
+ * handed over. Their workers are virtual threads when {@code listener.executor.mode} is
+ * {@code virtual}.
+ */
+@Component
+public class EventBatchers {
+
+  private final boolean enabled;
+  private final int maxSize;
+  private final long maxWaitMillis;
+  private final int queueCapacity;
+  private final boolean virtualThreads;
+  private final List<EventBatcher<?>> batchers = new CopyOnWriteArrayList<>();
+
+  public EventBatchers(@Value("${event.batch.listeners.enabled:false}") boolean enabled,
+      @Value("${event.batch.max-size:100}") int maxSize,
+      @Value("${event.batch.max-wait-ms:10}") long maxWaitMillis,
+      @Value("${event.batch.queue-capacity:10000}") int queueCapacity,
+      @Value("${listener.executor.mode:platform}") String executorMode) {
+    this.enabled = enabled;
+    this.maxSize = maxSize;
+    this.maxWaitMillis = maxWaitMillis;
+    this.queueCapacity = queueCapacity;
+    this.virtualThreads = executorMode.equals("virtual");
+  }
+
+  /**
+   * Whether listeners should batch their events; when not, they handle each event as it arrives.
+   */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * Largest batch handed to a handler, in-process or when draining the outbox.
+   */
+  public int maxSize() {
+    return maxSize;
+  }
+
+  /**
+   * Starts a batcher for {@code subscriber} that hands its batches to {@code handler}.
+   */
+  public <T> EventBatcher<T> start(String subscriber, Consumer<List<T>> handler) {
+    return start(new EventBatcher<>(subscriber, maxSize, maxWaitMillis, queueCapacity,
+        virtualThreads, handler));
+  }
+
+  /**
+   * Starts a batcher for {@code subscriber} over a queue the caller supplies, with {@code workers}
+   * threads taking from it. Batches hold up to {@code max-size} events when listener batching is on
+   * and one event when it is off, so a listener that orders its events itself (priority lanes)
+   * goes through the same path either way.
+   */
+  public <T> EventBatcher<T> start(String subscriber, BlockingQueue<Queued<T>> queue, int workers,
+      Consumer<List<T>> handler) {
+    return start(new EventBatcher<>(subscriber, enabled ? maxSize : 1, maxWaitMillis, queue,
+        workers, virtualThreads, handler));
+  }
+
+  private <T> EventBatcher<T> start(EventBatcher<T> batcher) {
+    batcher.start();
+    batchers.add(batcher);
+    return batcher;
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    for (EventBatcher<?> batcher : batchers) {
+      batcher.stop();
+    }
+  }
+}
@@ -0,0 +1,29 @@
+package sg.com.gic.orderprocessingsystem.eventbus.codec;
+
+import java.io.IOException;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+
+/**
+ * Encodes event payloads for the outbox.
+ *
+ * <p>Every row records the {@link #id()} of the codec that wrote it, so the write codec can be
+ * changed without breaking rows already stored. Ids must therefore never be reused.
+ */
+public interface EventCodec {
+
+  int id();
+
+  String name();
+
+  /**
+   * Whether this codec can encode events of the given type. Types it cannot handle are written
+   * with the JSON codec instead.
+   */
+  default boolean supports(EventType<?> type) {
+    return true;
+  }
+
+  byte[] encode(EventType<?> type, Object event) throws IOException;
+
+  <T> T decode(EventType<T> type, byte[] payload) throws IOException;
+}
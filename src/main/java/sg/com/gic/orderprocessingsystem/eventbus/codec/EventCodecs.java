@@ -0,0 +1,67 @@
+package sg.com.gic.orderprocessingsystem.eventbus.codec;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+
+/**
+ * Picks the codec used to write outbox payloads and resolves the codec that wrote a stored row.
+ *
+ * <p>The write codec is chosen with {@code outbox.codec} ({@code json}, {@code smile} or
+ * {@code compact}). Reads go by the codec id stored on each row, so rows written under an earlier
+ * setting stay readable.
+ */
+@Component
+public class EventCodecs {
+
+  private final Map<Integer, EventCodec> byId = new HashMap<>();
+  private final EventCodec writeCodec;
+  private final EventCodec fallbackCodec;
+
+  public EventCodecs(List<EventCodec> codecs, @Value("${outbox.codec:json}") String writeCodecName) {
+    EventCodec selected = null;
+    EventCodec json = null;
+    for (EventCodec codec : codecs) {
+      if (byId.putIfAbsent(codec.id(), codec) != null) {
+        throw new IllegalStateException("Duplicate event codec id " + codec.id());
+      }
+      if (codec.name().equals(writeCodecName)) {
+        selected = codec;
+      }
+      if (codec.id() == JsonEventCodec.ID) {
+        json = codec;
+      }
+    }
+    if (selected == null) {
+      throw new IllegalStateException("Unknown outbox codec: " + writeCodecName);
+    }
+    if (json == null) {
+      throw new IllegalStateException("The JSON event codec must be registered");
+    }
+    this.writeCodec = selected;
+    this.fallbackCodec = json;
+  }
+
+  public EncodedPayload encode(EventType<?> type, Object event) throws IOException {
+    EventCodec codec = writeCodec.supports(type) ? writeCodec : fallbackCodec;
+    return new EncodedPayload(codec.id(), codec.encode(type, event));
+  }
+
+  public <T> T decode(EventType<T> type, int codecId, int schemaVersion, byte[] payload)
+      throws IOException {
+    type.checkSchemaVersion(schemaVersion);
+    EventCodec codec = byId.get(codecId);
+    if (codec == null) {
+      throw new IllegalStateException("Unknown event codec id: " + codecId);
+    }
+    return codec.decode(type, payload);
+  }
+
+  public record EncodedPayload(int codecId, byte[] bytes) {
+
+  }
+}
@@ -0,0 +1,34 @@
+package sg.com.gic.orderprocessingsystem.eventbus.codec;
+
+import java.io.IOException;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+
+/**
+ * UTF-8 JSON through the writers and readers precompiled in the event type registry.
+ */
+@Component
+public class JsonEventCodec implements EventCodec {
+
+  public static final int ID = 1;
+
+  @Override
+  public int id() {
+    return ID;
+  }
+
+  @Override
+  public String name() {
+    return "json";
+  }
+
+  @Override
+  public byte[] encode(EventType<?> type, Object event) throws IOException {
+    return type.writer().writeValueAsBytes(event);
+  }
+
+  @Override
+  public <T> T decode(EventType<T> type, byte[] payload) throws IOException {
+    return type.reader().readValue(payload);
+  }
+}
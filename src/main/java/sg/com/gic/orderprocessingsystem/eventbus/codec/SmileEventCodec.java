@@ -0,0 +1,53 @@
+package sg.com.gic.orderprocessingsystem.eventbus.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+
+/**
+ * Jackson Smile, the binary form of JSON. Uses the application's mapper configuration with a
+ * Smile factory, and binds a writer and reader per registered type up front.
+ */
+@Component
+public class SmileEventCodec implements EventCodec {
+
+  public static final int ID = 2;
+
+  private final Map<Integer, ObjectWriter> writers = new HashMap<>();
+  private final Map<Integer, ObjectReader> readers = new HashMap<>();
+
+  public SmileEventCodec(ObjectMapper objectMapper, EventTypeRegistry eventTypeRegistry) {
+    ObjectMapper smileMapper = objectMapper.copyWith(new SmileFactory());
+    for (EventType<?> type : eventTypeRegistry.all()) {
+      writers.put(type.code(), smileMapper.writerFor(type.type()));
+      readers.put(type.code(), smileMapper.readerFor(type.type()));
+    }
+  }
+
+  @Override
+  public int id() {
+    return ID;
+  }
+
+  @Override
+  public String name() {
+    return "smile";
+  }
+
+  @Override
+  public byte[] encode(EventType<?> type, Object event) throws IOException {
+    return writers.get(type.code()).writeValueAsBytes(event);
+  }
+
+  @Override
+  public <T> T decode(EventType<T> type, byte[] payload) throws IOException {
+    return readers.get(type.code()).readValue(payload);
+  }
+}
@@ -0,0 +1,25 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Default dispatcher: publishes through Spring's {@link ApplicationEventPublisher}, so events reach
+ * the {@code @EventListener} methods and run on the {@code @Async} task executor.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.dispatcher.type", havingValue = "spring", matchIfMissing = true)
+public class ApplicationEventDispatcher implements EventDispatcher {
+
+  private final ApplicationEventPublisher applicationEventPublisher;
+
+  public ApplicationEventDispatcher(ApplicationEventPublisher applicationEventPublisher) {
+    this.applicationEventPublisher = applicationEventPublisher;
+  }
+
+  @Override
+  public void dispatch(Object event) {
+    applicationEventPublisher.publishEvent(event);
+  }
+}
@@ -0,0 +1,10 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+/**
+ * Hands a persisted event to its in-process subscribers. The outbox publisher and relay dispatch
+ * through this interface; the engine behind it is chosen with {@code outbox.dispatcher.type}.
+ */
+public interface EventDispatcher {
+
+  void dispatch(Object event);
+}
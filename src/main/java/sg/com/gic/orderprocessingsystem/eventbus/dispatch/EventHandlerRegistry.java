@@ -0,0 +1,56 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Handlers registered by listeners for dispatchers that deliver events themselves rather than
+ * through Spring's {@code @EventListener} support. Handlers are grouped by subscriber name; each
+ * subscriber sees every event and consumes them in order.
+ */
+@Component
+public class EventHandlerRegistry {
+
+  public record Handler<T>(Class<T> eventType, Consumer<? super T> consumer) {
+
+    public boolean accepts(Object event) {
+      return eventType.isInstance(event);
+    }
+
+    public void handle(Object event) {
+      consumer.accept(eventType.cast(event));
+    }
+  }
+
+  private final Map<String, List<Handler<?>>> handlersBySubscriber = new LinkedHashMap<>();
+  private boolean frozen;
+
+  public synchronized <T> void register(String subscriber, Class<T> eventType, Consumer<? super T> handler) {
+    if (frozen) {
+      throw new IllegalStateException("Event handlers must be registered before the dispatcher starts: " + subscriber);
+    }
+    handlersBySubscriber.computeIfAbsent(subscriber, s -> new ArrayList<>()).add(new Handler<>(eventType, handler));
+  }
+
+  /**
+   * Handlers registered under {@code subscriber}, or an empty list when there are none. Unlike
+   * {@link #freeze()} this leaves registration open.
+   */
+  public synchronized List<Handler<?>> handlersFor(String subscriber) {
+    return List.copyOf(handlersBySubscriber.getOrDefault(subscriber, List.of()));
+  }
+
+  /**
+   * Returns the registered handlers and rejects any later registration.
+   */
+  public synchronized Map<String, List<Handler<?>>> freeze() {
+    frozen = true;
+    Map<String, List<Handler<?>>> copy = new LinkedHashMap<>();
+    handlersBySubscriber.forEach((subscriber, handlers) -> copy.put(subscriber, List.copyOf(handlers)));
+    return copy;
+  }
+}
@@ -0,0 +1,189 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs.EncodedPayload;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry.Handler;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.DeadLetters;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.BrokerClient;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.TransportEvent;
+
+/**
+ * Dispatches events through the {@link sg.com.gic.orderprocessingsystem.eventbus.transport.EventBroker}
+ * instead of in-process, so the order, payment and notification services can run as separate
+ * processes.
+ *
+ * <p>Every dispatched event is encoded and sent to the broker. The process also joins the
+ * broker's subscriber group for each listener in {@code event.transport.subscribers} (by default
+ * every listener registered in the {@link EventHandlerRegistry}), and runs the events it receives
+ * on one thread per group, in the order the broker delivers them. A full send buffer rejects the
+ * event, so it stays in the outbox for the relay, as with a full listener executor.
+ *
+ * <p>Delivery is at-least-once across dropped connections: the client keeps each sent event until
+ * the broker acks it and sends it again after reconnecting, and a received event is only acked
+ * once its handlers have run, so the broker redelivers what a lost connection had in hand. A
+ * redelivered event goes through the same handlers, which skip events they have already
+ * processed.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.dispatcher.type", havingValue = "network")
+public class NetworkEventDispatcher implements EventDispatcher, SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(NetworkEventDispatcher.class);
+
+  private final EventHandlerRegistry handlerRegistry;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final EventCodecs eventCodecs;
+  private final DeadLetters deadLetters;
+  private final BrokerClient client;
+  private final Set<String> subscribers;
+  private final int subscriberWindow;
+  private final List<ExecutorService> executors = new ArrayList<>();
+  private volatile boolean running;
+
+  public NetworkEventDispatcher(EventHandlerRegistry handlerRegistry,
+      EventTypeRegistry eventTypeRegistry, EventCodecs eventCodecs, DeadLetters deadLetters,
+      @Value("${event.transport.broker-host:localhost}") String brokerHost,
+      @Value("${event.transport.broker-port:7070}") int brokerPort,
+      @Value("${event.transport.send-buffer:10000}") int sendBuffer,
+      @Value("${event.transport.max-batch:256}") int maxBatch,
+      @Value("${event.transport.subscriber-window:256}") int subscriberWindow,
+      @Value("${event.transport.reconnect.initial-backoff-ms:100}") long reconnectInitialMs,
+      @Value("${event.transport.reconnect.max-backoff-ms:5000}") long reconnectMaxMs,
+      @Value("${event.transport.subscribers:}") String subscribers) {
+    this.handlerRegistry = handlerRegistry;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.eventCodecs = eventCodecs;
+    this.deadLetters = deadLetters;
+    this.client = new BrokerClient(new InetSocketAddress(brokerHost, brokerPort), sendBuffer,
+        maxBatch, reconnectInitialMs, reconnectMaxMs);
+    this.subscribers = parseSubscribers(subscribers);
+    this.subscriberWindow = subscriberWindow;
+  }
+
+  /**
+   * Blank means every registered listener; {@code none} means this process only publishes.
+   */
+  static Set<String> parseSubscribers(String subscribers) {
+    if (subscribers.isBlank()) {
+      return null;
+    }
+    if (subscribers.trim().equals("none")) {
+      return Set.of();
+    }
+    Set<String> names = new HashSet<>();
+    Arrays.stream(subscribers.split(",")).map(String::trim).filter(s -> !s.isEmpty()).forEach(names::add);
+    return names;
+  }
+
+  @Override
+  public void dispatch(Object event) {
+    if (!running) {
+      throw new IllegalStateException("Network dispatcher is not running");
+    }
+    EventType<?> type = eventTypeRegistry.forEvent(event);
+    EncodedPayload payload;
+    try {
+      payload = eventCodecs.encode(type, event);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize event", e);
+    }
+    if (!client.send(new TransportEvent(type.code(), type.schemaVersion(), payload.codecId(), payload.bytes()))) {
+      throw new TaskRejectedException("Event transport send buffer is full");
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    Map<String, List<Handler<?>>> handlers = new LinkedHashMap<>(handlerRegistry.freeze());
+    if (subscribers != null) {
+      handlers.keySet().retainAll(subscribers);
+    }
+    handlers.forEach((name, subscriberHandlers) -> {
+      Set<Integer> typeCodes = new HashSet<>();
+      subscriberHandlers.forEach(h -> typeCodes.add(eventTypeRegistry.forClass(h.eventType()).code()));
+      ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "event-transport-" + name);
+        thread.setDaemon(true);
+        return thread;
+      });
+      executors.add(executor);
+      client.subscribe(name, typeCodes, subscriberWindow, executor,
+          event -> deliver(name, subscriberHandlers, event));
+    });
+    try {
+      client.start();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to start the event transport", e);
+    }
+    running = true;
+    logger.info("Network dispatcher started: subscribers={}", handlers.keySet());
+  }
+
+  private void deliver(String subscriber, List<Handler<?>> handlers, TransportEvent received) {
+    Object event;
+    try {
+      EventType<?> type = eventTypeRegistry.forCode(received.typeCode());
+      event = eventCodecs.decode(type, received.codecId(), received.schemaVersion(), received.payload());
+    } catch (IOException | RuntimeException e) {
+      deadLetters.recordUndecodable(subscriber, null, received.typeCode(), received.schemaVersion(),
+          received.codecId(), received.payload(), e);
+      return;
+    }
+    for (Handler<?> handler : handlers) {
+      if (handler.accepts(event)) {
+        handler.handle(event);
+      }
+    }
+  }
+
+  /**
+   * Closes the broker connections and lets each subscriber thread finish the events it already
+   * holds, waiting up to five seconds.
+   */
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    client.close();
+    for (ExecutorService executor : executors) {
+      executor.shutdown();
+      try {
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
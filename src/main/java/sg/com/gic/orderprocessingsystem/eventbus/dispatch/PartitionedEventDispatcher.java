@@ -0,0 +1,170 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry.Handler;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderScopedEvent;
+
+/**
+ * Dispatches events on N single-threaded lanes chosen by hashing the event's order id.
+ *
+ * <p>All events of one order land on the same lane and are handled one after another in publish
+ * order, so a resend can never overtake or run alongside the original. Different orders spread over
+ * the lanes and run in parallel. Each lane is its own {@link RingBuffer} with one consumer, so lanes
+ * share no queue or lock. Events that are not {@link OrderScopedEvent}s are keyed by their class.
+ *
+ * <p>Each lane is consumed by a {@link RingConsumer}, so a lane thread never waits for space: events
+ * it publishes while the target lane is full are kept in order and retried between deliveries.
+ * Any other publisher waits up to {@code outbox.dispatcher.partitioned.publish-timeout-ms} for a
+ * slot and is then rejected with a {@link TaskRejectedException}, like a full listener executor.
+ *
+ * <p>Per-lane queue depth is exposed as {@code outbox.dispatch.lane.depth}, events handled as
+ * {@code outbox.dispatch.lane.events}, and {@code outbox.dispatch.lane.skew} is the busiest lane's
+ * event count divided by the mean (1.0 means keys are evenly spread).
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.dispatcher.type", havingValue = "partitioned")
+public class PartitionedEventDispatcher implements EventDispatcher, SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedEventDispatcher.class);
+
+  private final EventHandlerRegistry handlerRegistry;
+  private final MeterRegistry meterRegistry;
+  private final List<Lane> lanes = new ArrayList<>();
+  private final long publishTimeoutNanos;
+  private volatile boolean running;
+
+  public PartitionedEventDispatcher(EventHandlerRegistry handlerRegistry, MeterRegistry meterRegistry,
+      @Value("${outbox.dispatcher.partitioned.lanes:0}") int laneCount,
+      @Value("${outbox.dispatcher.partitioned.lane-size:1024}") int laneSize,
+      @Value("${outbox.dispatcher.partitioned.wait-strategy:blocking}") String waitStrategy,
+      @Value("${outbox.dispatcher.partitioned.publish-timeout-ms:100}") long publishTimeoutMillis) {
+    if (publishTimeoutMillis < 0) {
+      throw new IllegalStateException(
+          "outbox.dispatcher.partitioned.publish-timeout-ms must not be negative: " + publishTimeoutMillis);
+    }
+    this.handlerRegistry = handlerRegistry;
+    this.meterRegistry = meterRegistry;
+    this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+    int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+    for (int i = 0; i < count; i++) {
+      lanes.add(new Lane(i, new RingConsumer.Target(new RingBuffer(laneSize), WaitStrategy.forName(waitStrategy))));
+    }
+  }
+
+  @Override
+  public void dispatch(Object event) {
+    if (!running) {
+      throw new IllegalStateException("Partitioned dispatcher is not running");
+    }
+    RingConsumer.Target target = laneFor(event).target;
+    RingConsumer current = RingConsumer.current();
+    if (current != null) {
+      current.publishOrDefer(target, event);
+      return;
+    }
+    long sequence = target.ring().next(publishTimeoutNanos);
+    if (sequence < 0) {
+      throw new TaskRejectedException("Dispatch lane is full");
+    }
+    target.publish(sequence, event);
+  }
+
+  int laneIndex(Object event) {
+    return OrderScopedEvent.partition(OrderScopedEvent.partitionKey(event), lanes.size());
+  }
+
+  private Lane laneFor(Object event) {
+    return lanes.get(laneIndex(event));
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    List<Handler<?>> handlers = handlerRegistry.freeze().values().stream().flatMap(List::stream).toList();
+    for (Lane lane : lanes) {
+      Gauge.builder("outbox.dispatch.lane.depth", lane.consumer, RingConsumer::depth)
+          .description("Events queued on a partitioned dispatch lane")
+          .tag("lane", String.valueOf(lane.index))
+          .register(meterRegistry);
+    }
+    Gauge.builder("outbox.dispatch.lane.skew", this, PartitionedEventDispatcher::skew)
+        .description("Busiest lane's event count divided by the mean across lanes")
+        .register(meterRegistry);
+    running = true;
+    for (Lane lane : lanes) {
+      lane.consumer.start(handlers);
+    }
+    logger.info("Partitioned dispatcher started: lanes={}, handlers={}", lanes.size(), handlers.size());
+  }
+
+  /**
+   * Stops accepting events, lets every lane drain what was already published and waits up to five
+   * seconds for each lane to finish.
+   */
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    for (Lane lane : lanes) {
+      lane.consumer.halt();
+    }
+    for (Lane lane : lanes) {
+      try {
+        lane.consumer.join(5_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  double skew() {
+    double total = 0;
+    double max = 0;
+    for (Lane lane : lanes) {
+      double count = lane.events.count();
+      total += count;
+      max = Math.max(max, count);
+    }
+    return total == 0 ? 1.0 : max / (total / lanes.size());
+  }
+
+  private final class Lane {
+
+    private final int index;
+    private final RingConsumer.Target target;
+    private final Counter events;
+    private final RingConsumer consumer;
+
+    private Lane(int index, RingConsumer.Target target) {
+      this.index = index;
+      this.target = target;
+      this.events = Counter.builder("outbox.dispatch.lane.events")
+          .description("Events handled by a partitioned dispatch lane")
+          .tag("lane", String.valueOf(index))
+          .register(meterRegistry);
+      this.consumer = new RingConsumer("lane-" + index, "event-lane-" + index, target, events::increment);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Preallocated multi-producer ring of event references.
+ *
+ * <p>Producers claim a sequence with a CAS on the cursor, store the event in its slot and then
+ * publish the slot by writing the sequence into {@code published} with release semantics; a
+ * consumer treats sequence {@code n} as readable once {@code published[n & mask] == n}. A producer
+ * never claims a slot that the slowest gating consumer has not moved past, so nothing is
+ * overwritten: when the ring is full, publishing waits, for a bounded time.
+ */
+final class RingBuffer {
+
+  private static final VarHandle PUBLISHED = MethodHandles.arrayElementVarHandle(long[].class);
+
+  private final Object[] entries;
+  private final long[] published;
+  private final int mask;
+  private final Sequence cursor = new Sequence(-1);
+  private final Sequence cachedGatingSequence = new Sequence(-1);
+  private volatile Sequence[] gatingSequences = new Sequence[0];
+
+  RingBuffer(int size) {
+    if (size < 1 || Integer.bitCount(size) != 1) {
+      throw new IllegalStateException("Ring buffer size must be a power of two: " + size);
+    }
+    this.entries = new Object[size];
+    this.published = new long[size];
+    this.mask = size - 1;
+    Arrays.fill(published, -1L);
+  }
+
+  int size() {
+    return entries.length;
+  }
+
+  /**
+   * Highest sequence claimed so far; {@code -1} before the first claim.
+   */
+  long cursor() {
+    return cursor.get();
+  }
+
+  void addGatingSequence(Sequence sequence) {
+    Sequence[] current = gatingSequences;
+    Sequence[] updated = Arrays.copyOf(current, current.length + 1);
+    updated[current.length] = sequence;
+    gatingSequences = updated;
+  }
+
+  /**
+   * Claims the next sequence, waiting up to {@code timeoutNanos} while the ring is full.
+   *
+   * @return the claimed sequence, or {@code -1} if no slot was freed in time
+   */
+  long next(long timeoutNanos) {
+    long deadline = System.nanoTime() + timeoutNanos;
+    while (true) {
+      long current = cursor.get();
+      long next = current + 1;
+      long wrapPoint = next - entries.length;
+      long cachedGating = cachedGatingSequence.get();
+      if (wrapPoint > cachedGating || cachedGating > current) {
+        long gating = minimumGatingSequence(current);
+        if (wrapPoint > gating) {
+          if (System.nanoTime() - deadline >= 0) {
+            return -1;
+          }
+          LockSupport.parkNanos(1);
+          continue;
+        }
+        cachedGatingSequence.set(gating);
+      } else if (cursor.compareAndSet(current, next)) {
+        return next;
+      }
+    }
+  }
+
+  /**
+   * Claims the next sequence if a slot is free, otherwise returns {@code -1} without waiting.
+   */
+  long tryNext() {
+    while (true) {
+      long current = cursor.get();
+      long next = current + 1;
+      if (next - entries.length > minimumGatingSequence(current)) {
+        return -1;
+      }
+      if (cursor.compareAndSet(current, next)) {
+        return next;
+      }
+    }
+  }
+
+  void publish(long sequence, Object event) {
+    int index = (int) sequence & mask;
+    entries[index] = event;
+    PUBLISHED.setRelease(published, index, sequence);
+  }
+
+  /**
+   * Drops the ring's reference to the event at {@code sequence} if every other gating consumer has
+   * already moved past it, so a consumed event is not kept reachable until its slot is reused.
+   * Only called by the consumer owning {@code consumer}, before it moves past {@code sequence}
+   * itself; until then no publisher can claim the slot again.
+   */
+  void release(long sequence, Sequence consumer) {
+    for (Sequence gating : gatingSequences) {
+      if (gating != consumer && gating.get() < sequence) {
+        return;
+      }
+    }
+    entries[(int) sequence & mask] = null;
+  }
+
+  boolean isPublished(long sequence) {
+    return (long) PUBLISHED.getAcquire(published, (int) sequence & mask) == sequence;
+  }
+
+  /**
+   * Returns the event at {@code sequence}; only valid once {@link #isPublished} is true for it.
+   */
+  Object get(long sequence) {
+    return entries[(int) sequence & mask];
+  }
+
+  private long minimumGatingSequence(long fallback) {
+    long minimum = fallback;
+    for (Sequence sequence : gatingSequences) {
+      minimum = Math.min(minimum, sequence.get());
+    }
+    return minimum;
+  }
+}
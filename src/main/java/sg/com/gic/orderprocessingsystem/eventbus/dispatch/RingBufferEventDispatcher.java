@@ -0,0 +1,114 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry.Handler;
+
+/**
+ * Dispatches events through a preallocated {@link RingBuffer} instead of Spring's event
+ * multicaster and {@code @Async} executor.
+ *
+ * <p>Each subscriber registered in the {@link EventHandlerRegistry} gets one thread and one sequence
+ * cursor, and sees every event in publish order. Publishing costs a CAS and a release store, with no
+ * per-event task allocation or queue lock. When the slowest subscriber is a full ring behind,
+ * {@link #dispatch} waits up to {@code outbox.dispatcher.ring-buffer.publish-timeout-ms} for a slot
+ * and then rejects the event with a {@link TaskRejectedException}, so an outbox event spills to the
+ * relay instead of the publisher spinning for as long as a subscriber is stuck.
+ *
+ * <p>Handlers may publish follow-up events; a subscriber thread defers them rather than wait for
+ * a slot, as described in {@link RingConsumer}.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.dispatcher.type", havingValue = "ring-buffer")
+public class RingBufferEventDispatcher implements EventDispatcher, SmartLifecycle {
+
+  private static final Logger logger = LoggerFactory.getLogger(RingBufferEventDispatcher.class);
+
+  private final EventHandlerRegistry handlerRegistry;
+  private final RingConsumer.Target ring;
+  private final long publishTimeoutNanos;
+  private final List<RingConsumer> subscribers = new ArrayList<>();
+  private volatile boolean running;
+
+  public RingBufferEventDispatcher(EventHandlerRegistry handlerRegistry,
+      @Value("${outbox.dispatcher.ring-buffer.size:1024}") int size,
+      @Value("${outbox.dispatcher.ring-buffer.wait-strategy:blocking}") String waitStrategy,
+      @Value("${outbox.dispatcher.ring-buffer.publish-timeout-ms:100}") long publishTimeoutMillis) {
+    if (publishTimeoutMillis < 0) {
+      throw new IllegalStateException(
+          "outbox.dispatcher.ring-buffer.publish-timeout-ms must not be negative: " + publishTimeoutMillis);
+    }
+    this.handlerRegistry = handlerRegistry;
+    this.ring = new RingConsumer.Target(new RingBuffer(size), WaitStrategy.forName(waitStrategy));
+    this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+  }
+
+  @Override
+  public void dispatch(Object event) {
+    if (!running) {
+      throw new IllegalStateException("Ring buffer dispatcher is not running");
+    }
+    RingConsumer subscriber = RingConsumer.current();
+    if (subscriber != null) {
+      subscriber.publishOrDefer(ring, event);
+      return;
+    }
+    long sequence = ring.ring().next(publishTimeoutNanos);
+    if (sequence < 0) {
+      throw new TaskRejectedException("Ring buffer is full");
+    }
+    ring.publish(sequence, event);
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    Map<String, List<Handler<?>>> handlers = handlerRegistry.freeze();
+    handlers.forEach((name, subscriberHandlers) ->
+        subscribers.add(new RingConsumer(name, "event-dispatch-" + name, ring, () -> { })));
+    running = true;
+    for (RingConsumer subscriber : subscribers) {
+      subscriber.start(handlers.get(subscriber.name()));
+    }
+    logger.info("Ring buffer dispatcher started: size={}, subscribers={}", ring.ring().size(), handlers.keySet());
+  }
+
+  /**
+   * Stops accepting events, lets every subscriber drain what was already published and waits up to
+   * five seconds for each of them to finish.
+   */
+  @Override
+  public synchronized void stop() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    for (RingConsumer subscriber : subscribers) {
+      subscriber.halt();
+    }
+    for (RingConsumer subscriber : subscribers) {
+      try {
+        subscriber.join(5_000);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+}
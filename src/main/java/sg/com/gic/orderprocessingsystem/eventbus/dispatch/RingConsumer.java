@@ -0,0 +1,177 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry.Handler;
+
+/**
+ * One consumer thread of a {@link RingBuffer}: it takes every event published to the ring in
+ * order, hands it to its handlers and moves its sequence on, which gates the publishers.
+ *
+ * <p>Handlers may publish follow-up events, to this ring or another one. A consumer thread never
+ * waits for a slot, because the slot it needs may only be freed by its own progress; when the target
+ * ring is full the event goes to this consumer's overflow queue, which it republishes, in order,
+ * between deliveries. Dispatchers find out whether they are called from a consumer thread through
+ * {@link #current()}.
+ *
+ * <p>The last consumer to take an event clears its slot, so the ring does not keep handled events
+ * reachable until it wraps around to them again. Two consumers taking the same event at the same
+ * moment may both leave it; the slot is then only overwritten on the next lap.
+ */
+final class RingConsumer implements Runnable {
+
+  private static final Logger logger = LoggerFactory.getLogger(RingConsumer.class);
+  private static final ThreadLocal<RingConsumer> CURRENT = new ThreadLocal<>();
+
+  /**
+   * A ring to publish to, with the wait strategy its consumers block on.
+   */
+  record Target(RingBuffer ring, WaitStrategy waitStrategy) {
+
+    void publish(long sequence, Object event) {
+      ring.publish(sequence, event);
+      waitStrategy.signalAllWhenBlocking();
+    }
+  }
+
+  private record Deferred(Target target, Object event) {
+
+  }
+
+  private final String name;
+  private final Target source;
+  private final Runnable onEvent;
+  private final Sequence sequence = new Sequence(-1);
+  private final ArrayDeque<Deferred> overflow = new ArrayDeque<>();
+  private final Thread thread;
+  private final BooleanSupplier isHalted = () -> this.halted;
+  private List<Handler<?>> handlers = List.of();
+  private volatile boolean halted;
+
+  /**
+   * A consumer of {@code source}'s ring, gating it from now on; {@code onEvent} runs before each
+   * delivery.
+   */
+  RingConsumer(String name, String threadName, Target source, Runnable onEvent) {
+    this.name = name;
+    this.source = source;
+    this.onEvent = onEvent;
+    source.ring().addGatingSequence(sequence);
+    this.thread = new Thread(this, threadName);
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * The consumer running on the calling thread, or {@code null} off consumer threads.
+   */
+  static RingConsumer current() {
+    return CURRENT.get();
+  }
+
+  String name() {
+    return name;
+  }
+
+  void start(List<Handler<?>> handlers) {
+    this.handlers = handlers;
+    thread.start();
+  }
+
+  /**
+   * Lets the consumer finish what was already published, then stop.
+   */
+  void halt() {
+    halted = true;
+    source.waitStrategy().signalAllWhenBlocking();
+  }
+
+  void join(long millis) throws InterruptedException {
+    thread.join(millis);
+  }
+
+  /**
+   * Events published to the ring that this consumer has not taken yet.
+   */
+  long depth() {
+    return source.ring().cursor() - sequence.get();
+  }
+
+  /**
+   * Publishes {@code event} to {@code target} if it has a free slot and nothing is deferred ahead of
+   * it, otherwise defers it. Only called on this consumer's thread.
+   */
+  void publishOrDefer(Target target, Object event) {
+    if (overflow.isEmpty()) {
+      long claimed = target.ring().tryNext();
+      if (claimed >= 0) {
+        target.publish(claimed, event);
+        return;
+      }
+    }
+    overflow.addLast(new Deferred(target, event));
+  }
+
+  @Override
+  public void run() {
+    CURRENT.set(this);
+    RingBuffer ring = source.ring();
+    long next = sequence.get() + 1;
+    while (true) {
+      if (ring.isPublished(next)) {
+        Object event = ring.get(next);
+        ring.release(next, sequence);
+        sequence.set(next);
+        deliver(event);
+        next++;
+        flushOverflow();
+        continue;
+      }
+      if (!overflow.isEmpty()) {
+        // Caught up, so only other consumers can be holding the target ring full
+        flushOverflow();
+        if (!overflow.isEmpty()) {
+          Thread.yield();
+        }
+        continue;
+      }
+      if (halted) {
+        return;
+      }
+      try {
+        source.waitStrategy().waitFor(next, ring, isHalted);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  private void flushOverflow() {
+    while (!overflow.isEmpty()) {
+      Deferred head = overflow.peekFirst();
+      long claimed = head.target().ring().tryNext();
+      if (claimed < 0) {
+        return;
+      }
+      overflow.pollFirst();
+      head.target().publish(claimed, head.event());
+    }
+  }
+
+  private void deliver(Object event) {
+    onEvent.run();
+    for (Handler<?> handler : handlers) {
+      if (!handler.accepts(event)) {
+        continue;
+      }
+      try {
+        handler.handle(event);
+      } catch (RuntimeException e) {
+        logger.error("Event handler failed: consumer={}, event={}", name, event.getClass().getSimpleName(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+abstract class SequenceLhsPadding {
+  protected long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequenceLhsPadding {
+  protected long value;
+}
+
+/**
+ * A sequence counter padded to its own cache line, so cursors of different threads do not
+ * invalidate each other's caches when they advance.
+ */
+final class Sequence extends SequenceValue {
+
+  private static final VarHandle VALUE;
+
+  static {
+    try {
+      VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+    } catch (ReflectiveOperationException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  protected long p9, p10, p11, p12, p13, p14, p15;
+
+  Sequence(long initial) {
+    VALUE.setRelease(this, initial);
+  }
+
+  long get() {
+    return (long) VALUE.getAcquire(this);
+  }
+
+  void set(long value) {
+    VALUE.setRelease(this, value);
+  }
+
+  boolean compareAndSet(long expected, long value) {
+    return VALUE.compareAndSet(this, expected, value);
+  }
+}
@@ -0,0 +1,118 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * How a ring-buffer subscriber waits for the next sequence to be published. The strategies trade
+ * latency for CPU: {@code busy-spin} and {@code yielding} keep a core busy and are only worth it
+ * with a core per subscriber, {@code sleeping} backs off to short parks, and {@code blocking}
+ * parks on a condition that publishers signal.
+ */
+interface WaitStrategy {
+
+  /**
+   * Returns once {@code sequence} is published or {@code halted} reports true.
+   */
+  void waitFor(long sequence, RingBuffer ring, BooleanSupplier halted) throws InterruptedException;
+
+  /**
+   * Wakes subscribers parked in {@link #waitFor}; called after every publish.
+   */
+  default void signalAllWhenBlocking() {
+  }
+
+  static WaitStrategy forName(String name) {
+    return switch (name) {
+      case "blocking" -> new Blocking();
+      case "sleeping" -> new Sleeping();
+      case "yielding" -> new Yielding();
+      case "busy-spin" -> new BusySpin();
+      default -> throw new IllegalStateException("Unknown ring buffer wait strategy: " + name);
+    };
+  }
+
+  final class Blocking implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+
+    @Override
+    public void waitFor(long sequence, RingBuffer ring, BooleanSupplier halted) throws InterruptedException {
+      if (ring.isPublished(sequence)) {
+        return;
+      }
+      lock.lock();
+      try {
+        while (!ring.isPublished(sequence) && !halted.getAsBoolean()) {
+          published.await();
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void signalAllWhenBlocking() {
+      lock.lock();
+      try {
+        published.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  final class Sleeping implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long PARK_NANOS = 100_000;
+
+    @Override
+    public void waitFor(long sequence, RingBuffer ring, BooleanSupplier halted) {
+      int counter = SPIN_TRIES + YIELD_TRIES;
+      while (!ring.isPublished(sequence) && !halted.getAsBoolean()) {
+        if (counter > YIELD_TRIES) {
+          counter--;
+          Thread.onSpinWait();
+        } else if (counter > 0) {
+          counter--;
+          Thread.yield();
+        } else {
+          LockSupport.parkNanos(PARK_NANOS);
+        }
+      }
+    }
+  }
+
+  final class Yielding implements WaitStrategy {
+
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public void waitFor(long sequence, RingBuffer ring, BooleanSupplier halted) {
+      int counter = SPIN_TRIES;
+      while (!ring.isPublished(sequence) && !halted.getAsBoolean()) {
+        if (counter > 0) {
+          counter--;
+          Thread.onSpinWait();
+        } else {
+          Thread.yield();
+        }
+      }
+    }
+  }
+
+  final class BusySpin implements WaitStrategy {
+
+    @Override
+    public void waitFor(long sequence, RingBuffer ring, BooleanSupplier halted) {
+      while (!ring.isPublished(sequence) && !halted.getAsBoolean()) {
+        Thread.onSpinWait();
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * An outbox id one consumer has read past while no row had it yet. The row may still commit, so
+ * the consumer keeps looking for it until it is delivered or the gap is old enough to have been
+ * rolled back.
+ */
+@Entity
+@Table(name = "outbox_consumer_gaps")
+@IdClass(ConsumerGapEntity.Key.class)
+public class ConsumerGapEntity {
+
+  public record Key(String consumer, long eventId) implements Serializable {
+
+  }
+
+  @Id
+  @Column(name="consumer", length = 100)
+  private String consumer;
+
+  @Id
+  @Column(name="event_id")
+  private long eventId;
+
+  @Column(name="skipped_at", nullable = false)
+  private LocalDateTime skippedAt;
+
+  protected ConsumerGapEntity(){
+
+  }
+
+  public ConsumerGapEntity(String consumer, long eventId, LocalDateTime skippedAt) {
+    this.consumer = consumer;
+    this.eventId = eventId;
+    this.skippedAt = skippedAt;
+  }
+
+  public String getConsumer() {
+    return consumer;
+  }
+
+  public long getEventId() {
+    return eventId;
+  }
+
+  public LocalDateTime getSkippedAt() {
+    return skippedAt;
+  }
+}
@@ -0,0 +1,49 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Read position of one named consumer of the outbox: the id of the last outbox row it has
+ * consumed. Acknowledging a batch is one update of this row instead of an update per event.
+ */
+@Entity
+@Table(name = "outbox_consumer_offsets")
+public class ConsumerOffsetEntity {
+
+  @Id
+  @Column(name="consumer", length = 100)
+  private String consumer;
+
+  @Column(name="last_event_id", nullable = false)
+  private long lastEventId;
+
+  @Column(name="updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  protected ConsumerOffsetEntity(){
+
+  }
+
+  public ConsumerOffsetEntity(String consumer, long lastEventId, LocalDateTime updatedAt) {
+    this.consumer = consumer;
+    this.lastEventId = lastEventId;
+    this.updatedAt = updatedAt;
+  }
+
+  public String getConsumer() {
+    return consumer;
+  }
+
+  public long getLastEventId() {
+    return lastEventId;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+}
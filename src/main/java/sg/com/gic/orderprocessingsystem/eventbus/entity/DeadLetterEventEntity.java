@@ -0,0 +1,118 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * An event one subscriber gave up on: its handler kept failing after every retry, or its payload
+ * could not be decoded at all. The payload is kept as stored so the event can be inspected, fixed
+ * and replayed; the subscriber has already moved on to the events after it.
+ */
+@Entity
+@Table(name = "dead_letter_events")
+public class DeadLetterEventEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name="subscriber", nullable = false, length = 100)
+  private String subscriber;
+
+  @Column(name="event_id", length = 64)
+  private String eventId;
+
+  @Column(name="outbox_id")
+  private Long outboxId;
+
+  @Column(name="type_code", nullable = false)
+  private int typeCode;
+
+  @Column(name="schema_version", nullable = false)
+  private int schemaVersion;
+
+  @Column(name="codec_id", nullable = false)
+  private int codecId;
+
+  @Lob
+  @Column(name="payload", nullable = false)
+  private byte[] payload;
+
+  @Column(name="attempts", nullable = false)
+  private int attempts;
+
+  @Column(name="error", length = 1000)
+  private String error;
+
+  @Column(name="failed_at", nullable = false)
+  private LocalDateTime failedAt;
+
+  protected DeadLetterEventEntity(){
+
+  }
+
+  public DeadLetterEventEntity(String subscriber, String eventId, Long outboxId, int typeCode,
+      int schemaVersion, int codecId, byte[] payload, int attempts, String error, LocalDateTime failedAt) {
+    this.subscriber = subscriber;
+    this.eventId = eventId;
+    this.outboxId = outboxId;
+    this.typeCode = typeCode;
+    this.schemaVersion = schemaVersion;
+    this.codecId = codecId;
+    this.payload = payload;
+    this.attempts = attempts;
+    this.error = error;
+    this.failedAt = failedAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public Long getOutboxId() {
+    return outboxId;
+  }
+
+  public int getTypeCode() {
+    return typeCode;
+  }
+
+  public int getSchemaVersion() {
+    return schemaVersion;
+  }
+
+  public int getCodecId() {
+    return codecId;
+  }
+
+  public byte[] getPayload() {
+    return payload;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public LocalDateTime getFailedAt() {
+    return failedAt;
+  }
+}
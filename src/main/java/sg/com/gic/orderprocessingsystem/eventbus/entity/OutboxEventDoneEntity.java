@@ -0,0 +1,116 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Cold copy of an outbox row that every consumer has read past. Such rows are moved here from
+ * {@code outbox_events} in batches, so the hot table stays sized to the pending backlog rather
+ * than to the whole event history.
+ */
+@Entity
+@Table(name = "outbox_events_done", indexes = {
+    @Index(name = "idx_outbox_events_done_type_created", columnList = "type_code, created_at"),
+    @Index(name = "idx_outbox_events_done_type_id", columnList = "type_code, id")
+})
+public class OutboxEventDoneEntity {
+
+  @Id
+  private Long id;
+
+  @Column(name="type_code", nullable = false)
+  private int typeCode;
+
+  @Column(name="schema_version", nullable = false)
+  private int schemaVersion;
+
+  @Column(name="codec_id", nullable = false)
+  private int codecId;
+
+  @Lob
+  @Column(name="payload", nullable = false)
+  private byte[] payload;
+
+  @Column(name="created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name="done_at", nullable = false)
+  private LocalDateTime doneAt;
+
+  protected OutboxEventDoneEntity(){
+
+  }
+
+  public OutboxEventDoneEntity(Long id, int typeCode, int schemaVersion, int codecId, byte[] payload,
+      LocalDateTime createdAt, LocalDateTime doneAt) {
+    this.id = id;
+    this.typeCode = typeCode;
+    this.schemaVersion = schemaVersion;
+    this.codecId = codecId;
+    this.payload = payload;
+    this.createdAt = createdAt;
+    this.doneAt = doneAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public void setId(Long id) {
+    this.id = id;
+  }
+
+  public int getTypeCode() {
+    return typeCode;
+  }
+
+  public void setTypeCode(int typeCode) {
+    this.typeCode = typeCode;
+  }
+
+  public int getSchemaVersion() {
+    return schemaVersion;
+  }
+
+  public void setSchemaVersion(int schemaVersion) {
+    this.schemaVersion = schemaVersion;
+  }
+
+  public int getCodecId() {
+    return codecId;
+  }
+
+  public void setCodecId(int codecId) {
+    this.codecId = codecId;
+  }
+
+  public byte[] getPayload() {
+    return payload;
+  }
+
+  public void setPayload(byte[] payload) {
+    this.payload = payload;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public void setCreatedAt(LocalDateTime createdAt) {
+    this.createdAt = createdAt;
+  }
+
+  public LocalDateTime getDoneAt() {
+    return doneAt;
+  }
+
+  public void setDoneAt(LocalDateTime doneAt) {
+    this.doneAt = doneAt;
+  }
+}
@@ -6,6 +6,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
 
@@ -13,28 +15,49 @@ import java.time.LocalDateTime;
 @Table(name = "outbox_events")
 public class OutboxEventEntity {
 
+  // Sequence rather than IDENTITY: Hibernate cannot JDBC-batch IDENTITY inserts. Ids come in pooled
+  // blocks of one JDBC batch, so a batched insert costs no sequence round trip per row. Writers
+  // sharing the database interleave their blocks and a restart leaves the rest of one unused;
+  // consumers read past those ids as gaps (see ConsumerOffsets).
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_seq")
+  @SequenceGenerator(name = "outbox_events_seq", sequenceName = "outbox_events_seq", allocationSize = 50)
   private Long id;
 
-  @Column(name="event_type", nullable = false)
-  private String eventType;
+  @Column(name="type_code", nullable = false)
+  private int typeCode;
 
-  @Column(name="payload", nullable = false, columnDefinition = "TEXT")
-  private String payload;
+  @Column(name="schema_version", nullable = false)
+  private int schemaVersion;
+
+  @Column(name="codec_id", nullable = false)
+  private int codecId;
+
+  @Lob
+  @Column(name="payload", nullable = false)
+  private byte[] payload;
 
   @Column(name="created_at", nullable = false)
   private LocalDateTime createdAt;
 
-  @Column(name="processed", nullable = false)
-  private Boolean processed = false;
+  // Append-only log: rows are never updated after insert. Consumers track their progress in
+  // outbox_consumer_offsets; this flag only records, at insert time, whether the relay delivers the
+  // event or it was already dispatched on publish.
+  @Column(name="relay_delivery", nullable = false)
+  private boolean relayDelivery;
+
+  // Hash of the event's order id, so relay partitions can be assigned without decoding payloads
+  @Column(name="partition_key", nullable = false)
+  private int partitionKey;
 
   protected OutboxEventEntity(){
 
   }
 
-  public OutboxEventEntity(String eventType, String payload, LocalDateTime createdAt) {
-    this.eventType = eventType;
+  public OutboxEventEntity(int typeCode, int schemaVersion, int codecId, byte[] payload, LocalDateTime createdAt) {
+    this.typeCode = typeCode;
+    this.schemaVersion = schemaVersion;
+    this.codecId = codecId;
     this.payload = payload;
     this.createdAt = createdAt;
   }
@@ -47,19 +70,35 @@ public class OutboxEventEntity {
     this.id = id;
   }
 
-  public String getEventType() {
-    return eventType;
+  public int getTypeCode() {
+    return typeCode;
+  }
+
+  public void setTypeCode(int typeCode) {
+    this.typeCode = typeCode;
+  }
+
+  public int getSchemaVersion() {
+    return schemaVersion;
   }
 
-  public void setEventType(String eventType) {
-    this.eventType = eventType;
+  public void setSchemaVersion(int schemaVersion) {
+    this.schemaVersion = schemaVersion;
   }
 
-  public String getPayload() {
+  public int getCodecId() {
+    return codecId;
+  }
+
+  public void setCodecId(int codecId) {
+    this.codecId = codecId;
+  }
+
+  public byte[] getPayload() {
     return payload;
   }
 
-  public void setPayload(String payload) {
+  public void setPayload(byte[] payload) {
     this.payload = payload;
   }
 
@@ -71,11 +110,19 @@ public class OutboxEventEntity {
     this.createdAt = createdAt;
   }
 
-  public Boolean getProcessed() {
-    return processed;
+  public boolean isRelayDelivery() {
+    return relayDelivery;
+  }
+
+  public void setRelayDelivery(boolean relayDelivery) {
+    this.relayDelivery = relayDelivery;
+  }
+
+  public int getPartitionKey() {
+    return partitionKey;
   }
 
-  public void setProcessed(Boolean processed) {
-    this.processed = processed;
+  public void setPartitionKey(int partitionKey) {
+    this.partitionKey = partitionKey;
   }
 }
@@ -0,0 +1,116 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * An event one subscriber failed to handle and will try again at {@code next_attempt_at}. The
+ * row lives until the event is handled or dead-lettered, so a retry pending at a crash or restart
+ * is picked up again rather than lost with the in-memory schedule.
+ */
+@Entity
+@Table(name = "pending_retries",
+    indexes = @Index(name = "idx_pending_retries_subscriber_next", columnList = "subscriber, next_attempt_at"))
+public class PendingRetryEntity {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name="subscriber", nullable = false, length = 100)
+  private String subscriber;
+
+  @Column(name="event_id", length = 64)
+  private String eventId;
+
+  @Column(name="type_code", nullable = false)
+  private int typeCode;
+
+  @Column(name="schema_version", nullable = false)
+  private int schemaVersion;
+
+  @Column(name="codec_id", nullable = false)
+  private int codecId;
+
+  @Lob
+  @Column(name="payload", nullable = false)
+  private byte[] payload;
+
+  @Column(name="attempts", nullable = false)
+  private int attempts;
+
+  @Column(name="error", length = 1000)
+  private String error;
+
+  @Column(name="next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  protected PendingRetryEntity(){
+
+  }
+
+  public PendingRetryEntity(String subscriber, String eventId, int typeCode, int schemaVersion,
+      int codecId, byte[] payload, int attempts, String error, LocalDateTime nextAttemptAt) {
+    this.subscriber = subscriber;
+    this.eventId = eventId;
+    this.typeCode = typeCode;
+    this.schemaVersion = schemaVersion;
+    this.codecId = codecId;
+    this.payload = payload;
+    this.attempts = attempts;
+    this.error = error;
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public int getTypeCode() {
+    return typeCode;
+  }
+
+  public int getSchemaVersion() {
+    return schemaVersion;
+  }
+
+  public int getCodecId() {
+    return codecId;
+  }
+
+  public byte[] getPayload() {
+    return payload;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+}
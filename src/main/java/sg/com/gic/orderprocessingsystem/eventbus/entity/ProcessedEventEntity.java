@@ -0,0 +1,58 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Marks one event as handled by one consumer. The row is written in the same transaction as the
+ * consumer's own changes, so after a restart an event is handled again only if those changes
+ * were rolled back.
+ */
+@Entity
+@Table(name = "processed_events")
+@IdClass(ProcessedEventEntity.Key.class)
+public class ProcessedEventEntity {
+
+  public record Key(String consumer, String eventId) implements Serializable {
+
+  }
+
+  @Id
+  @Column(name="consumer", length = 100)
+  private String consumer;
+
+  @Id
+  @Column(name="event_id", length = 64)
+  private String eventId;
+
+  @Column(name="processed_at", nullable = false)
+  private LocalDateTime processedAt;
+
+  protected ProcessedEventEntity(){
+
+  }
+
+  public ProcessedEventEntity(String consumer, String eventId, LocalDateTime processedAt) {
+    this.consumer = consumer;
+    this.eventId = eventId;
+    this.processedAt = processedAt;
+  }
+
+  public String getConsumer() {
+    return consumer;
+  }
+
+  public String getEventId() {
+    return eventId;
+  }
+
+  public LocalDateTime getProcessedAt() {
+    return processedAt;
+  }
+}
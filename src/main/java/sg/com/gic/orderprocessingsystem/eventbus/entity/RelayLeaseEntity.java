@@ -0,0 +1,50 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited ownership of one outbox relay partition. Only the owning instance relays the
+ * partition's events, until it releases the lease or stops renewing it and {@code expires_at}
+ * passes.
+ */
+@Entity
+@Table(name = "outbox_relay_leases")
+public class RelayLeaseEntity {
+
+  @Id
+  @Column(name="partition_id")
+  private int partitionId;
+
+  @Column(name="owner", length = 100)
+  private String owner;
+
+  @Column(name="expires_at")
+  private LocalDateTime expiresAt;
+
+  protected RelayLeaseEntity(){
+
+  }
+
+  public RelayLeaseEntity(int partitionId, String owner, LocalDateTime expiresAt) {
+    this.partitionId = partitionId;
+    this.owner = owner;
+    this.expiresAt = expiresAt;
+  }
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+}
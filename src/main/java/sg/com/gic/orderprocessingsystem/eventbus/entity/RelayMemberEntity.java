@@ -0,0 +1,42 @@
+package sg.com.gic.orderprocessingsystem.eventbus.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+/**
+ * An application instance taking part in the outbox relay, with the time of its last heartbeat.
+ * Instances whose heartbeat is older than the lease duration are no longer counted when relay
+ * partitions are divided up.
+ */
+@Entity
+@Table(name = "outbox_relay_members")
+public class RelayMemberEntity {
+
+  @Id
+  @Column(name="instance_id", length = 100)
+  private String instanceId;
+
+  @Column(name="heartbeat_at", nullable = false)
+  private LocalDateTime heartbeatAt;
+
+  protected RelayMemberEntity(){
+
+  }
+
+  public RelayMemberEntity(String instanceId, LocalDateTime heartbeatAt) {
+    this.instanceId = instanceId;
+    this.heartbeatAt = heartbeatAt;
+  }
+
+  public String getInstanceId() {
+    return instanceId;
+  }
+
+  public LocalDateTime getHeartbeatAt() {
+    return heartbeatAt;
+  }
+}
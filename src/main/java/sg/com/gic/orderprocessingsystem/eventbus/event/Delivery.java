@@ -0,0 +1,19 @@
+package sg.com.gic.orderprocessingsystem.eventbus.event;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares an event type's {@link DeliveryPolicy}. Types without it are {@code DURABLE};
+ * {@code event.delivery.types.<EventName>} overrides it per deployment.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Delivery {
+
+  DeliveryPolicy value();
+}
@@ -0,0 +1,30 @@
+package sg.com.gic.orderprocessingsystem.eventbus.event;
+
+/**
+ * How the publisher stores and delivers an event type.
+ */
+public enum DeliveryPolicy {
+
+  /**
+   * Dispatched in-process on publish (after the caller's commit) and never stored. Nothing
+   * redelivers it: an event a full listener executor rejects, or one in flight during a crash, is
+   * lost, and it cannot be replayed or drained with {@code subscribe}.
+   */
+  IN_MEMORY,
+
+  /**
+   * Stored, then delivered from the store by the outbox relay, so delivery survives a crash
+   * between commit and dispatch. With the relay off it is dispatched on publish instead.
+   */
+  DURABLE,
+
+  /**
+   * Stored and dispatched in-process on publish. The stored row is a record for replay and
+   * {@code subscribe} and is skipped by the relay unless a full executor hands it over.
+   */
+  DURABLE_IMMEDIATE;
+
+  public boolean durable() {
+    return this != IN_MEMORY;
+  }
+}
@@ -0,0 +1,24 @@
+package sg.com.gic.orderprocessingsystem.eventbus.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * An event with an id that identifies the occurrence rather than the delivery: a relay retry, a
+ * replay or a resend of the same event carries the same id, so consumers can recognise it. Replays
+ * clear the consumer's record of the id first, since they are meant to be handled again.
+ */
+public interface IdentifiedEvent {
+
+  String eventId();
+
+  /**
+   * Name-based id for the event of {@code eventType} about {@code key}, e.g. the creation of one
+   * order. Deriving the id instead of storing a random one lets an event rebuilt from its source
+   * record, such as a resent {@link OrderCreatedEvent}, keep the id of the original.
+   */
+  static String idFor(Class<?> eventType, String key) {
+    return UUID.nameUUIDFromBytes((eventType.getSimpleName() + ":" + key).getBytes(StandardCharsets.UTF_8))
+        .toString();
+  }
+}
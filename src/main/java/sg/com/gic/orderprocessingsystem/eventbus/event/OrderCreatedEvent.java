@@ -4,10 +4,25 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
+@Delivery(DeliveryPolicy.DURABLE)
 public record OrderCreatedEvent(
     @JsonProperty("orderId") String orderId,
     @JsonProperty("amount") Double amount,
-    @JsonProperty("customerEmail") String customerEmail
-) {
+    @JsonProperty("customerEmail") String customerEmail,
+    @JsonProperty("eventId") String eventId
+) implements OrderScopedEvent, IdentifiedEvent {
 
+  /**
+   * An order is created once, so the event id is derived from the order id; payloads written
+   * before event ids existed get the same id when read.
+   */
+  public OrderCreatedEvent {
+    if (eventId == null) {
+      eventId = IdentifiedEvent.idFor(OrderCreatedEvent.class, orderId);
+    }
+  }
+
+  public OrderCreatedEvent(String orderId, Double amount, String customerEmail) {
+    this(orderId, amount, customerEmail, null);
+  }
 }
@@ -0,0 +1,28 @@
+package sg.com.gic.orderprocessingsystem.eventbus.event;
+
+/**
+ * An event that belongs to one order. Dispatchers and the outbox relay partition work by
+ * {@link #orderId()}, so all events of an order are handled in publish order.
+ */
+public interface OrderScopedEvent {
+
+  String orderId();
+
+  /**
+   * Hash that places {@code event} in a partition: its order id, or its class for events that are
+   * not order-scoped. Stable across JVMs, so it can be stored with the event and read by any
+   * instance.
+   */
+  static int partitionKey(Object event) {
+    Object key = event instanceof OrderScopedEvent scoped && scoped.orderId() != null
+        ? scoped.orderId()
+        : event.getClass().getName();
+    int hash = key.hashCode();
+    // Spread the high bits so keys differing only there still use every partition
+    return hash ^ (hash >>> 16);
+  }
+
+  static int partition(int partitionKey, int partitions) {
+    return Math.floorMod(partitionKey, partitions);
+  }
+}
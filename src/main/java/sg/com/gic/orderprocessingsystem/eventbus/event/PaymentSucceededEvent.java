@@ -4,11 +4,26 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
+@Delivery(DeliveryPolicy.DURABLE_IMMEDIATE)
 public record PaymentSucceededEvent(
     @JsonProperty("orderId") String orderId,
     @JsonProperty("paymentId") String paymentId,
     @JsonProperty("amount") Double amount,
-    @JsonProperty("timestamp") java.time.LocalDateTime timestamp
-) {
+    @JsonProperty("timestamp") java.time.LocalDateTime timestamp,
+    @JsonProperty("eventId") String eventId
+) implements OrderScopedEvent, IdentifiedEvent {
 
+  /**
+   * Each payment succeeds once, so the event id is derived from the payment id.
+   */
+  public PaymentSucceededEvent {
+    if (eventId == null) {
+      eventId = IdentifiedEvent.idFor(PaymentSucceededEvent.class, paymentId);
+    }
+  }
+
+  public PaymentSucceededEvent(String orderId, String paymentId, Double amount,
+      java.time.LocalDateTime timestamp) {
+    this(orderId, paymentId, amount, timestamp, null);
+  }
 }
@@ -0,0 +1,23 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+/**
+ * When appended records are forced from the page cache to disk. Until then they survive a crash
+ * of the JVM, but not of the machine.
+ */
+public enum FsyncPolicy {
+  /** Force every append before it returns. */
+  ALWAYS,
+  /** Force on a timer ({@code event.log.fsync-interval-ms}). */
+  INTERVAL,
+  /** Leave it to the operating system; force only on close. */
+  NEVER;
+
+  public static FsyncPolicy forName(String name) {
+    return switch (name) {
+      case "always" -> ALWAYS;
+      case "interval" -> INTERVAL;
+      case "never" -> NEVER;
+      default -> throw new IllegalStateException("Unknown event.log.fsync: " + name);
+    };
+  }
+}
@@ -0,0 +1,10 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+/**
+ * One event in the {@link SegmentLog}: its offset in the log, when it was appended, and the
+ * encoded event as the outbox would store it.
+ */
+public record LogRecord(long offset, long timestampMillis, int typeCode, int schemaVersion,
+    int codecId, byte[] payload) {
+
+}
@@ -0,0 +1,269 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * One fixed-size, memory-mapped file of the {@link SegmentLog} plus its sparse index.
+ *
+ * <p>The log file is preallocated to {@code segmentBytes} and filled front to back with records:
+ * {@code length:int crc:int offset:long timestamp:long typeCode:int schemaVersion:int codecId:int
+ * payload}, where the CRC-32C covers everything after it. Unwritten space is zero, so a zero
+ * length marks the end. Every {@code indexIntervalBytes} of records the index file gets a
+ * {@code (offset - baseOffset, position)} entry; a lookup binary-searches the index and scans at
+ * most one interval of records.
+ *
+ * <p>Appends come from one thread at a time (the log's lock). Readers run concurrently and only
+ * look below {@link #writePosition()}, which is published after a record is complete.
+ */
+final class Segment {
+
+  static final int HEADER_BYTES = 8;
+  static final int FIXED_BODY_BYTES = 28;
+  private static final int INDEX_ENTRY_BYTES = 8;
+
+  private final Path logPath;
+  private final Path indexPath;
+  private final long baseOffset;
+  private final int indexIntervalBytes;
+  private final MappedByteBuffer log;
+  private final MappedByteBuffer index;
+  private volatile int indexEntries;
+  private int bytesSinceIndexEntry;
+  private volatile int writePosition;
+  private volatile long nextOffset;
+
+  private Segment(Path logPath, Path indexPath, long baseOffset, int segmentBytes,
+      int indexIntervalBytes) throws IOException {
+    this.logPath = logPath;
+    this.indexPath = indexPath;
+    this.baseOffset = baseOffset;
+    this.indexIntervalBytes = indexIntervalBytes;
+    this.log = map(logPath, segmentBytes);
+    this.index = map(indexPath, (log.capacity() / indexIntervalBytes + 2) * INDEX_ENTRY_BYTES);
+    this.nextOffset = baseOffset;
+  }
+
+  /**
+   * Opens the segment starting at {@code baseOffset}, creating its files if they do not exist and
+   * otherwise recovering its end: the first record whose length, CRC or offset does not check out
+   * (a write torn by a crash) and everything after it is treated as unwritten.
+   */
+  static Segment open(Path directory, long baseOffset, int segmentBytes, int indexIntervalBytes)
+      throws IOException {
+    String name = String.format("%020d", baseOffset);
+    Segment segment = new Segment(directory.resolve(name + ".log"),
+        directory.resolve(name + ".index"), baseOffset, segmentBytes, indexIntervalBytes);
+    segment.recover();
+    return segment;
+  }
+
+  static int recordBytes(int payloadLength) {
+    return HEADER_BYTES + FIXED_BODY_BYTES + payloadLength;
+  }
+
+  long baseOffset() {
+    return baseOffset;
+  }
+
+  long nextOffset() {
+    return nextOffset;
+  }
+
+  int writePosition() {
+    return writePosition;
+  }
+
+  boolean isEmpty() {
+    return nextOffset == baseOffset;
+  }
+
+  boolean fits(int payloadLength) {
+    // Keep room for a zero length after the last record, so the end is always marked
+    return (long) writePosition + recordBytes(payloadLength) + HEADER_BYTES <= log.capacity();
+  }
+
+  /**
+   * Writes the record at the end of the segment. The caller checks {@link #fits} first.
+   */
+  long append(long timestampMillis, int typeCode, int schemaVersion, int codecId, byte[] payload) {
+    int position = writePosition;
+    long offset = nextOffset;
+    int bodyBytes = FIXED_BODY_BYTES + payload.length;
+    int body = position + HEADER_BYTES;
+    log.putLong(body, offset);
+    log.putLong(body + 8, timestampMillis);
+    log.putInt(body + 16, typeCode);
+    log.putInt(body + 20, schemaVersion);
+    log.putInt(body + 24, codecId);
+    log.put(body + FIXED_BODY_BYTES, payload);
+    log.putInt(position + 4, crc(body, bodyBytes));
+    // Length last: a record is only visible to recovery once its length is written
+    log.putInt(position, bodyBytes);
+
+    if (indexEntries == 0 || bytesSinceIndexEntry >= indexIntervalBytes) {
+      int entry = indexEntries * INDEX_ENTRY_BYTES;
+      index.putInt(entry, (int) (offset - baseOffset));
+      index.putInt(entry + 4, position);
+      indexEntries++;
+      bytesSinceIndexEntry = 0;
+    }
+    bytesSinceIndexEntry += HEADER_BYTES + bodyBytes;
+    nextOffset = offset + 1;
+    writePosition = position + HEADER_BYTES + bodyBytes;
+    return offset;
+  }
+
+  /**
+   * Adds up to {@code max} records with an offset above {@code afterOffset} to {@code out}.
+   *
+   * @return the number of records added
+   */
+  int read(long afterOffset, int max, List<LogRecord> out) {
+    int end = writePosition;
+    int position = positionFor(afterOffset + 1);
+    int added = 0;
+    while (position < end && added < max) {
+      int bodyBytes = log.getInt(position);
+      int body = position + HEADER_BYTES;
+      long offset = log.getLong(body);
+      if (offset > afterOffset) {
+        byte[] payload = new byte[bodyBytes - FIXED_BODY_BYTES];
+        log.get(body + FIXED_BODY_BYTES, payload);
+        out.add(new LogRecord(offset, log.getLong(body + 8), log.getInt(body + 16),
+            log.getInt(body + 20), log.getInt(body + 24), payload));
+        added++;
+      }
+      position = body + bodyBytes;
+    }
+    return added;
+  }
+
+  /**
+   * Forces written records and index entries to disk.
+   */
+  void force() {
+    log.force(0, writePosition);
+    index.force(0, indexEntries * INDEX_ENTRY_BYTES);
+  }
+
+  void delete() {
+    // The mappings stay valid until they are garbage collected; on Linux the files can go now
+    try {
+      Files.deleteIfExists(logPath);
+      Files.deleteIfExists(indexPath);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to delete segment " + logPath, e);
+    }
+  }
+
+  /**
+   * Position of the last indexed record at or before {@code offset}.
+   */
+  private int positionFor(long offset) {
+    int low = 0;
+    int high = indexEntries - 1;
+    int position = 0;
+    long relative = offset - baseOffset;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int entryOffset = index.getInt(mid * INDEX_ENTRY_BYTES);
+      if (entryOffset <= relative) {
+        position = index.getInt(mid * INDEX_ENTRY_BYTES + 4);
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return position;
+  }
+
+  private void recover() {
+    // Index entries are only trusted while positions increase; zeroed space ends them
+    int indexed = 0;
+    int lastPosition = -1;
+    int maxEntries = index.capacity() / INDEX_ENTRY_BYTES;
+    while (indexed < maxEntries) {
+      int relative = index.getInt(indexed * INDEX_ENTRY_BYTES);
+      int position = index.getInt(indexed * INDEX_ENTRY_BYTES + 4);
+      if (indexed > 0 && (position <= lastPosition || relative <= 0)) {
+        break;
+      }
+      lastPosition = position;
+      indexed++;
+    }
+
+    // Walk forward from the last index entry that still points at a valid record
+    int entries = indexed;
+    int start = 0;
+    long expected = baseOffset;
+    while (entries > 0) {
+      int entry = (entries - 1) * INDEX_ENTRY_BYTES;
+      if (validRecordAt(index.getInt(entry + 4), baseOffset + index.getInt(entry))) {
+        start = index.getInt(entry + 4);
+        expected = baseOffset + index.getInt(entry);
+        break;
+      }
+      entries--;
+    }
+    for (int entry = entries; entry < indexed; entry++) {
+      index.putLong(entry * INDEX_ENTRY_BYTES, 0L);
+    }
+    int end = scan(start, expected);
+    indexEntries = entries;
+    bytesSinceIndexEntry = end - start;
+  }
+
+  private int scan(int position, long offset) {
+    while (validRecordAt(position, offset)) {
+      position += HEADER_BYTES + log.getInt(position);
+      offset++;
+    }
+    writePosition = position;
+    nextOffset = offset;
+    // Clear the header of whatever torn record follows, so the end stays marked
+    if (position + HEADER_BYTES <= log.capacity()) {
+      log.putLong(position, 0L);
+    }
+    return position;
+  }
+
+  private boolean validRecordAt(int position, long expectedOffset) {
+    if (position + HEADER_BYTES + FIXED_BODY_BYTES > log.capacity()) {
+      return false;
+    }
+    int bodyBytes = log.getInt(position);
+    int body = position + HEADER_BYTES;
+    return bodyBytes >= FIXED_BODY_BYTES
+        && (long) body + bodyBytes <= log.capacity()
+        && log.getLong(body) == expectedOffset
+        && log.getInt(position + 4) == crc(body, bodyBytes);
+  }
+
+  private int crc(int from, int length) {
+    CRC32C crc = new CRC32C();
+    crc.update(log.slice(from, length));
+    return (int) crc.getValue();
+  }
+
+  private static MappedByteBuffer map(Path path, int bytes) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      // A segment written with a larger segment-bytes setting keeps its size. Mapping past the
+      // end grows the file; the new space reads as zero.
+      long size = Math.max(channel.size(), bytes);
+      if (size > Integer.MAX_VALUE) {
+        throw new IllegalStateException("Segment file larger than 2 GiB: " + path);
+      }
+      return channel.map(MapMode.READ_WRITE, 0, size);
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Append-only event log in a directory of fixed-size, memory-mapped segment files.
+ *
+ * <p>Records get consecutive offsets starting at 1. An append copies the record into the active
+ * segment's mapping, with no syscall unless {@link FsyncPolicy#ALWAYS} forces it to disk; when
+ * the record does not fit, a new segment named after its first offset is started. Reads locate
+ * the segment by offset and the record through the segment's sparse index, and run concurrently
+ * with appends.
+ *
+ * <p>Consumers keep their offset, the last record they have consumed, in an 8-byte mapped file
+ * under {@code offsets/}. Whole segments that every consumer has read past can be deleted with
+ * {@link #deleteConsumedSegments}; the offset files found on open count as consumers from the
+ * start, so a restart does not delete what a durable subscriber has yet to read.
+ */
+public class SegmentLog implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(SegmentLog.class);
+  private static final String SEGMENT_SUFFIX = ".log";
+  private static final String OFFSET_SUFFIX = ".offset";
+
+  private final Path directory;
+  private final Path offsetsDirectory;
+  private final int segmentBytes;
+  private final int indexIntervalBytes;
+  private final FsyncPolicy fsyncPolicy;
+  private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+  // Keyed by offset file name, which is all that is known of a consumer found on disk
+  private final Map<String, MappedByteBuffer> offsets = new ConcurrentHashMap<>();
+  private volatile Segment active;
+
+  public SegmentLog(Path directory, int segmentBytes, int indexIntervalBytes,
+      FsyncPolicy fsyncPolicy) throws IOException {
+    if (indexIntervalBytes <= 0 || segmentBytes < 4 * indexIntervalBytes) {
+      throw new IllegalStateException("event.log.segment-bytes (" + segmentBytes
+          + ") must be at least four index intervals (" + indexIntervalBytes + ")");
+    }
+    this.directory = directory;
+    this.offsetsDirectory = directory.resolve("offsets");
+    this.segmentBytes = segmentBytes;
+    this.indexIntervalBytes = indexIntervalBytes;
+    this.fsyncPolicy = fsyncPolicy;
+    Files.createDirectories(offsetsDirectory);
+
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX)).toList()) {
+        String name = file.getFileName().toString();
+        long baseOffset = Long.parseLong(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+        segments.put(baseOffset, Segment.open(directory, baseOffset, segmentBytes, indexIntervalBytes));
+      }
+    }
+    if (segments.isEmpty()) {
+      segments.put(1L, Segment.open(directory, 1L, segmentBytes, indexIntervalBytes));
+    }
+    try (Stream<Path> files = Files.list(offsetsDirectory)) {
+      for (Path file : files.filter(f -> f.getFileName().toString().endsWith(OFFSET_SUFFIX)).toList()) {
+        offsets.put(file.getFileName().toString(), mapOffsetFile(file));
+      }
+    }
+    active = segments.lastEntry().getValue();
+    logger.info("Event log opened: directory={}, segments={}, consumers={}, nextOffset={}",
+        directory, segments.size(), offsets.size(), active.nextOffset());
+  }
+
+  /**
+   * Appends one encoded event.
+   *
+   * @return the offset of the new record
+   */
+  public synchronized long append(int typeCode, int schemaVersion, int codecId, byte[] payload) {
+    if (Segment.recordBytes(payload.length) + Segment.HEADER_BYTES > segmentBytes) {
+      throw new IllegalArgumentException("Event of " + payload.length
+          + " bytes does not fit in a segment of " + segmentBytes + " bytes");
+    }
+    Segment segment = active;
+    if (!segment.fits(payload.length)) {
+      segment = roll(segment);
+    }
+    long offset = segment.append(System.currentTimeMillis(), typeCode, schemaVersion, codecId, payload);
+    if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+      segment.force();
+    }
+    return offset;
+  }
+
+  /**
+   * Up to {@code max} records after {@code afterOffset}, in offset order. Records in segments
+   * that were already deleted are skipped.
+   */
+  public List<LogRecord> read(long afterOffset, int max) {
+    List<LogRecord> records = new ArrayList<>(Math.min(max, 1024));
+    Long start = segments.floorKey(afterOffset + 1);
+    Map<Long, Segment> from = start == null ? segments : segments.tailMap(start, true);
+    for (Segment segment : from.values()) {
+      if (records.size() >= max) {
+        break;
+      }
+      segment.read(afterOffset, max - records.size(), records);
+    }
+    return records;
+  }
+
+  /**
+   * Offset the next appended record will get.
+   */
+  public long nextOffset() {
+    return active.nextOffset();
+  }
+
+  public int segmentCount() {
+    return segments.size();
+  }
+
+  /**
+   * Last offset {@code consumer} has consumed; 0 for a consumer that has not consumed anything.
+   * The first call registers the consumer, so it holds back {@link #deleteConsumedSegments}.
+   */
+  public long position(String consumer) {
+    return offsetFile(consumer).getLong(0);
+  }
+
+  /**
+   * Moves the consumer's offset forward; never backwards.
+   */
+  public void advance(String consumer, long offset) {
+    MappedByteBuffer file = offsetFile(consumer);
+    synchronized (file) {
+      if (offset > file.getLong(0)) {
+        file.putLong(0, offset);
+        if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+          file.force();
+        }
+      }
+    }
+  }
+
+  /**
+   * Deletes the oldest segments whose records every registered consumer has consumed, keeping
+   * the active segment and at least {@code retainSegments} segments in total.
+   *
+   * @return the number of segments deleted
+   */
+  public synchronized int deleteConsumedSegments(int retainSegments) {
+    long consumed = Long.MAX_VALUE;
+    for (MappedByteBuffer file : offsets.values()) {
+      consumed = Math.min(consumed, file.getLong(0));
+    }
+    int deleted = 0;
+    while (segments.size() > Math.max(1, retainSegments)) {
+      Segment oldest = segments.firstEntry().getValue();
+      if (oldest == active || oldest.nextOffset() - 1 > consumed) {
+        break;
+      }
+      segments.remove(oldest.baseOffset());
+      oldest.delete();
+      deleted++;
+    }
+    if (deleted > 0) {
+      logger.info("Deleted {} consumed event log segments, first offset now {}", deleted,
+          segments.firstKey());
+    }
+    return deleted;
+  }
+
+  /**
+   * Forces the active segment and the consumer offsets to disk.
+   */
+  public void flush() {
+    active.force();
+    offsets.values().forEach(MappedByteBuffer::force);
+  }
+
+  @Override
+  public synchronized void close() {
+    segments.values().forEach(Segment::force);
+    offsets.values().forEach(MappedByteBuffer::force);
+  }
+
+  private Segment roll(Segment full) {
+    if (fsyncPolicy != FsyncPolicy.NEVER) {
+      full.force();
+    }
+    try {
+      Segment next = Segment.open(directory, full.nextOffset(), segmentBytes, indexIntervalBytes);
+      segments.put(next.baseOffset(), next);
+      active = next;
+      logger.debug("Rolled event log segment at offset {}", next.baseOffset());
+      return next;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to create event log segment at offset "
+          + full.nextOffset(), e);
+    }
+  }
+
+  private MappedByteBuffer offsetFile(String consumer) {
+    String fileName = consumer.replaceAll("[^A-Za-z0-9._-]", "_") + OFFSET_SUFFIX;
+    return offsets.computeIfAbsent(fileName, name -> {
+      Path file = offsetsDirectory.resolve(name);
+      try {
+        return mapOffsetFile(file);
+      } catch (IOException e) {
+        throw new IllegalStateException("Failed to open consumer offset file " + file, e);
+      }
+    });
+  }
+
+  private static MappedByteBuffer mapOffsetFile(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      return channel.map(MapMode.READ_WRITE, 0, Long.BYTES);
+    }
+  }
+}
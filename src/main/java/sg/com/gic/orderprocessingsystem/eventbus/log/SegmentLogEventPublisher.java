@@ -0,0 +1,214 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import sg.com.gic.orderprocessingsystem.eventbus.EventPublisher;
+import sg.com.gic.orderprocessingsystem.eventbus.JpaEventPublisher;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs.EncodedPayload;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventDispatcher;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.DeadLetters;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.RetryScheduler;
+
+/**
+ * {@link EventPublisher} that appends events to the memory-mapped {@link SegmentLog} instead of
+ * the {@code outbox_events} table, selected with {@code event.publisher.type=segment-log}.
+ *
+ * <p>The log cannot join a database transaction, so inside one the append and the in-process
+ * dispatch both wait for the commit: listeners never see an event whose order rolled back, but
+ * an event is lost if the process dies between the commit and the append. Event types with the
+ * {@code IN_MEMORY} delivery policy are dispatched without being appended.
+ */
+@Component
+@ConditionalOnProperty(name = "event.publisher.type", havingValue = "segment-log")
+public class SegmentLogEventPublisher implements EventPublisher {
+
+  private static final Logger logger = LoggerFactory.getLogger(SegmentLogEventPublisher.class);
+
+  private final SegmentLog segmentLog;
+  private final EventDispatcher eventDispatcher;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final EventCodecs eventCodecs;
+  private final RetryScheduler retryScheduler;
+  private final DeadLetters deadLetters;
+  private final FsyncPolicy fsyncPolicy;
+  private final int subscribePageSize;
+  private final int batchSize;
+  private final int retainSegments;
+
+  public SegmentLogEventPublisher(SegmentLog segmentLog, EventDispatcher eventDispatcher,
+      EventTypeRegistry eventTypeRegistry, EventCodecs eventCodecs, RetryScheduler retryScheduler,
+      DeadLetters deadLetters,
+      @Value("${event.log.fsync:interval}") String fsync,
+      @Value("${outbox.subscribe.page-size:500}") int subscribePageSize,
+      @Value("${event.batch.max-size:100}") int batchSize,
+      @Value("${event.log.retain-segments:4}") int retainSegments) {
+    this.segmentLog = segmentLog;
+    this.eventDispatcher = eventDispatcher;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.eventCodecs = eventCodecs;
+    this.retryScheduler = retryScheduler;
+    this.deadLetters = deadLetters;
+    this.fsyncPolicy = FsyncPolicy.forName(fsync);
+    this.subscribePageSize = subscribePageSize;
+    this.batchSize = batchSize;
+    this.retainSegments = retainSegments;
+  }
+
+  @Override
+  public void publish(Object event) {
+    if (event == null) throw new NullPointerException("event is null");
+
+    EventType<?> type = eventTypeRegistry.forEvent(event);
+    if (!type.durable()) {
+      afterCommit(() -> dispatchInMemory(type, event));
+      return;
+    }
+    EncodedPayload payload;
+    try {
+      payload = eventCodecs.encode(type, event);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize event", e);
+    }
+    afterCommit(() -> appendAndDispatch(type, payload, event));
+  }
+
+  private static void afterCommit(Runnable action) {
+    if (TransactionSynchronizationManager.isActualTransactionActive()
+        && TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+          action.run();
+        }
+      });
+    } else {
+      action.run();
+    }
+  }
+
+  private void dispatchInMemory(EventType<?> type, Object event) {
+    try {
+      eventDispatcher.dispatch(event);
+    } catch (TaskRejectedException e) {
+      logger.warn("Listener executor saturated, in-memory event dropped: type={}", type.name());
+    }
+  }
+
+  private void appendAndDispatch(EventType<?> type, EncodedPayload payload, Object event) {
+    long offset = segmentLog.append(type.code(), type.schemaVersion(), payload.codecId(),
+        payload.bytes());
+    logger.info("Event appended to event log: type={}, offset={}", type.name(), offset);
+    try {
+      eventDispatcher.dispatch(event);
+    } catch (TaskRejectedException e) {
+      logger.warn("Listener executor saturated, event is only in the event log: type={}, offset={}",
+          type.name(), offset);
+    }
+  }
+
+  /**
+   * Drains the log for {@code eventType} as consumer {@value JpaEventPublisher#SUBSCRIBER_PREFIX}
+   * {@code <EventName>}, like {@link JpaEventPublisher#subscribe}. Log offsets have no gaps, so
+   * every page can be acknowledged as soon as it is handed over.
+   */
+  @Override
+  public <T> void subscribe(Class<T> eventType, Consumer<T> handler) {
+    EventType<T> type = eventTypeRegistry.forClass(eventType);
+    String consumer = JpaEventPublisher.SUBSCRIBER_PREFIX + type.name();
+    retryScheduler.recover(consumer, eventType, handler);
+    long position = segmentLog.position(consumer);
+    List<LogRecord> records;
+    do {
+      records = segmentLog.read(position, subscribePageSize);
+      long consumed = position;
+      try {
+        for (LogRecord record : records) {
+          if (record.typeCode() == type.code()) {
+            T event = decodeOrDeadLetter(consumer, type, record);
+            if (event != null) {
+              retryScheduler.execute(consumer, event, handler);
+            }
+          }
+          consumed = record.offset();
+        }
+      } finally {
+        if (consumed > position) {
+          segmentLog.advance(consumer, consumed);
+        }
+      }
+      position = consumed;
+    } while (records.size() == subscribePageSize);
+  }
+
+  /**
+   * Drains the log for {@code eventType} in lists, like {@link JpaEventPublisher#subscribeBatch}.
+   */
+  @Override
+  public <T> void subscribeBatch(Class<T> eventType, Consumer<List<T>> handler) {
+    EventType<T> type = eventTypeRegistry.forClass(eventType);
+    String consumer = JpaEventPublisher.SUBSCRIBER_PREFIX + type.name();
+    retryScheduler.recover(consumer, eventType, event -> handler.accept(List.of(event)));
+    long position = segmentLog.position(consumer);
+    long acknowledged = position;
+    List<T> batch = new ArrayList<>(batchSize);
+    List<LogRecord> records;
+    do {
+      records = segmentLog.read(position, subscribePageSize);
+      for (LogRecord record : records) {
+        position = record.offset();
+        if (record.typeCode() != type.code()) {
+          continue;
+        }
+        T event = decodeOrDeadLetter(consumer, type, record);
+        if (event != null) {
+          batch.add(event);
+        }
+        if (batch.size() == batchSize) {
+          retryScheduler.executeBatch(consumer, batch, handler);
+          segmentLog.advance(consumer, position);
+          acknowledged = position;
+          batch = new ArrayList<>(batchSize);
+        }
+      }
+    } while (records.size() == subscribePageSize);
+    retryScheduler.executeBatch(consumer, batch, handler);
+    if (position > acknowledged) {
+      segmentLog.advance(consumer, position);
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${event.log.fsync-interval-ms:1000}")
+  public void flush() {
+    if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+      segmentLog.flush();
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${event.log.cleanup-interval-ms:60000}")
+  public void deleteConsumedSegments() {
+    segmentLog.deleteConsumedSegments(retainSegments);
+  }
+
+  private <T> T decodeOrDeadLetter(String consumer, EventType<T> type, LogRecord record) {
+    try {
+      return eventCodecs.decode(type, record.codecId(), record.schemaVersion(), record.payload());
+    } catch (IOException | RuntimeException e) {
+      deadLetters.record(consumer, record, e);
+      return null;
+    }
+  }
+}
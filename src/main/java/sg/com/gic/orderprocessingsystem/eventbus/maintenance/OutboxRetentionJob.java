@@ -0,0 +1,167 @@
+package sg.com.gic.orderprocessingsystem.eventbus.maintenance;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventDoneEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventDoneRepository;
+
+/**
+ * Purges delivered rows from {@code outbox_events_done} according to the per-type
+ * {@link OutboxRetentionProperties retention policy}, archiving them first when an
+ * {@link OutboxSegmentArchiver} is configured.
+ *
+ * <p>The job only touches the cold table, deletes in small batches with one short transaction per
+ * batch and pauses between batches, so it never holds locks that publishes or the relay wait on.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.retention.enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxRetentionProperties.class)
+public class OutboxRetentionJob {
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxRetentionJob.class);
+
+  private final OutboxEventDoneRepository doneRepository;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final TransactionTemplate transactionTemplate;
+  private final OutboxRetentionProperties properties;
+  private final Optional<OutboxSegmentArchiver> archiver;
+  private final MeterRegistry meterRegistry;
+  private final Timer runTimer;
+
+  public OutboxRetentionJob(OutboxEventDoneRepository doneRepository,
+      EventTypeRegistry eventTypeRegistry,
+      TransactionTemplate transactionTemplate,
+      OutboxRetentionProperties properties,
+      Optional<OutboxSegmentArchiver> archiver,
+      MeterRegistry meterRegistry) {
+    this.doneRepository = doneRepository;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.transactionTemplate = transactionTemplate;
+    this.properties = properties;
+    this.archiver = archiver;
+    this.meterRegistry = meterRegistry;
+    this.runTimer = Timer.builder("outbox.retention.run")
+        .description("Time spent per retention run")
+        .register(meterRegistry);
+    List<String> known = eventTypeRegistry.all().stream().map(EventType::name).toList();
+    for (String configured : properties.types().keySet()) {
+      if (!known.contains(configured)) {
+        throw new IllegalStateException("Retention policy configured for unknown event type: " + configured);
+      }
+    }
+  }
+
+  @Scheduled(fixedDelayString = "${outbox.retention.interval-ms:60000}")
+  public void purgeExpired() {
+    runTimer.record(() -> {
+      for (EventType<?> type : eventTypeRegistry.all()) {
+        int purged = purgeType(type, LocalDateTime.now());
+        if (purged > 0) {
+          logger.info("Retention purged {} delivered {} events", purged, type.name());
+        }
+      }
+    });
+  }
+
+  /**
+   * Applies the retention policy of one event type.
+   *
+   * @return the number of rows purged
+   */
+  public int purgeType(EventType<?> type, LocalDateTime now) {
+    OutboxRetentionProperties.Policy policy = properties.policyFor(type.name());
+    int purged = 0;
+    if (policy.maxAge() != null) {
+      LocalDateTime cutoff = now.minus(policy.maxAge());
+      purged += purgeWhile(type,
+          () -> doneRepository.claimOlderThan(type.code(), cutoff, properties.batchSize()));
+    }
+    if (policy.maxCount() != null) {
+      Long maxId = doneRepository.findIdBeyondNewest(type.code(), policy.maxCount());
+      if (maxId != null) {
+        purged += purgeWhile(type,
+            () -> doneRepository.claimUpTo(type.code(), maxId, properties.batchSize()));
+      }
+    }
+    return purged;
+  }
+
+  private int purgeWhile(EventType<?> type, Supplier<List<Long>> claim) {
+    int total = 0;
+    int purged;
+    do {
+      purged = purgeBatch(type, claim);
+      total += purged;
+      if (purged == properties.batchSize()) {
+        pause();
+      }
+    } while (purged == properties.batchSize());
+    return total;
+  }
+
+  private int purgeBatch(EventType<?> type, Supplier<List<Long>> claim) {
+    Integer purged = transactionTemplate.execute(status -> {
+      List<Long> ids = claim.get();
+      if (ids.isEmpty()) {
+        return 0;
+      }
+      archiver.ifPresent(a -> archive(a, type, ids));
+      return doneRepository.deleteByIdIn(ids);
+    });
+    int count = purged == null ? 0 : purged;
+    if (count > 0) {
+      Counter.builder("outbox.retention.rows")
+          .description("Delivered outbox rows removed by retention")
+          .tag("type", type.name())
+          .tag("outcome", archiver.isPresent() ? "archived" : "deleted")
+          .register(meterRegistry)
+          .increment(count);
+    }
+    return count;
+  }
+
+  private void archive(OutboxSegmentArchiver segmentArchiver, EventType<?> type, List<Long> ids) {
+    List<OutboxEventDoneEntity> rows = new ArrayList<>(doneRepository.findAllById(ids));
+    rows.sort(Comparator.comparing(OutboxEventDoneEntity::getId));
+    try {
+      long bytes = segmentArchiver.append(rows);
+      Counter.builder("outbox.retention.archive.bytes")
+          .description("Compressed bytes appended to outbox archive segments")
+          .tag("type", type.name())
+          .register(meterRegistry)
+          .increment(bytes);
+    } catch (IOException e) {
+      // Abort the batch so the rows stay in outbox_events_done until they are safely archived
+      throw new UncheckedIOException("Failed to archive outbox events", e);
+    }
+  }
+
+  private void pause() {
+    if (properties.batchPause().isZero()) {
+      return;
+    }
+    try {
+      Thread.sleep(properties.batchPause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
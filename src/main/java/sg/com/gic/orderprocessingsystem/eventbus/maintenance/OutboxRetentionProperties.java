@@ -0,0 +1,46 @@
+package sg.com.gic.orderprocessingsystem.eventbus.maintenance;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Retention settings for delivered outbox rows, bound from {@code outbox.retention.*}.
+ *
+ * <p>{@code defaults} applies to every event type; entries under {@code types} are keyed by event
+ * type name (for example {@code outbox.retention.types.PaymentSucceededEvent.max-count=10000}) and
+ * override the default field by field.
+ */
+@ConfigurationProperties(prefix = "outbox.retention")
+public record OutboxRetentionProperties(
+    @DefaultValue("200") int batchSize,
+    @DefaultValue("20ms") Duration batchPause,
+    @DefaultValue Policy defaults,
+    Map<String, Policy> types) {
+
+  public OutboxRetentionProperties {
+    types = types == null ? Map.of() : Map.copyOf(types);
+  }
+
+  /**
+   * Rows older than {@code maxAge}, or beyond the {@code maxCount} most recent, are purged. Either
+   * limit may be left unset.
+   */
+  public record Policy(Duration maxAge, Long maxCount) {
+
+    public boolean isEmpty() {
+      return maxAge == null && maxCount == null;
+    }
+  }
+
+  public Policy policyFor(String typeName) {
+    Policy override = types.get(typeName);
+    if (override == null) {
+      return defaults;
+    }
+    return new Policy(
+        override.maxAge() != null ? override.maxAge() : defaults.maxAge(),
+        override.maxCount() != null ? override.maxCount() : defaults.maxCount());
+  }
+}
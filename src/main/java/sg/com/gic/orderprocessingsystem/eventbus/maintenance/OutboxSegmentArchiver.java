@@ -0,0 +1,151 @@
+package sg.com.gic.orderprocessingsystem.eventbus.maintenance;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventDoneEntity;
+
+/**
+ * Appends purged outbox rows to gzip-compressed segment files before retention deletes them.
+ *
+ * <p>Each {@link #append} call writes one gzip member to the current segment and forces it to disk;
+ * concatenated members still read as a single gzip stream, so segments are only ever appended to.
+ * A new segment is started once the current one reaches {@code segment-bytes}. Segment names carry
+ * the id of their first row, so they sort in archive order.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.retention.archive.enabled", havingValue = "true")
+public class OutboxSegmentArchiver {
+
+  static final String SEGMENT_PREFIX = "outbox-";
+  static final String SEGMENT_SUFFIX = ".seg.gz";
+  private static final byte FORMAT_VERSION = 1;
+
+  private final Path directory;
+  private final long segmentBytes;
+  private Path currentSegment;
+
+  public OutboxSegmentArchiver(
+      @Value("${outbox.retention.archive.directory:outbox-archive}") Path directory,
+      @Value("${outbox.retention.archive.segment-bytes:67108864}") long segmentBytes) throws IOException {
+    this.directory = directory;
+    this.segmentBytes = segmentBytes;
+    Files.createDirectories(directory);
+    this.currentSegment = latestSegment(directory);
+  }
+
+  /**
+   * Durably appends {@code rows} to the archive.
+   *
+   * @return the number of compressed bytes written
+   */
+  public synchronized long append(List<OutboxEventDoneEntity> rows) throws IOException {
+    if (rows.isEmpty()) {
+      return 0;
+    }
+    if (currentSegment == null || Files.size(currentSegment) >= segmentBytes) {
+      currentSegment = directory.resolve(segmentName(rows.get(0).getId()));
+    }
+    long before = Files.exists(currentSegment) ? Files.size(currentSegment) : 0;
+    try (FileOutputStream file = new FileOutputStream(currentSegment.toFile(), true);
+        GZIPOutputStream gzip = new GZIPOutputStream(new BufferedOutputStream(file));
+        DataOutputStream out = new DataOutputStream(gzip)) {
+      out.writeByte(FORMAT_VERSION);
+      out.writeInt(rows.size());
+      for (OutboxEventDoneEntity row : rows) {
+        out.writeLong(row.getId());
+        out.writeInt(row.getTypeCode());
+        out.writeInt(row.getSchemaVersion());
+        out.writeInt(row.getCodecId());
+        writeTimestamp(out, row.getCreatedAt());
+        writeTimestamp(out, row.getDoneAt());
+        out.writeInt(row.getPayload().length);
+        out.write(row.getPayload());
+      }
+      gzip.finish();
+      out.flush();
+      file.getChannel().force(true);
+    }
+    return Files.size(currentSegment) - before;
+  }
+
+  /**
+   * Reads every row stored in one segment file, in the order it was archived.
+   */
+  public static List<OutboxEventDoneEntity> read(Path segment) throws IOException {
+    List<OutboxEventDoneEntity> rows = new ArrayList<>();
+    try (InputStream file = Files.newInputStream(segment);
+        DataInputStream in = new DataInputStream(new BufferedInputStream(new GZIPInputStream(file)))) {
+      while (true) {
+        int version;
+        try {
+          version = in.readUnsignedByte();
+        } catch (EOFException e) {
+          return rows;
+        }
+        if (version != FORMAT_VERSION) {
+          throw new IOException("Unsupported archive segment format " + version + " in " + segment);
+        }
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+          long id = in.readLong();
+          int typeCode = in.readInt();
+          int schemaVersion = in.readInt();
+          int codecId = in.readInt();
+          LocalDateTime createdAt = readTimestamp(in);
+          LocalDateTime doneAt = readTimestamp(in);
+          byte[] payload = new byte[in.readInt()];
+          in.readFully(payload);
+          rows.add(new OutboxEventDoneEntity(id, typeCode, schemaVersion, codecId, payload, createdAt, doneAt));
+        }
+      }
+    }
+  }
+
+  Path currentSegment() {
+    return currentSegment;
+  }
+
+  private static String segmentName(long firstId) {
+    return String.format("%s%020d%s", SEGMENT_PREFIX, firstId, SEGMENT_SUFFIX);
+  }
+
+  private static Path latestSegment(Path directory) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files
+          .filter(p -> {
+            String name = p.getFileName().toString();
+            return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+          })
+          .max(Path::compareTo)
+          .orElse(null);
+    }
+  }
+
+  private static void writeTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+    out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(value.getNano());
+  }
+
+  private static LocalDateTime readTimestamp(DataInputStream in) throws IOException {
+    long seconds = in.readLong();
+    return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,70 @@
+package sg.com.gic.orderprocessingsystem.eventbus.maintenance;
+
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.offset.ConsumerOffsets;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+
+/**
+ * Moves consumed rows from {@code outbox_events} into {@code outbox_events_done}.
+ *
+ * <p>A row is consumed once every registered consumer's offset has passed it. This job copies
+ * such rows to the cold table and deletes them from the hot one, one batch per transaction, so
+ * consumer reads are not slowed down by the size of the event history.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.mover.enabled", havingValue = "true", matchIfMissing = true)
+public class ProcessedEventMover {
+
+  private static final Logger logger = LoggerFactory.getLogger(ProcessedEventMover.class);
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final ConsumerOffsets consumerOffsets;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+
+  public ProcessedEventMover(OutboxEventRepository outboxEventRepository,
+      ConsumerOffsets consumerOffsets, TransactionTemplate transactionTemplate,
+      @Value("${outbox.mover.batch-size:500}") int batchSize) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.consumerOffsets = consumerOffsets;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+  }
+
+  @Scheduled(fixedDelayString = "${outbox.mover.interval-ms:5000}")
+  public void moveProcessed() {
+    int moved;
+    int total = 0;
+    do {
+      moved = moveBatch();
+      total += moved;
+    } while (moved == batchSize);
+    if (total > 0) {
+      logger.info("Moved {} consumed outbox events to outbox_events_done", total);
+    }
+  }
+
+  /**
+   * Moves one batch of consumed rows to the cold table.
+   *
+   * @return the number of rows moved
+   */
+  public int moveBatch() {
+    Integer moved = transactionTemplate.execute(status -> {
+      List<Long> ids = outboxEventRepository.claimIdsUpTo(consumerOffsets.lowWatermark(), batchSize);
+      if (ids.isEmpty()) {
+        return 0;
+      }
+      outboxEventRepository.copyToDone(ids);
+      return outboxEventRepository.deleteByIdIn(ids);
+    });
+    return moved == null ? 0 : moved;
+  }
+}
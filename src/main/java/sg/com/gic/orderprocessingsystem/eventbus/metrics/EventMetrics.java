@@ -0,0 +1,115 @@
+package sg.com.gic.orderprocessingsystem.eventbus.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+
+/**
+ * Timers recorded on the event hot path:
+ *
+ * <ul>
+ *   <li>{@code outbox.dispatch.latency}, tagged by event type: from the outbox row's
+ *   {@code created_at} to the moment the event is handed to the dispatcher, whether on publish or
+ *   by the relay.</li>
+ *   <li>{@code event.handler.duration}, tagged by subscriber and outcome: one handler attempt,
+ *   including attempts run by the retry scheduler.</li>
+ *   <li>{@code event.priority.lane.wait}, tagged by subscriber and lane: how long an event sat in
+ *   its priority lane before a worker took it.</li>
+ * </ul>
+ *
+ * <p>Meters are registered once (per event type up front, per subscriber on first use) and looked
+ * up by key, so recording an event costs a map lookup and a timer update. All of them are
+ * histograms over fixed boundaries, exported as Prometheus histograms by the Prometheus registry.
+ */
+@Component
+public class EventMetrics {
+
+  static final Duration[] BUCKETS = {
+      Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25),
+      Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMillis(500),
+      Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5), Duration.ofSeconds(10),
+      Duration.ofSeconds(30), Duration.ofMinutes(1), Duration.ofMinutes(5)};
+
+  private final MeterRegistry meterRegistry;
+  private final Map<Integer, Timer> dispatchLatency;
+  private final Map<String, HandlerTimers> handlerDuration = new ConcurrentHashMap<>();
+
+  public EventMetrics(MeterRegistry meterRegistry, EventTypeRegistry eventTypeRegistry) {
+    this.meterRegistry = meterRegistry;
+    Map<Integer, Timer> timers = new HashMap<>();
+    for (EventType<?> type : eventTypeRegistry.all()) {
+      timers.put(type.code(), histogram(Timer.builder("outbox.dispatch.latency")
+          .description("Time from an event's outbox row being written to its dispatch")
+          .tag("type", type.name())));
+    }
+    this.dispatchLatency = Map.copyOf(timers);
+  }
+
+  /**
+   * Records the publish-to-dispatch latency of an event whose outbox row was created at
+   * {@code createdAt}.
+   */
+  public void recordDispatch(int typeCode, LocalDateTime createdAt) {
+    Timer timer = dispatchLatency.get(typeCode);
+    if (timer != null) {
+      long nanos = Duration.between(createdAt, LocalDateTime.now()).toNanos();
+      timer.record(Math.max(0, nanos), TimeUnit.NANOSECONDS);
+    }
+  }
+
+  /**
+   * Wraps {@code handler} so every call is recorded as one attempt of {@code subscriber}'s handler.
+   * Listeners wrap their handler once and keep it, rather than per event.
+   */
+  public <T> Consumer<T> timed(String subscriber, Consumer<T> handler) {
+    HandlerTimers timers = handlerDuration.computeIfAbsent(subscriber, this::handlerTimers);
+    return event -> {
+      long start = System.nanoTime();
+      try {
+        handler.accept(event);
+        timers.success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      } catch (RuntimeException e) {
+        timers.failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        throw e;
+      }
+    };
+  }
+
+  /**
+   * The wait timer of {@code subscriber}'s priority lane {@code lane}, registered on first use.
+   */
+  public Timer laneWait(String subscriber, String lane) {
+    return histogram(Timer.builder("event.priority.lane.wait")
+        .description("Time an event waited in its priority lane")
+        .tag("subscriber", subscriber)
+        .tag("lane", lane));
+  }
+
+  private HandlerTimers handlerTimers(String subscriber) {
+    return new HandlerTimers(handlerTimer(subscriber, "success"), handlerTimer(subscriber, "failure"));
+  }
+
+  private Timer handlerTimer(String subscriber, String outcome) {
+    return histogram(Timer.builder("event.handler.duration")
+        .description("Duration of one event handler attempt")
+        .tag("subscriber", subscriber)
+        .tag("outcome", outcome));
+  }
+
+  private Timer histogram(Timer.Builder builder) {
+    return builder.serviceLevelObjectives(BUCKETS).register(meterRegistry);
+  }
+
+  private record HandlerTimers(Timer success, Timer failure) {
+
+  }
+}
@@ -0,0 +1,316 @@
+package sg.com.gic.orderprocessingsystem.eventbus.priority;
+
+import io.micrometer.core.instrument.Timer;
+import java.util.AbstractQueue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToIntFunction;
+
+/**
+ * A bounded blocking queue split into weighted lanes.
+ *
+ * <p>{@code laneOf} picks the lane an element joins; within a lane elements leave in the order they
+ * arrived. Across lanes the next element is chosen by smooth weighted round robin over the lanes
+ * that are not empty: with weights 8, 3 and 1 and every lane backed up, 8 of every 12 elements come
+ * from the first lane, and the last lane still gets one turn in twelve, spread out rather than in a
+ * burst. An idle lane keeps no credit, so it cannot catch up in a burst when work arrives.
+ *
+ * <p>The time each element spent queued is recorded on its lane's timer when it is taken. The
+ * iterator is a snapshot in lane order, not in the order elements will be taken.
+ */
+final class LaneQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+  private final ToIntFunction<? super T> laneOf;
+  private final int[] weights;
+  private final Timer[] waitTimers;
+  private final List<ArrayDeque<Entry<T>>> lanes;
+  private final int[] credits;
+  private final int capacity;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notEmpty = lock.newCondition();
+  private final Condition notFull = lock.newCondition();
+  private int count;
+
+  LaneQueue(int[] weights, Timer[] waitTimers, int capacity, ToIntFunction<? super T> laneOf) {
+    if (weights.length == 0 || weights.length != waitTimers.length || capacity < 1) {
+      throw new IllegalArgumentException("Lane queue needs one weight and timer per lane and a capacity");
+    }
+    this.laneOf = laneOf;
+    this.weights = weights.clone();
+    this.waitTimers = waitTimers.clone();
+    this.credits = new int[weights.length];
+    this.capacity = capacity;
+    this.lanes = new ArrayList<>(weights.length);
+    for (int weight : weights) {
+      if (weight < 1) {
+        throw new IllegalArgumentException("Lane weight must be positive: " + weight);
+      }
+      lanes.add(new ArrayDeque<>());
+    }
+  }
+
+  /**
+   * Elements queued in {@code lane}.
+   */
+  int depth(int lane) {
+    lock.lock();
+    try {
+      return lanes.get(lane).size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(T element) {
+    int lane = lane(element);
+    lock.lock();
+    try {
+      if (count == capacity) {
+        return false;
+      }
+      enqueue(lane, element);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+    int lane = lane(element);
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (count == capacity) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = notFull.awaitNanos(nanos);
+      }
+      enqueue(lane, element);
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void put(T element) throws InterruptedException {
+    int lane = lane(element);
+    lock.lockInterruptibly();
+    try {
+      while (count == capacity) {
+        notFull.await();
+      }
+      enqueue(lane, element);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public T poll() {
+    lock.lock();
+    try {
+      return count == 0 ? null : dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long nanos = unit.toNanos(timeout);
+    lock.lockInterruptibly();
+    try {
+      while (count == 0) {
+        if (nanos <= 0) {
+          return null;
+        }
+        nanos = notEmpty.awaitNanos(nanos);
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    lock.lockInterruptibly();
+    try {
+      while (count == 0) {
+        notEmpty.await();
+      }
+      return dequeue();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Removes {@code element} wherever it waits, without charging its lane a turn.
+   */
+  @Override
+  public boolean remove(Object element) {
+    lock.lock();
+    try {
+      for (int lane = 0; lane < lanes.size(); lane++) {
+        ArrayDeque<Entry<T>> queue = lanes.get(lane);
+        for (Iterator<Entry<T>> entries = queue.iterator(); entries.hasNext(); ) {
+          if (entries.next().element().equals(element)) {
+            entries.remove();
+            if (queue.isEmpty()) {
+              credits[lane] = 0;
+            }
+            count--;
+            notFull.signal();
+            return true;
+          }
+        }
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The element {@link #poll} would take next.
+   */
+  @Override
+  public T peek() {
+    lock.lock();
+    try {
+      if (count == 0) {
+        return null;
+      }
+      int lane = pickLane(credits.clone());
+      return lanes.get(lane).peekFirst().element();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> target) {
+    return drainTo(target, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public int drainTo(Collection<? super T> target, int maxElements) {
+    if (target == this) {
+      throw new IllegalArgumentException("Cannot drain a queue into itself");
+    }
+    lock.lock();
+    try {
+      int drained = 0;
+      while (drained < maxElements && count > 0) {
+        target.add(dequeue());
+        drained++;
+      }
+      return drained;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int size() {
+    lock.lock();
+    try {
+      return count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public int remainingCapacity() {
+    lock.lock();
+    try {
+      return capacity - count;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    lock.lock();
+    try {
+      List<T> snapshot = new ArrayList<>(count);
+      for (ArrayDeque<Entry<T>> lane : lanes) {
+        for (Entry<T> entry : lane) {
+          snapshot.add(entry.element());
+        }
+      }
+      return List.copyOf(snapshot).iterator();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int lane(T element) {
+    if (element == null) {
+      throw new NullPointerException("Lane queue does not accept null elements");
+    }
+    int lane = laneOf.applyAsInt(element);
+    if (lane < 0 || lane >= lanes.size()) {
+      throw new IllegalArgumentException("No lane " + lane + " for " + element);
+    }
+    return lane;
+  }
+
+  private void enqueue(int lane, T element) {
+    lanes.get(lane).addLast(new Entry<>(element, System.nanoTime()));
+    count++;
+    notEmpty.signal();
+  }
+
+  private T dequeue() {
+    int lane = pickLane(credits);
+    ArrayDeque<Entry<T>> queue = lanes.get(lane);
+    Entry<T> entry = queue.pollFirst();
+    if (queue.isEmpty()) {
+      credits[lane] = 0;
+    }
+    count--;
+    notFull.signal();
+    waitTimers[lane].record(System.nanoTime() - entry.enqueuedNanos(), TimeUnit.NANOSECONDS);
+    return entry.element();
+  }
+
+  /**
+   * Smooth weighted round robin: every non-empty lane earns its weight, the richest one (the
+   * earliest on a tie) is picked and pays back what was handed out in total.
+   */
+  private int pickLane(int[] credit) {
+    int picked = -1;
+    int total = 0;
+    for (int lane = 0; lane < lanes.size(); lane++) {
+      if (lanes.get(lane).isEmpty()) {
+        continue;
+      }
+      credit[lane] += weights[lane];
+      total += weights[lane];
+      if (picked < 0 || credit[lane] > credit[picked]) {
+        picked = lane;
+      }
+    }
+    credit[picked] -= total;
+    return picked;
+  }
+
+  private record Entry<T>(T element, long enqueuedNanos) {
+
+  }
+}
@@ -0,0 +1,138 @@
+package sg.com.gic.orderprocessingsystem.eventbus.priority;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.metrics.EventMetrics;
+
+/**
+ * Priority lanes for events that carry an order amount, configured by {@code event.priority.lanes}
+ * as comma-separated {@code name:min-amount:weight} entries.
+ *
+ * <p>An event joins the lane with the highest {@code min-amount} it reaches; events below every
+ * threshold, or without an amount, join the lowest lane. Workers take from the lanes by weight (see
+ * {@link LaneQueue}), so a backlog of small orders does not delay large ones while small orders
+ * still move at their lane's share.
+ *
+ * <p>Per subscriber and lane, {@code event.priority.lane.wait} records how long events waited and
+ * {@code event.priority.lane.depth} how many are waiting.
+ */
+@Component
+public class PriorityLanes {
+
+  private final boolean enabled;
+  private final List<Lane> lanes;
+  private final int workers;
+  private final int queueCapacity;
+  private final EventMetrics eventMetrics;
+  private final MeterRegistry meterRegistry;
+
+  public PriorityLanes(@Value("${event.priority.enabled:false}") boolean enabled,
+      @Value("${event.priority.lanes:high:1000:8,standard:100:3,low:0:1}") String lanes,
+      @Value("${event.priority.workers:4}") int workers,
+      @Value("${event.priority.queue-capacity:10000}") int queueCapacity,
+      EventMetrics eventMetrics, MeterRegistry meterRegistry) {
+    if (workers < 1 || queueCapacity < 1) {
+      throw new IllegalStateException("Invalid event.priority settings: workers=" + workers
+          + ", queue-capacity=" + queueCapacity);
+    }
+    this.enabled = enabled;
+    this.lanes = parse(lanes);
+    this.workers = workers;
+    this.queueCapacity = queueCapacity;
+    this.eventMetrics = eventMetrics;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Whether listeners should queue their events by priority instead of in arrival order.
+   */
+  public boolean enabled() {
+    return enabled;
+  }
+
+  /**
+   * Threads taking events from each subscriber's lanes.
+   */
+  public int workers() {
+    return workers;
+  }
+
+  /**
+   * A new set of lanes for {@code subscriber}, placing each event by the amount {@code amountOf}
+   * reads from it.
+   */
+  public <T> BlockingQueue<T> queue(String subscriber, Function<? super T, Double> amountOf) {
+    int[] weights = new int[lanes.size()];
+    Timer[] waitTimers = new Timer[lanes.size()];
+    for (int i = 0; i < lanes.size(); i++) {
+      weights[i] = lanes.get(i).weight();
+      waitTimers[i] = eventMetrics.laneWait(subscriber, lanes.get(i).name());
+    }
+    LaneQueue<T> queue = new LaneQueue<>(weights, waitTimers, queueCapacity,
+        event -> laneIndex(amountOf.apply(event)));
+    for (int i = 0; i < lanes.size(); i++) {
+      int lane = i;
+      Gauge.builder("event.priority.lane.depth", queue, q -> q.depth(lane))
+          .description("Events waiting in a priority lane")
+          .tag("subscriber", subscriber)
+          .tag("lane", lanes.get(i).name())
+          .register(meterRegistry);
+    }
+    return queue;
+  }
+
+  int laneIndex(Double amount) {
+    if (amount != null) {
+      for (int i = 0; i < lanes.size(); i++) {
+        if (amount >= lanes.get(i).minAmount()) {
+          return i;
+        }
+      }
+    }
+    return lanes.size() - 1;
+  }
+
+  /**
+   * Parses the lane list, highest threshold first.
+   */
+  static List<Lane> parse(String spec) {
+    List<Lane> parsed = new ArrayList<>();
+    Set<String> names = new HashSet<>();
+    for (String entry : spec.split(",")) {
+      String[] parts = entry.trim().split(":");
+      try {
+        if (parts.length != 3 || parts[0].isBlank()) {
+          throw new IllegalArgumentException("expected name:min-amount:weight");
+        }
+        Lane lane = new Lane(parts[0].trim(), Double.parseDouble(parts[1].trim()),
+            Integer.parseInt(parts[2].trim()));
+        if (lane.weight() < 1) {
+          throw new IllegalArgumentException("weight must be positive");
+        }
+        if (!names.add(lane.name())) {
+          throw new IllegalArgumentException("duplicate lane name");
+        }
+        parsed.add(lane);
+      } catch (IllegalArgumentException e) {
+        throw new IllegalStateException("Invalid event.priority.lanes entry '" + entry.trim()
+            + "': " + e.getMessage(), e);
+      }
+    }
+    parsed.sort(Comparator.comparingDouble(Lane::minAmount).reversed());
+    return List.copyOf(parsed);
+  }
+
+  record Lane(String name, double minAmount, int weight) {
+
+  }
+}
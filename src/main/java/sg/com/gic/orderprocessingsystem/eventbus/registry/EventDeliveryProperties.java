@@ -0,0 +1,18 @@
+package sg.com.gic.orderprocessingsystem.eventbus.registry;
+
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import sg.com.gic.orderprocessingsystem.eventbus.event.DeliveryPolicy;
+
+/**
+ * Delivery policy overrides bound from {@code event.delivery.*}, keyed by event type name (for
+ * example {@code event.delivery.types.PaymentSucceededEvent=in-memory}). They take precedence over
+ * the {@link sg.com.gic.orderprocessingsystem.eventbus.event.Delivery} annotation on the event.
+ */
+@ConfigurationProperties(prefix = "event.delivery")
+public record EventDeliveryProperties(Map<String, DeliveryPolicy> types) {
+
+  public EventDeliveryProperties {
+    types = types == null ? Map.of() : Map.copyOf(types);
+  }
+}
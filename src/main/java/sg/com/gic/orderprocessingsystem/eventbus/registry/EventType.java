@@ -0,0 +1,54 @@
+package sg.com.gic.orderprocessingsystem.eventbus.registry;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import sg.com.gic.orderprocessingsystem.eventbus.event.DeliveryPolicy;
+
+/**
+ * Everything the outbox needs to know about one event class, resolved once at startup.
+ *
+ * @param code               small integer stored in the outbox instead of the class name; must
+ *                           never be reused for a different event
+ * @param type               the event record class
+ * @param name               simple name of {@code type}, for logging
+ * @param schemaVersion      version of the payload layout written by this build
+ * @param delivery           whether the event is stored, and whether it is dispatched on publish
+ *                           or by the relay
+ * @param writer             Jackson writer bound to {@code type}
+ * @param reader             Jackson reader bound to {@code type}
+ */
+public record EventType<T>(
+    int code,
+    Class<T> type,
+    String name,
+    int schemaVersion,
+    DeliveryPolicy delivery,
+    ObjectWriter writer,
+    ObjectReader reader
+) {
+
+  /**
+   * Whether published events are written to the event store at all.
+   */
+  public boolean durable() {
+    return delivery.durable();
+  }
+
+  /**
+   * Whether the event is dispatched in-process on publish, so stored rows are a record only and
+   * are skipped by the relay.
+   */
+  public boolean deliveredOnPublish() {
+    return delivery != DeliveryPolicy.DURABLE;
+  }
+
+  /**
+   * Fails when a stored payload was written with a newer layout than this build understands.
+   */
+  public void checkSchemaVersion(int payloadSchemaVersion) {
+    if (payloadSchemaVersion > schemaVersion) {
+      throw new IllegalStateException("Payload of " + name + " has schema version "
+          + payloadSchemaVersion + ", newer than supported version " + schemaVersion);
+    }
+  }
+}
@@ -0,0 +1,423 @@
+package sg.com.gic.orderprocessingsystem.eventbus.relay;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventDispatcher;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderScopedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.metrics.EventMetrics;
+import sg.com.gic.orderprocessingsystem.eventbus.offset.ConsumerOffsets;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.DeadLetters;
+
+/**
+ * Background relay that delivers outbox rows in-process.
+ *
+ * <p>The log is divided into {@code outbox.relay.partitions} partitions by each row's partition
+ * key (the hash of its order id), and each partition is a consumer of the log named
+ * {@value #CONSUMER}{@code -<partition>} with its own offset. An instance only relays the
+ * partitions it holds a lease on ({@link RelayPartitionLeases}), so replicas sharing the database
+ * split the work instead of competing for one offset, and a partition moves to another instance
+ * with its offset when the leases are rebalanced.
+ *
+ * <p>Each pass locks the owned partitions' offsets with {@code FOR UPDATE SKIP LOCKED}. The relay
+ * also keeps a frontier, consumer {@value #CONSUMER}: one batch after it is read across all
+ * partitions, up to the first gap in ids, and the frontier moves to its end. A partition whose
+ * offset is at the frontier takes its rows from that batch; one that has fallen behind reads its
+ * own rows, filtered by partition key, between its offset and the frontier. Rows meant for relay
+ * delivery are dispatched through the {@link EventDispatcher} once that read has committed, so a
+ * dispatcher waiting for space holds neither the offsets' locks nor a connection, and then every
+ * partition's offset advances once, in a second transaction. If the instance stops in between, the
+ * partition's next owner dispatches those rows again; subscribers skip events they have already
+ * processed. Passes repeat while full batches come back, so a backlog left behind by a
+ * crash is drained at batch size per round trip. A row that cannot be decoded is dead-lettered and
+ * acknowledged with the batch. A row that cannot be dispatched stops its partition, whose offset
+ * stays just before it until a later pass dispatches it; the frontier and the other partitions
+ * move on without it, however many rows come after it. Ids the frontier reads past while they are
+ * still missing are looked up again on every pass, and a row that has since committed is relayed
+ * by its partition as soon as it appears.
+ *
+ * <p>The relay runs on its own thread. Between passes it waits for a {@link RelayWakeups} signal,
+ * which a publisher in the same JVM sends once a relay row has committed. It also stops waiting after
+ * {@code outbox.relay.poll-interval-ms}. Each pass that reads nothing doubles the wait, up to
+ * {@code outbox.relay.idle-poll-interval-ms}. Under load, events are relayed as soon as they
+ * commit. While idle, the database sees one query per idle interval. That poll still catches rows
+ * written by other instances, partitions taken over from them, and rows held back by a gap in ids.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class OutboxRelay implements SmartLifecycle {
+
+  /**
+   * Consumer name of the relay's frontier, and prefix of the per-partition consumer names the relay
+   * reads the outbox log under.
+   */
+  public static final String CONSUMER = "outbox-relay";
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+
+  private final ConsumerOffsets consumerOffsets;
+  private final EventDispatcher eventDispatcher;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final EventCodecs eventCodecs;
+  private final DeadLetters deadLetters;
+  private final RelayPartitionLeases leases;
+  private final EventMetrics eventMetrics;
+  private final RelayWakeups wakeups;
+  private final TransactionTemplate transactionTemplate;
+  private final int batchSize;
+  private final long pollIntervalMillis;
+  private final long idlePollIntervalMillis;
+  private volatile Thread thread;
+
+  public OutboxRelay(ConsumerOffsets consumerOffsets,
+      EventDispatcher eventDispatcher, EventTypeRegistry eventTypeRegistry,
+      EventCodecs eventCodecs, DeadLetters deadLetters, RelayPartitionLeases leases,
+      EventMetrics eventMetrics, RelayWakeups wakeups, TransactionTemplate transactionTemplate,
+      @Value("${outbox.relay.batch-size:100}") int batchSize,
+      @Value("${outbox.relay.poll-interval-ms:100}") long pollIntervalMillis,
+      @Value("${outbox.relay.idle-poll-interval-ms:5000}") long idlePollIntervalMillis) {
+    if (pollIntervalMillis < 1 || idlePollIntervalMillis < pollIntervalMillis) {
+      throw new IllegalStateException("outbox.relay.idle-poll-interval-ms (" + idlePollIntervalMillis
+          + ") must be at least outbox.relay.poll-interval-ms (" + pollIntervalMillis + "), which "
+          + "must be positive");
+    }
+    this.consumerOffsets = consumerOffsets;
+    this.eventDispatcher = eventDispatcher;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.eventCodecs = eventCodecs;
+    this.deadLetters = deadLetters;
+    this.leases = leases;
+    this.eventMetrics = eventMetrics;
+    this.wakeups = wakeups;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.pollIntervalMillis = pollIntervalMillis;
+    this.idlePollIntervalMillis = idlePollIntervalMillis;
+  }
+
+  public static String consumerFor(int partition) {
+    return CONSUMER + "-" + partition;
+  }
+
+  @PostConstruct
+  public void register() {
+    consumerOffsets.register(CONSUMER);
+    for (int partition = 0; partition < leases.partitions(); partition++) {
+      consumerOffsets.register(consumerFor(partition));
+    }
+  }
+
+  @Override
+  public synchronized void start() {
+    if (thread != null) {
+      return;
+    }
+    thread = new Thread(this::pollLoop, "outbox-relay");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Stops polling and waits up to five seconds for a pass in progress to finish.
+   */
+  @Override
+  public synchronized void stop() {
+    Thread running = thread;
+    if (running == null) {
+      return;
+    }
+    thread = null;
+    // Wake the loop rather than interrupt it, so a pass in progress commits or rolls back cleanly
+    wakeups.wake();
+    try {
+      running.join(5_000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return thread != null;
+  }
+
+  /**
+   * Relays batches while full ones come back, for the frontier or a partition that keeps up.
+   *
+   * @return whether any outbox rows were read, so the poll loop knows the relay is not idle
+   */
+  public boolean relayPending() {
+    boolean read = false;
+    Pass pass;
+    do {
+      pass = relayPass();
+      read |= pass.read() > 0;
+    } while (pass.more());
+    return read;
+  }
+
+  private void pollLoop() {
+    long wait = pollIntervalMillis;
+    boolean woken = true;
+    while (thread == Thread.currentThread()) {
+      boolean read = false;
+      try {
+        read = relayPending();
+      } catch (RuntimeException e) {
+        logger.error("Outbox relay pass failed", e);
+      }
+      // Back off only while passes keep finding nothing and nobody has signalled
+      wait = read || woken ? pollIntervalMillis : Math.min(wait * 2, idlePollIntervalMillis);
+      try {
+        woken = wakeups.await(wait);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reads one batch for the partitions this instance owns, dispatches each partition's rows and
+   * acknowledges them.
+   *
+   * @return the number of outbox rows read, or 0 when nothing was read or a partition stopped
+   *     early
+   */
+  public int relayBatch() {
+    Pass pass = relayPass();
+    return pass.stopped() ? 0 : pass.read();
+  }
+
+  private Pass relayPass() {
+    Set<Integer> owned = leases.ownedPartitions();
+    if (owned.isEmpty()) {
+      return Pass.NOTHING;
+    }
+    Read read = transactionTemplate.execute(status -> read(owned));
+    if (read == null) {
+      return Pass.NOTHING;
+    }
+
+    // Dispatch with the read committed, so a dispatcher waiting for space holds no locks
+    Set<Integer> blocked = new HashSet<>();
+    List<Long> settledSkipped = new ArrayList<>();
+    for (OutboxEventEntity eventEntity : read.skipped()) {
+      int partition = OrderScopedEvent.partition(eventEntity.getPartitionKey(), leases.partitions());
+      if (blocked.contains(partition)) {
+        continue;
+      }
+      if (dispatch(partition, eventEntity)) {
+        settledSkipped.add(eventEntity.getId());
+      } else {
+        blocked.add(partition);
+      }
+    }
+    boolean more = read.more();
+    boolean stopped = !blocked.isEmpty();
+    Map<Integer, Long> acknowledged = new TreeMap<>();
+    for (PartitionRows partitionRows : read.partitions()) {
+      int partition = partitionRows.partition();
+      if (blocked.contains(partition)) {
+        continue;
+      }
+      long readTo = partitionRows.readTo();
+      long relayed = relay(partition, partitionRows.position(), partitionRows.rows(), readTo);
+      if (relayed < readTo) {
+        stopped = true;
+      } else {
+        more |= readTo < read.settledTo();
+      }
+      if (relayed > partitionRows.position()) {
+        acknowledged.put(partition, relayed);
+      }
+    }
+    if (!settledSkipped.isEmpty() || !acknowledged.isEmpty()) {
+      transactionTemplate.executeWithoutResult(status -> {
+        consumerOffsets.settleSkipped(CONSUMER, settledSkipped);
+        acknowledged.forEach((partition, id) -> consumerOffsets.advance(consumerFor(partition), id));
+      });
+    }
+    logger.debug("Read {} outbox events for partitions {} up to id={}", read.read(),
+        read.partitions().stream().map(PartitionRows::partition).toList(), read.settledTo());
+    return new Pass(read.read(), more, stopped);
+  }
+
+  /**
+   * Claims the owned partitions' offsets, reads what each of them has to relay and moves the
+   * frontier past the batch it read.
+   *
+   * @return the rows to dispatch, or null when another relay holds every owned offset
+   */
+  private Read read(Set<Integer> owned) {
+    Map<Integer, Long> positions = new TreeMap<>();
+    for (int partition : owned) {
+      // A partition whose offset another transaction holds is still being relayed elsewhere,
+      // e.g. by its previous owner finishing a batch; it is skipped until that commits
+      consumerOffsets.claim(consumerFor(partition))
+          .ifPresent(position -> positions.put(partition, position));
+    }
+    if (positions.isEmpty()) {
+      return null;
+    }
+
+    // Only one relay moves the frontier at a time; the others let lagging partitions catch up
+    OptionalLong claimed = consumerOffsets.claim(CONSUMER);
+    long frontier = claimed.isPresent() ? claimed.getAsLong() : consumerOffsets.position(CONSUMER);
+    List<OutboxEventEntity> skipped = readSkipped(positions, frontier);
+    List<OutboxEventEntity> settled = claimed.isPresent()
+        ? consumerOffsets.readAfter(CONSUMER, frontier, batchSize)
+        : List.of();
+    long settledTo = settled.isEmpty() ? frontier : settled.get(settled.size() - 1).getId();
+
+    int read = settled.size();
+    List<PartitionRows> partitions = new ArrayList<>();
+    for (Map.Entry<Integer, Long> entry : positions.entrySet()) {
+      int partition = entry.getKey();
+      long position = entry.getValue();
+      List<OutboxEventEntity> rows = settled;
+      long readTo = settledTo;
+      if (position < frontier) {
+        // Behind the frontier, after a failure or a takeover: read this partition's rows only
+        rows = consumerOffsets.readPartition(position, settledTo, partition, leases.partitions(),
+            batchSize);
+        read += rows.size();
+        if (rows.size() == batchSize) {
+          readTo = rows.get(rows.size() - 1).getId();
+        }
+      }
+      partitions.add(new PartitionRows(partition, position, rows, readTo));
+    }
+    if (settledTo > frontier) {
+      consumerOffsets.advance(CONSUMER, settledTo);
+    }
+    return new Read(read, settled.size() == batchSize, settledTo, skipped, partitions);
+  }
+
+  /**
+   * Rows that committed after the frontier had read past their ids and that a partition in
+   * {@code positions} has to relay, in id order. The others are settled: rows not meant for relay
+   * delivery, and rows above their partition's offset, which the partition's own read covers.
+   */
+  private List<OutboxEventEntity> readSkipped(Map<Integer, Long> positions, long frontier) {
+    List<OutboxEventEntity> pending = new ArrayList<>();
+    List<Long> settled = new ArrayList<>();
+    for (OutboxEventEntity eventEntity : consumerOffsets.readSkipped(CONSUMER, frontier)) {
+      int partition = OrderScopedEvent.partition(eventEntity.getPartitionKey(), leases.partitions());
+      Long position = positions.get(partition);
+      if (!eventEntity.isRelayDelivery() || (position != null && eventEntity.getId() > position)) {
+        settled.add(eventEntity.getId());
+      } else if (position != null) {
+        pending.add(eventEntity);
+      }
+    }
+    consumerOffsets.settleSkipped(CONSUMER, settled);
+    return pending;
+  }
+
+  /**
+   * Dispatches the rows of {@code partition} after {@code position} in id order.
+   *
+   * @return the offset the partition can be acknowledged up to: {@code readTo}, or just before the
+   *     row that could not be dispatched
+   */
+  private long relay(int partition, long position, List<OutboxEventEntity> rows, long readTo) {
+    for (OutboxEventEntity eventEntity : rows) {
+      if (eventEntity.getId() > position && eventEntity.isRelayDelivery()
+          && OrderScopedEvent.partition(eventEntity.getPartitionKey(), leases.partitions()) == partition
+          && !dispatch(partition, eventEntity)) {
+        return eventEntity.getId() - 1;
+      }
+    }
+    return readTo;
+  }
+
+  /**
+   * Decodes and dispatches one row of {@code partition}.
+   *
+   * @return whether the row is done with, dispatched or dead-lettered; false when it has to be
+   *     retried, so the partition's later rows must wait
+   */
+  private boolean dispatch(int partition, OutboxEventEntity eventEntity) {
+    Object event = decodeOrDeadLetter(partition, eventEntity);
+    if (event == null) {
+      return true;
+    }
+    try {
+      eventDispatcher.dispatch(event);
+      eventMetrics.recordDispatch(eventEntity.getTypeCode(), eventEntity.getCreatedAt());
+      return true;
+    } catch (TaskRejectedException e) {
+      // A listener executor is full: stop this partition here and retry from this row next poll
+      logger.debug("Listener executor saturated, leaving partition {} pending from id={}",
+          partition, eventEntity.getId());
+      return false;
+    } catch (RuntimeException e) {
+      // Stop this partition so its later events are not delivered ahead of this one; the
+      // failed row is retried on the next pass
+      logger.error("Failed to relay outbox event: partition={}, typeCode={}, id={}", partition,
+          eventEntity.getTypeCode(), eventEntity.getId(), e);
+      return false;
+    }
+  }
+
+  /**
+   * Decodes the row, or dead-letters it and returns null when its type code, schema version or
+   * payload cannot be read; retrying would fail the same way.
+   */
+  private Object decodeOrDeadLetter(int partition, OutboxEventEntity eventEntity) {
+    try {
+      EventType<?> type = eventTypeRegistry.forCode(eventEntity.getTypeCode());
+      return eventCodecs.decode(type, eventEntity.getCodecId(), eventEntity.getSchemaVersion(),
+          eventEntity.getPayload());
+    } catch (IOException | RuntimeException e) {
+      deadLetters.record(consumerFor(partition), eventEntity, e);
+      return null;
+    }
+  }
+
+  /**
+   * Outcome of one pass: rows read, whether a full batch suggests more are waiting, and whether a
+   * partition stopped before the end of its rows.
+   */
+  private record Pass(int read, boolean more, boolean stopped) {
+
+    static final Pass NOTHING = new Pass(0, false, false);
+  }
+
+  /**
+   * What one pass read: the row count, whether the frontier read a full batch, where it stopped,
+   * the skipped rows to relay and each claimed partition's rows.
+   */
+  private record Read(int read, boolean more, long settledTo, List<OutboxEventEntity> skipped,
+      List<PartitionRows> partitions) {
+
+  }
+
+  /**
+   * Rows of the log for {@code partition}, whose offset was {@code position}, read up to
+   * {@code readTo}.
+   */
+  private record PartitionRows(int partition, long position, List<OutboxEventEntity> rows,
+      long readTo) {
+
+  }
+}
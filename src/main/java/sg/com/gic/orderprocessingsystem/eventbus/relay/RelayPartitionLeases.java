@@ -0,0 +1,152 @@
+package sg.com.gic.orderprocessingsystem.eventbus.relay;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.RelayLeaseRepository;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.RelayMemberRepository;
+import sg.com.gic.orderprocessingsystem.id.IdGenerator;
+
+/**
+ * Divides the outbox relay's {@code outbox.relay.partitions} partitions between the application
+ * instances sharing the database.
+ *
+ * <p>Every heartbeat the instance records itself in {@code outbox_relay_members}, lists the
+ * members seen within the lease duration in instance-id order, and claims the partitions whose
+ * number modulo the member count is its position in that list. Claiming is a conditional update
+ * of the partition's row in {@code outbox_relay_leases} that only succeeds while the lease is
+ * free, expired or already ours, and pushes its expiry {@code outbox.relay.lease.duration-ms}
+ * ahead. Partitions assigned to someone else are released, so when an instance joins, the others
+ * hand over its share on their next heartbeat. When an instance disappears it drops out of the
+ * member list and its leases expire, and the survivors take them over.
+ *
+ * <p>An instance that cannot renew its leases stops relaying once they expire, even if the
+ * database is unreachable. Expiry is compared against each instance's local clock, so clocks must
+ * agree to well within the lease duration; the relay also locks each partition's offset while
+ * it delivers a batch, so a brief overlap cannot deliver the same rows twice.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true")
+public class RelayPartitionLeases {
+
+  private static final Logger logger = LoggerFactory.getLogger(RelayPartitionLeases.class);
+
+  private final RelayLeaseRepository leaseRepository;
+  private final RelayMemberRepository memberRepository;
+  private final String instanceId;
+  private final int partitions;
+  private final Duration leaseDuration;
+  private final RelayWakeups wakeups;
+  private volatile Set<Integer> owned = Set.of();
+  private volatile LocalDateTime ownedUntil = LocalDateTime.MIN;
+
+  public RelayPartitionLeases(RelayLeaseRepository leaseRepository,
+      RelayMemberRepository memberRepository, IdGenerator idGenerator, RelayWakeups wakeups,
+      @Value("${outbox.relay.instance-id:}") String instanceId,
+      @Value("${outbox.relay.partitions:8}") int partitions,
+      @Value("${outbox.relay.lease.duration-ms:5000}") long leaseDurationMillis,
+      @Value("${outbox.relay.lease.heartbeat-ms:1000}") long heartbeatMillis) {
+    if (partitions < 1) {
+      throw new IllegalStateException("outbox.relay.partitions must be at least 1: " + partitions);
+    }
+    if (leaseDurationMillis < 2 * heartbeatMillis) {
+      throw new IllegalStateException("outbox.relay.lease.duration-ms (" + leaseDurationMillis
+          + ") must be at least twice outbox.relay.lease.heartbeat-ms (" + heartbeatMillis + ")");
+    }
+    this.leaseRepository = leaseRepository;
+    this.memberRepository = memberRepository;
+    this.instanceId = instanceId.isBlank() ? idGenerator.nextId() : instanceId;
+    this.partitions = partitions;
+    this.leaseDuration = Duration.ofMillis(leaseDurationMillis);
+    this.wakeups = wakeups;
+  }
+
+  @PostConstruct
+  public void start() {
+    for (int partition = 0; partition < partitions; partition++) {
+      leaseRepository.insertIfAbsent(partition);
+    }
+    heartbeat();
+  }
+
+  @Scheduled(fixedDelayString = "${outbox.relay.lease.heartbeat-ms:1000}")
+  public void heartbeat() {
+    LocalDateTime now = LocalDateTime.now();
+    memberRepository.heartbeat(instanceId, now);
+    memberRepository.deleteStale(now.minus(leaseDuration));
+    List<String> members = memberRepository.findLiveInstanceIds(now.minus(leaseDuration));
+    int position = members.indexOf(instanceId);
+    LocalDateTime expiresAt = now.plus(leaseDuration);
+
+    Set<Integer> previous = owned;
+    Set<Integer> assigned = new TreeSet<>();
+    if (position >= 0) {
+      for (int partition = position; partition < partitions; partition += members.size()) {
+        assigned.add(partition);
+      }
+    }
+    // Stop relaying a partition before handing it over, so its next owner starts where we stopped
+    TreeSet<Integer> kept = new TreeSet<>(previous);
+    kept.retainAll(assigned);
+    owned = Collections.unmodifiableSortedSet(kept);
+    for (int partition : previous) {
+      if (!assigned.contains(partition)) {
+        leaseRepository.release(partition, instanceId);
+      }
+    }
+    TreeSet<Integer> acquired = new TreeSet<>();
+    for (int partition : assigned) {
+      if (leaseRepository.acquire(partition, instanceId, now, expiresAt) == 1) {
+        acquired.add(partition);
+      }
+    }
+    owned = Collections.unmodifiableSortedSet(acquired);
+    ownedUntil = expiresAt;
+    if (!previous.containsAll(acquired)) {
+      // A partition taken over may hold a backlog; relay it now rather than on the next idle poll
+      wakeups.signal();
+    }
+    if (!acquired.equals(previous)) {
+      logger.info("Outbox relay partitions owned by {}: {} ({} members)", instanceId, acquired,
+          members.size());
+    }
+  }
+
+  @PreDestroy
+  public void stop() {
+    Set<Integer> released = owned;
+    owned = Set.of();
+    for (int partition : released) {
+      leaseRepository.release(partition, instanceId);
+    }
+    memberRepository.deleteById(instanceId);
+    logger.info("Outbox relay instance {} left, released partitions {}", instanceId, released);
+  }
+
+  /**
+   * Partitions this instance may relay right now; empty once the leases have run out without a
+   * successful renewal.
+   */
+  public Set<Integer> ownedPartitions() {
+    return LocalDateTime.now().isBefore(ownedUntil) ? owned : Set.of();
+  }
+
+  public int partitions() {
+    return partitions;
+  }
+
+  public String instanceId() {
+    return instanceId;
+  }
+}
@@ -0,0 +1,90 @@
+package sg.com.gic.orderprocessingsystem.eventbus.relay;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.stereotype.Component;
+
+/**
+ * Wakes the {@link OutboxRelay} when there is something for it to read, instead of
+ * leaving it to notice on its next poll.
+ *
+ * <p>Publishers signal once a row meant for the relay has committed. A signal that arrives while
+ * the relay is busy is remembered, so the relay runs another pass as soon as the current one ends
+ * rather than missing rows committed during it.
+ *
+ * <p>A signal wakes every relay in this JVM, since the row may belong to a partition leased by
+ * another application context sharing the database. It cannot reach other processes: a row whose
+ * partition another process leases waits for that process's poll, up to
+ * {@code outbox.relay.idle-poll-interval-ms} while its relay is idle.
+ */
+@Component
+public class RelayWakeups {
+
+  private static final Set<RelayWakeups> IN_JVM = new CopyOnWriteArraySet<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition signalled = lock.newCondition();
+  private boolean pending;
+
+  @PostConstruct
+  public void open() {
+    IN_JVM.add(this);
+  }
+
+  @PreDestroy
+  public void close() {
+    IN_JVM.remove(this);
+  }
+
+  /**
+   * Wakes the relays in this JVM, or makes their next wait return at once if they are not waiting.
+   */
+  public void signal() {
+    wake();
+    for (RelayWakeups wakeups : IN_JVM) {
+      if (wakeups != this) {
+        wakeups.wake();
+      }
+    }
+  }
+
+  /**
+   * Wakes only the relay of this application context.
+   */
+  void wake() {
+    lock.lock();
+    try {
+      pending = true;
+      signalled.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Waits up to {@code timeoutMillis} for a signal and consumes it.
+   *
+   * @return whether a signal arrived, as opposed to the wait timing out
+   */
+  boolean await(long timeoutMillis) throws InterruptedException {
+    long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    lock.lockInterruptibly();
+    try {
+      while (!pending) {
+        if (nanos <= 0) {
+          return false;
+        }
+        nanos = signalled.awaitNanos(nanos);
+      }
+      pending = false;
+      return true;
+    } finally {
+      lock.unlock();
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package sg.com.gic.orderprocessingsystem.eventbus.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.ConsumerGapEntity;
+
+@Repository
+public interface ConsumerGapRepository extends JpaRepository<ConsumerGapEntity, ConsumerGapEntity.Key> {
+
+  /**
+   * Records that {@code consumer} read past every id in {@code [fromId, toId]}, skipping those it
+   * already has, in one statement.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "MERGE INTO outbox_consumer_gaps g "
+      + "USING (SELECT CAST(:consumer AS VARCHAR(100)) AS consumer, r.X AS event_id "
+      + "FROM SYSTEM_RANGE(CAST(:fromId AS BIGINT), CAST(:toId AS BIGINT)) r) s "
+      + "ON g.consumer = s.consumer AND g.event_id = s.event_id "
+      + "WHEN NOT MATCHED THEN INSERT (consumer, event_id, skipped_at) "
+      + "VALUES (s.consumer, s.event_id, :now)", nativeQuery = true)
+  int insertRangeIfAbsent(@Param("consumer") String consumer, @Param("fromId") long fromId,
+      @Param("toId") long toId, @Param("now") LocalDateTime now);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM ConsumerGapEntity g WHERE g.consumer = :consumer AND g.eventId IN :eventIds")
+  int deleteByConsumerAndEventIdIn(@Param("consumer") String consumer,
+      @Param("eventIds") Collection<Long> eventIds);
+
+  /**
+   * Gives up on gaps skipped before {@code cutoff}: their ids were rolled back.
+   */
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM ConsumerGapEntity g WHERE g.skippedAt < :cutoff")
+  int deleteSkippedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+  /**
+   * The lowest open gap over consumers active since {@code activeSince}, or {@code null} when
+   * there is none.
+   */
+  @Query("SELECT MIN(g.eventId) FROM ConsumerGapEntity g WHERE g.consumer IN "
+      + "(SELECT o.consumer FROM ConsumerOffsetEntity o WHERE o.updatedAt >= :activeSince)")
+  Long findLowestGap(@Param("activeSince") LocalDateTime activeSince);
+}
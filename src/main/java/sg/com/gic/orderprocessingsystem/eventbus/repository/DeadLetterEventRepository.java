@@ -0,0 +1,12 @@
+package sg.com.gic.orderprocessingsystem.eventbus.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.DeadLetterEventEntity;
+
+@Repository
+public interface DeadLetterEventRepository extends JpaRepository<DeadLetterEventEntity, Long> {
+
+  List<DeadLetterEventEntity> findBySubscriber(String subscriber);
+}
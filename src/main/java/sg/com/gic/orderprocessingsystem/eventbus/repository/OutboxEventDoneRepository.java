@@ -0,0 +1,57 @@
+package sg.com.gic.orderprocessingsystem.eventbus.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventDoneEntity;
+
+@Repository
+public interface OutboxEventDoneRepository extends JpaRepository<OutboxEventDoneEntity, Long> {
+
+  /**
+   * Locks up to {@code limit} delivered rows of one type created before {@code cutoff}, skipping
+   * rows another retention run already holds.
+   */
+  @Query(value = "SELECT id FROM outbox_events_done WHERE type_code = :typeCode AND created_at < :cutoff "
+      + "ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<Long> claimOlderThan(@Param("typeCode") int typeCode, @Param("cutoff") LocalDateTime cutoff,
+      @Param("limit") int limit);
+
+  /**
+   * Locks up to {@code limit} delivered rows of one type with an id at or below {@code maxId}.
+   */
+  @Query(value = "SELECT id FROM outbox_events_done WHERE type_code = :typeCode AND id <= :maxId "
+      + "ORDER BY id FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<Long> claimUpTo(@Param("typeCode") int typeCode, @Param("maxId") long maxId,
+      @Param("limit") int limit);
+
+  /**
+   * Id of the newest row of one type that falls outside the {@code keep} most recent rows, or
+   * {@code null} when the type has no more than {@code keep} rows.
+   */
+  @Query(value = "SELECT id FROM outbox_events_done WHERE type_code = :typeCode "
+      + "ORDER BY id DESC OFFSET :keep ROWS FETCH FIRST 1 ROWS ONLY", nativeQuery = true)
+  Long findIdBeyondNewest(@Param("typeCode") int typeCode, @Param("keep") long keep);
+
+  /**
+   * Keyset page of rows in {@code (afterId, toId]} matching the type and creation-time filters.
+   */
+  @Query("SELECT e FROM OutboxEventDoneEntity e WHERE e.id > :afterId AND e.id <= :toId "
+      + "AND e.typeCode IN :typeCodes AND e.createdAt >= :from AND e.createdAt < :to ORDER BY e.id")
+  List<OutboxEventDoneEntity> findReplayPage(@Param("afterId") long afterId, @Param("toId") long toId,
+      @Param("typeCodes") Collection<Integer> typeCodes, @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to, Limit limit);
+
+  @Query("SELECT MAX(e.id) FROM OutboxEventDoneEntity e")
+  Long findMaxId();
+
+  @Modifying
+  @Query("DELETE FROM OutboxEventDoneEntity e WHERE e.id IN :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,12 +1,102 @@
 package sg.com.gic.orderprocessingsystem.eventbus.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
 
 @Repository
 public interface OutboxEventRepository extends JpaRepository<OutboxEventEntity,Long> {
-  List<OutboxEventEntity> findByEventTypeAndProcessedFalse(String eventType);
+  /**
+   * Keyset page of the log after {@code lastId}, in id order. Served by the primary key, so the
+   * cost of a read follows the page size rather than the size of the table.
+   */
+  List<OutboxEventEntity> findByIdGreaterThanOrderByIdAsc(Long lastId, Limit limit);
 
+  /**
+   * Rows that have appeared since {@code consumer} read past their ids, at or below {@code upTo}.
+   */
+  @Query("SELECT e FROM OutboxEventEntity e WHERE e.id IN (SELECT g.eventId FROM ConsumerGapEntity g "
+      + "WHERE g.consumer = :consumer AND g.eventId <= :upTo) ORDER BY e.id")
+  List<OutboxEventEntity> findGapRows(@Param("consumer") String consumer, @Param("upTo") long upTo);
+
+  /**
+   * Keyset page of relay rows in {@code (afterId, toId]} whose partition key falls in
+   * {@code partition}, matching {@code Math.floorMod(partitionKey, partitions)}: SQL {@code MOD}
+   * keeps the sign of a negative key, which lands it {@code partitions} below.
+   */
+  @Query("SELECT e FROM OutboxEventEntity e WHERE e.id > :afterId AND e.id <= :toId "
+      + "AND e.relayDelivery = true AND (MOD(e.partitionKey, :partitions) = :partition "
+      + "OR MOD(e.partitionKey, :partitions) = :partition - :partitions) ORDER BY e.id")
+  List<OutboxEventEntity> findPartitionPage(@Param("afterId") long afterId, @Param("toId") long toId,
+      @Param("partition") int partition, @Param("partitions") int partitions, Limit limit);
+
+  /**
+   * Keyset page of rows in {@code (afterId, toId]} matching the type and creation-time filters.
+   */
+  @Query("SELECT e FROM OutboxEventEntity e WHERE e.id > :afterId AND e.id <= :toId "
+      + "AND e.typeCode IN :typeCodes AND e.createdAt >= :from AND e.createdAt < :to ORDER BY e.id")
+  List<OutboxEventEntity> findReplayPage(@Param("afterId") long afterId, @Param("toId") long toId,
+      @Param("typeCodes") Collection<Integer> typeCodes, @Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to, Limit limit);
+
+  @Query("SELECT MAX(e.id) FROM OutboxEventEntity e")
+  Long findMaxId();
+
+  /**
+   * Number of rows above {@code afterId} per event type, and when the oldest of them was created.
+   */
+  @Query("SELECT e.typeCode AS typeCode, COUNT(e) AS pending, MIN(e.createdAt) AS oldestCreatedAt "
+      + "FROM OutboxEventEntity e WHERE e.id > :afterId GROUP BY e.typeCode")
+  List<PendingByType> countPendingByType(@Param("afterId") long afterId);
+
+  /**
+   * Appends a copy of an event that was dispatched on publish but rejected, for the relay to
+   * deliver. Runs in its own transaction because it may be called from an after-commit callback,
+   * where the caller's transaction has already completed.
+   */
+  @Transactional(propagation = Propagation.REQUIRES_NEW)
+  default OutboxEventEntity requeue(OutboxEventEntity rejected) {
+    OutboxEventEntity copy = new OutboxEventEntity(rejected.getTypeCode(), rejected.getSchemaVersion(),
+        rejected.getCodecId(), rejected.getPayload(), rejected.getCreatedAt());
+    copy.setRelayDelivery(true);
+    copy.setPartitionKey(rejected.getPartitionKey());
+    return save(copy);
+  }
+
+  /**
+   * Locks up to {@code limit} rows at or below {@code maxId}, skipping rows another mover holds.
+   */
+  @Query(value = "SELECT id FROM outbox_events WHERE id <= :maxId ORDER BY id "
+      + "FETCH FIRST :limit ROWS ONLY FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<Long> claimIdsUpTo(@Param("maxId") long maxId, @Param("limit") int limit);
+
+  @Modifying
+  @Query(value = "INSERT INTO outbox_events_done "
+      + "(id, type_code, schema_version, codec_id, payload, created_at, done_at) "
+      + "SELECT id, type_code, schema_version, codec_id, payload, created_at, LOCALTIMESTAMP "
+      + "FROM outbox_events "
+      + "WHERE id IN (:ids)", nativeQuery = true)
+  int copyToDone(@Param("ids") Collection<Long> ids);
+
+  @Modifying
+  @Query("DELETE FROM OutboxEventEntity e WHERE e.id IN :ids")
+  int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+  interface PendingByType {
+
+    int getTypeCode();
+
+    long getPending();
+
+    LocalDateTime getOldestCreatedAt();
+  }
 }
@@ -0,0 +1,35 @@
+package sg.com.gic.orderprocessingsystem.eventbus.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.PendingRetryEntity;
+
+@Repository
+public interface PendingRetryRepository extends JpaRepository<PendingRetryEntity, Long> {
+
+  /**
+   * Records the outcome of another failed attempt and when the next one is due.
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE PendingRetryEntity r SET r.attempts = :attempts, r.error = :error, "
+      + "r.nextAttemptAt = :nextAttemptAt WHERE r.id = :id")
+  int reschedule(@Param("id") long id, @Param("attempts") int attempts,
+      @Param("error") String error, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+  /**
+   * Locks up to {@code limit} of the subscriber's retries that were due before {@code dueBefore},
+   * skipping rows another instance is already claiming.
+   */
+  @Query(value = "SELECT * FROM pending_retries WHERE subscriber = :subscriber "
+      + "AND next_attempt_at < :dueBefore ORDER BY id FETCH FIRST :limit ROWS ONLY "
+      + "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+  List<PendingRetryEntity> claimDueBefore(@Param("subscriber") String subscriber,
+      @Param("dueBefore") LocalDateTime dueBefore, @Param("limit") int limit);
+}
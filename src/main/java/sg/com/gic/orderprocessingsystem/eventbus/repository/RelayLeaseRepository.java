@@ -0,0 +1,48 @@
+package sg.com.gic.orderprocessingsystem.eventbus.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.RelayLeaseEntity;
+
+@Repository
+public interface RelayLeaseRepository extends JpaRepository<RelayLeaseEntity, Integer> {
+
+  /**
+   * Creates the partition's lease row, unowned, unless it already exists.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "MERGE INTO outbox_relay_leases l "
+      + "USING (VALUES (CAST(:partitionId AS INT))) s(partition_id) ON l.partition_id = s.partition_id "
+      + "WHEN NOT MATCHED THEN INSERT (partition_id, owner, expires_at) "
+      + "VALUES (s.partition_id, NULL, NULL)", nativeQuery = true)
+  int insertIfAbsent(@Param("partitionId") int partitionId);
+
+  /**
+   * Takes or renews the lease when it is free, expired or already held by {@code owner}; a
+   * single conditional update, so two instances can never both succeed.
+   *
+   * @return 1 when {@code owner} holds the lease until {@code expiresAt}, otherwise 0
+   */
+  @Transactional
+  @Modifying
+  @Query("UPDATE RelayLeaseEntity l SET l.owner = :owner, l.expiresAt = :expiresAt "
+      + "WHERE l.partitionId = :partitionId "
+      + "AND (l.owner IS NULL OR l.owner = :owner OR l.expiresAt < :now)")
+  int acquire(@Param("partitionId") int partitionId, @Param("owner") String owner,
+      @Param("now") LocalDateTime now, @Param("expiresAt") LocalDateTime expiresAt);
+
+  @Transactional
+  @Modifying
+  @Query("UPDATE RelayLeaseEntity l SET l.owner = NULL, l.expiresAt = NULL "
+      + "WHERE l.partitionId = :partitionId AND l.owner = :owner")
+  int release(@Param("partitionId") int partitionId, @Param("owner") String owner);
+
+  List<RelayLeaseEntity> findByOwnerOrderByPartitionId(String owner);
+}
@@ -0,0 +1,41 @@
+package sg.com.gic.orderprocessingsystem.eventbus.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.RelayMemberEntity;
+
+@Repository
+public interface RelayMemberRepository extends JpaRepository<RelayMemberEntity, String> {
+
+  /**
+   * Records a heartbeat for the instance, adding it as a member on its first one.
+   */
+  @Transactional
+  @Modifying
+  @Query(value = "MERGE INTO outbox_relay_members m "
+      + "USING (VALUES (CAST(:instanceId AS VARCHAR(100)), CAST(:now AS TIMESTAMP))) "
+      + "s(instance_id, heartbeat_at) ON m.instance_id = s.instance_id "
+      + "WHEN MATCHED THEN UPDATE SET m.heartbeat_at = s.heartbeat_at "
+      + "WHEN NOT MATCHED THEN INSERT (instance_id, heartbeat_at) "
+      + "VALUES (s.instance_id, s.heartbeat_at)", nativeQuery = true)
+  int heartbeat(@Param("instanceId") String instanceId, @Param("now") LocalDateTime now);
+
+  /**
+   * Ids of the members that sent a heartbeat after {@code since}, in a fixed order every instance
+   * agrees on.
+   */
+  @Query("SELECT m.instanceId FROM RelayMemberEntity m WHERE m.heartbeatAt > :since "
+      + "ORDER BY m.instanceId")
+  List<String> findLiveInstanceIds(@Param("since") LocalDateTime since);
+
+  @Transactional
+  @Modifying
+  @Query("DELETE FROM RelayMemberEntity m WHERE m.heartbeatAt < :before")
+  int deleteStale(@Param("before") LocalDateTime before);
+}
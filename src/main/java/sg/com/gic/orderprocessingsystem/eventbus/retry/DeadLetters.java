@@ -0,0 +1,104 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs.EncodedPayload;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.DeadLetterEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.event.IdentifiedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.log.LogRecord;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.DeadLetterEventRepository;
+
+/**
+ * Parks events a subscriber cannot handle in {@code dead_letter_events}, so they stop blocking the
+ * events behind them. Each one is counted in {@code event.dead.letters}, tagged by subscriber.
+ */
+@Component
+public class DeadLetters {
+
+  private static final Logger logger = LoggerFactory.getLogger(DeadLetters.class);
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final DeadLetterEventRepository repository;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final EventCodecs eventCodecs;
+  private final MeterRegistry meterRegistry;
+
+  public DeadLetters(DeadLetterEventRepository repository, EventTypeRegistry eventTypeRegistry,
+      EventCodecs eventCodecs, MeterRegistry meterRegistry) {
+    this.repository = repository;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.eventCodecs = eventCodecs;
+    this.meterRegistry = meterRegistry;
+  }
+
+  /**
+   * Dead-letters a decoded event whose handler failed on every attempt.
+   */
+  public void record(String subscriber, Object event, int attempts, Throwable error) {
+    EventType<?> type = eventTypeRegistry.forEvent(event);
+    EncodedPayload payload;
+    try {
+      payload = eventCodecs.encode(type, event);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize dead-lettered event", e);
+    }
+    String eventId = event instanceof IdentifiedEvent identified ? identified.eventId() : null;
+    save(new DeadLetterEventEntity(subscriber, eventId, null, type.code(), type.schemaVersion(),
+        payload.codecId(), payload.bytes(), attempts, message(error), LocalDateTime.now()));
+  }
+
+  /**
+   * Dead-letters an outbox row that could not be turned into an event at all, such as a corrupt
+   * payload or an unknown type code. Retrying would fail the same way, so there are no retries.
+   */
+  public void record(String subscriber, OutboxEventEntity row, Throwable error) {
+    recordUndecodable(subscriber, row.getId(), row.getTypeCode(), row.getSchemaVersion(),
+        row.getCodecId(), row.getPayload(), error);
+  }
+
+  /**
+   * Dead-letters an event-log record that could not be decoded. A log offset is not an outbox id,
+   * so {@code outbox_id} stays empty.
+   */
+  public void record(String subscriber, LogRecord record, Throwable error) {
+    recordUndecodable(subscriber, null, record.typeCode(), record.schemaVersion(),
+        record.codecId(), record.payload(), error);
+  }
+
+  /**
+   * Dead-letters an encoded event from any source that could not be decoded; {@code outboxId} is
+   * null when it did not come from the outbox.
+   */
+  public void recordUndecodable(String subscriber, Long outboxId, int typeCode, int schemaVersion,
+      int codecId, byte[] payload, Throwable error) {
+    save(new DeadLetterEventEntity(subscriber, null, outboxId, typeCode, schemaVersion, codecId,
+        payload, 1, message(error), LocalDateTime.now()));
+  }
+
+  private void save(DeadLetterEventEntity deadLetter) {
+    repository.save(deadLetter);
+    Counter.builder("event.dead.letters")
+        .description("Events moved to the dead-letter table")
+        .tag("subscriber", deadLetter.getSubscriber())
+        .register(meterRegistry)
+        .increment();
+    logger.error("Event dead-lettered: subscriber={}, typeCode={}, eventId={}, outboxId={}, "
+            + "attempts={}, error={}", deadLetter.getSubscriber(), deadLetter.getTypeCode(),
+        deadLetter.getEventId(), deadLetter.getOutboxId(), deadLetter.getAttempts(),
+        deadLetter.getError());
+  }
+
+  static String message(Throwable error) {
+    String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+    return message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message;
+  }
+}
@@ -0,0 +1,103 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs.EncodedPayload;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.PendingRetryEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.event.IdentifiedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.PendingRetryRepository;
+
+/**
+ * Keeps the retries {@link RetryScheduler} has scheduled in {@code pending_retries}, so a retry
+ * still waiting at a crash or restart is not lost with the in-memory schedule. A row is written at
+ * the first failure, moved on at every further one and deleted once the event is handled or
+ * dead-lettered. A row left well past its {@code next_attempt_at} belongs to an instance that
+ * stopped; {@link #claimOverdue} hands it to another.
+ */
+@Component
+public class PendingRetries {
+
+  /**
+   * A retry claimed from the table: the decoded event and the attempts already made.
+   */
+  public record Claimed(long id, Object event, int attempts) {
+
+  }
+
+  private final PendingRetryRepository repository;
+  private final EventTypeRegistry eventTypeRegistry;
+  private final EventCodecs eventCodecs;
+  private final DeadLetters deadLetters;
+  private final TransactionTemplate transactionTemplate;
+
+  public PendingRetries(PendingRetryRepository repository, EventTypeRegistry eventTypeRegistry,
+      EventCodecs eventCodecs, DeadLetters deadLetters, TransactionTemplate transactionTemplate) {
+    this.repository = repository;
+    this.eventTypeRegistry = eventTypeRegistry;
+    this.eventCodecs = eventCodecs;
+    this.deadLetters = deadLetters;
+    this.transactionTemplate = transactionTemplate;
+  }
+
+  /**
+   * Stores a retry of {@code event} for {@code subscriber}, due at {@code nextAttemptAt}.
+   *
+   * @return the id to {@link #reschedule} or {@link #remove} it by
+   */
+  public long park(String subscriber, Object event, int attempts, Throwable error,
+      LocalDateTime nextAttemptAt) {
+    EventType<?> type = eventTypeRegistry.forEvent(event);
+    EncodedPayload payload;
+    try {
+      payload = eventCodecs.encode(type, event);
+    } catch (IOException e) {
+      throw new RuntimeException("Failed to serialize pending retry", e);
+    }
+    String eventId = event instanceof IdentifiedEvent identified ? identified.eventId() : null;
+    return repository.save(new PendingRetryEntity(subscriber, eventId, type.code(),
+        type.schemaVersion(), payload.codecId(), payload.bytes(), attempts,
+        DeadLetters.message(error), nextAttemptAt)).getId();
+  }
+
+  public void reschedule(long id, int attempts, Throwable error, LocalDateTime nextAttemptAt) {
+    repository.reschedule(id, attempts, DeadLetters.message(error), nextAttemptAt);
+  }
+
+  public void remove(long id) {
+    repository.deleteById(id);
+  }
+
+  /**
+   * Claims up to {@code limit} of the subscriber's retries that were due before
+   * {@code overdueBefore}, and marks them due at {@code now} so no other instance claims them
+   * again until they are overdue once more. A row that can no longer be decoded is dead-lettered
+   * and removed instead.
+   */
+  public List<Claimed> claimOverdue(String subscriber, LocalDateTime overdueBefore,
+      LocalDateTime now, int limit) {
+    List<Claimed> claimed = new ArrayList<>();
+    transactionTemplate.executeWithoutResult(status -> {
+      for (PendingRetryEntity row : repository.claimDueBefore(subscriber, overdueBefore, limit)) {
+        try {
+          EventType<?> type = eventTypeRegistry.forCode(row.getTypeCode());
+          Object event = eventCodecs.decode(type, row.getCodecId(), row.getSchemaVersion(),
+              row.getPayload());
+          row.setNextAttemptAt(now);
+          claimed.add(new Claimed(row.getId(), event, row.getAttempts()));
+        } catch (IOException | RuntimeException e) {
+          deadLetters.recordUndecodable(subscriber, null, row.getTypeCode(),
+              row.getSchemaVersion(), row.getCodecId(), row.getPayload(), e);
+          repository.delete(row);
+        }
+      }
+    });
+    return claimed;
+  }
+}
@@ -0,0 +1,345 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import sg.com.gic.orderprocessingsystem.config.ListenerExecutorConfig;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry.Handler;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.PendingRetries.Claimed;
+
+/**
+ * Runs event handlers and retries the ones that fail, with exponential backoff, until they succeed
+ * or run out of attempts and are dead-lettered through {@link DeadLetters}.
+ *
+ * <p>The first attempt runs on the caller's thread. A failed event is parked in a
+ * {@link TimingWheel} until its backoff has passed, then handed to the retry executor; nothing
+ * holds a thread while it waits, and one ticker thread serves every pending retry. The backoff
+ * for attempt {@code n} is {@code initial-backoff-ms * 2^(n-1)}, capped at
+ * {@code max-backoff-ms}, with up to half of it taken off at random so events that failed
+ * together do not all retry together. Pending retries are exposed as {@code event.retry.pending}.
+ *
+ * <p>Every scheduled retry is also kept in {@link PendingRetries}, so one still waiting at a crash
+ * or restart is not lost. A retry left more than {@code recovery-grace-ms} past its due time was
+ * scheduled by an instance that stopped. {@link #recoverOverdue} claims these for the handlers
+ * listeners registered with {@link #recoverWith}, and {@link #recover} claims them for a
+ * {@code subscribe} call's handler. Either way the event continues with the attempts it already
+ * had.
+ */
+@Component
+public class RetryScheduler {
+
+  private static final Logger logger = LoggerFactory.getLogger(RetryScheduler.class);
+
+  private static final int RECOVERY_BATCH = 100;
+
+  private record Retry<T>(String subscriber, T event, Consumer<? super T> handler, int attempt,
+                          Long parkedId) {
+
+    Retry<T> next() {
+      return new Retry<>(subscriber, event, handler, attempt + 1, parkedId);
+    }
+
+    Retry<T> parkedAs(long id) {
+      return new Retry<>(subscriber, event, handler, attempt, id);
+    }
+  }
+
+  private final DeadLetters deadLetters;
+  private final PendingRetries pendingRetries;
+  private final Executor retryExecutor;
+  private final int maxAttempts;
+  private final long initialBackoffNanos;
+  private final long maxBackoffNanos;
+  private final Duration recoveryGrace;
+  private final LongSupplier nanoClock;
+  private final TimingWheel<Retry<?>> wheel;
+  private final Map<String, List<Handler<?>>> recoveryHandlers = new ConcurrentHashMap<>();
+  private volatile Thread ticker;
+
+  @Autowired
+  public RetryScheduler(DeadLetters deadLetters, PendingRetries pendingRetries,
+      @Qualifier(ListenerExecutorConfig.RETRY_EXECUTOR) Executor retryExecutor,
+      MeterRegistry meterRegistry,
+      @Value("${event.retry.max-attempts:5}") int maxAttempts,
+      @Value("${event.retry.initial-backoff-ms:500}") long initialBackoffMillis,
+      @Value("${event.retry.max-backoff-ms:60000}") long maxBackoffMillis,
+      @Value("${event.retry.tick-ms:100}") long tickMillis,
+      @Value("${event.retry.wheel-size:512}") int wheelSize,
+      @Value("${event.retry.recovery-grace-ms:60000}") long recoveryGraceMillis) {
+    this(deadLetters, pendingRetries, retryExecutor, maxAttempts, initialBackoffMillis,
+        maxBackoffMillis, tickMillis, wheelSize, recoveryGraceMillis, System::nanoTime);
+    Gauge.builder("event.retry.pending", wheel, TimingWheel::pending)
+        .description("Failed event deliveries waiting for their next attempt")
+        .register(meterRegistry);
+  }
+
+  RetryScheduler(DeadLetters deadLetters, PendingRetries pendingRetries, Executor retryExecutor,
+      int maxAttempts, long initialBackoffMillis, long maxBackoffMillis, long tickMillis,
+      int wheelSize, long recoveryGraceMillis, LongSupplier nanoClock) {
+    if (maxAttempts < 1 || initialBackoffMillis <= 0 || maxBackoffMillis < initialBackoffMillis
+        || recoveryGraceMillis <= 0) {
+      throw new IllegalStateException("Invalid event.retry settings: max-attempts=" + maxAttempts
+          + ", initial-backoff-ms=" + initialBackoffMillis + ", max-backoff-ms=" + maxBackoffMillis
+          + ", recovery-grace-ms=" + recoveryGraceMillis);
+    }
+    this.deadLetters = deadLetters;
+    this.pendingRetries = pendingRetries;
+    this.retryExecutor = retryExecutor;
+    this.maxAttempts = maxAttempts;
+    this.initialBackoffNanos = TimeUnit.MILLISECONDS.toNanos(initialBackoffMillis);
+    this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(maxBackoffMillis);
+    this.recoveryGrace = Duration.ofMillis(recoveryGraceMillis);
+    this.nanoClock = nanoClock;
+    this.wheel = new TimingWheel<>(TimeUnit.MILLISECONDS.toNanos(tickMillis), wheelSize,
+        nanoClock.getAsLong());
+  }
+
+  @PostConstruct
+  public void start() {
+    Thread thread = new Thread(this::runTicker, "event-retry-ticker");
+    thread.setDaemon(true);
+    ticker = thread;
+    thread.start();
+  }
+
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    Thread thread = ticker;
+    ticker = null;
+    if (thread != null) {
+      thread.interrupt();
+      thread.join(TimeUnit.NANOSECONDS.toMillis(wheel.tickNanos()) + 1_000);
+    }
+    long pending = wheel.pending();
+    if (pending > 0) {
+      logger.warn("Stopping with {} event retries still pending; they are recovered from "
+          + "pending_retries once overdue", pending);
+    }
+  }
+
+  /**
+   * Handles {@code event} on the calling thread. If the handler throws, the exception is not
+   * propagated: the event is scheduled for another attempt, or dead-lettered under
+   * {@code subscriber} when {@code event.retry.max-attempts} is 1.
+   */
+  public <T> void execute(String subscriber, T event, Consumer<? super T> handler) {
+    attempt(new Retry<>(subscriber, event, handler, 1, null));
+  }
+
+  /**
+   * Handles {@code events} as one batch on the calling thread. If the handler throws, the batch is
+   * split and each event continues on its own, as a batch of one, through the usual retries and
+   * dead-lettering; one bad event then costs its own retries rather than the whole batch's.
+   */
+  public <T> void executeBatch(String subscriber, List<T> events,
+      Consumer<? super List<T>> handler) {
+    if (events.isEmpty()) {
+      return;
+    }
+    try {
+      handler.accept(events);
+      return;
+    } catch (RuntimeException e) {
+      if (events.size() == 1) {
+        failed(new Retry<T>(subscriber, events.get(0), event -> handler.accept(List.of(event)), 1,
+            null), e);
+        return;
+      }
+      logger.warn("Event batch handler failed, handling its {} events one by one: subscriber={}",
+          events.size(), subscriber, e);
+    }
+    for (T event : events) {
+      execute(subscriber, event, single -> handler.accept(List.of(single)));
+    }
+  }
+
+  /**
+   * Registers {@code handler} to take over {@code subscriber}'s retries of {@code eventType} that
+   * another instance left behind; see {@link #recoverOverdue}.
+   */
+  public <T> void recoverWith(String subscriber, Class<T> eventType, Consumer<? super T> handler) {
+    recoveryHandlers.computeIfAbsent(subscriber, s -> new CopyOnWriteArrayList<>())
+        .add(new Handler<>(eventType, handler));
+  }
+
+  /**
+   * Claims the overdue retries of every subscriber registered through {@link #recoverWith} and
+   * schedules them to run now.
+   */
+  @Scheduled(fixedDelayString = "${event.retry.recovery-interval-ms:30000}")
+  public void recoverOverdue() {
+    recoveryHandlers.forEach((subscriber, handlers) -> {
+      for (Retry<?> retry : claimOverdue(subscriber, handlers)) {
+        wheel.schedule(retry, nanoClock.getAsLong());
+      }
+    });
+  }
+
+  /**
+   * Claims {@code subscriber}'s overdue retries of {@code eventType} and runs them on the calling
+   * thread with {@code handler}, for a consumer such as {@code subscribe} that registers no
+   * handler of its own.
+   */
+  public <T> void recover(String subscriber, Class<T> eventType, Consumer<? super T> handler) {
+    List<Handler<?>> handlers = List.of(new Handler<>(eventType, handler));
+    List<Retry<Object>> retries;
+    do {
+      retries = claimOverdue(subscriber, handlers);
+      retries.forEach(this::attempt);
+    } while (retries.size() == RECOVERY_BATCH);
+  }
+
+  /**
+   * Failed deliveries waiting for their next attempt.
+   */
+  public long pending() {
+    return wheel.pending();
+  }
+
+  /**
+   * Runs the retries that are due. Called by the ticker thread, or directly by tests.
+   */
+  void tick() {
+    wheel.advanceTo(nanoClock.getAsLong(), this::submit);
+  }
+
+  /**
+   * Backoff before attempt {@code attempt + 1}, between half and all of the capped exponential
+   * delay.
+   */
+  long backoffNanos(int attempt) {
+    int doublings = Math.min(attempt - 1, 62);
+    long backoff = initialBackoffNanos > maxBackoffNanos >> doublings
+        ? maxBackoffNanos
+        : initialBackoffNanos << doublings;
+    long half = backoff / 2;
+    return backoff - half + ThreadLocalRandom.current().nextLong(half + 1);
+  }
+
+  private <T> void attempt(Retry<T> retry) {
+    try {
+      retry.handler().accept(retry.event());
+      if (retry.attempt() > 1) {
+        logger.info("Event handled on retry: subscriber={}, attempt={}, event={}",
+            retry.subscriber(), retry.attempt(), retry.event());
+      }
+    } catch (RuntimeException e) {
+      failed(retry, e);
+      return;
+    }
+    if (retry.parkedId() != null) {
+      pendingRetries.remove(retry.parkedId());
+    }
+  }
+
+  private <T> void failed(Retry<T> retry, RuntimeException e) {
+    if (retry.attempt() >= maxAttempts) {
+      deadLetters.record(retry.subscriber(), retry.event(), retry.attempt(), e);
+      if (retry.parkedId() != null) {
+        pendingRetries.remove(retry.parkedId());
+      }
+      return;
+    }
+    long backoff = backoffNanos(retry.attempt());
+    logger.warn("Event handler failed, retrying in {} ms: subscriber={}, attempt={}, event={}",
+        TimeUnit.NANOSECONDS.toMillis(backoff), retry.subscriber(), retry.attempt(),
+        retry.event(), e);
+    wheel.schedule(park(retry, e, backoff).next(), nanoClock.getAsLong() + backoff);
+  }
+
+  /**
+   * Stores or moves on the retry's row in {@link PendingRetries}. Should the database be
+   * unavailable, the retry still runs from memory; only its crash safety is lost.
+   */
+  private <T> Retry<T> park(Retry<T> retry, RuntimeException error, long backoffNanos) {
+    LocalDateTime nextAttemptAt = LocalDateTime.now().plusNanos(backoffNanos);
+    try {
+      if (retry.parkedId() == null) {
+        return retry.parkedAs(pendingRetries.park(retry.subscriber(), retry.event(),
+            retry.attempt(), error, nextAttemptAt));
+      }
+      pendingRetries.reschedule(retry.parkedId(), retry.attempt(), error, nextAttemptAt);
+    } catch (RuntimeException e) {
+      logger.error("Failed to store pending retry, keeping it in memory only: subscriber={}, "
+          + "event={}", retry.subscriber(), retry.event(), e);
+    }
+    return retry;
+  }
+
+  private List<Retry<Object>> claimOverdue(String subscriber, List<Handler<?>> handlers) {
+    LocalDateTime now = LocalDateTime.now();
+    List<Retry<Object>> retries = new ArrayList<>();
+    for (Claimed claimed : pendingRetries.claimOverdue(subscriber, now.minus(recoveryGrace), now,
+        RECOVERY_BATCH)) {
+      Handler<?> handler = handlers.stream()
+          .filter(candidate -> candidate.accepts(claimed.event()))
+          .findFirst()
+          .orElse(null);
+      if (handler == null) {
+        logger.warn("No handler to recover pending retry: subscriber={}, event={}", subscriber,
+            claimed.event());
+        continue;
+      }
+      logger.info("Recovered pending retry: subscriber={}, attempts={}, event={}", subscriber,
+          claimed.attempts(), claimed.event());
+      retries.add(new Retry<>(subscriber, claimed.event(), handler::handle,
+          claimed.attempts() + 1, claimed.id()));
+    }
+    return retries;
+  }
+
+  private void submit(Retry<?> retry) {
+    try {
+      retryExecutor.execute(() -> attemptSafely(retry));
+    } catch (RejectedExecutionException e) {
+      // The executor is full: wait one more tick rather than spend an attempt
+      wheel.schedule(retry, nanoClock.getAsLong() + wheel.tickNanos());
+    }
+  }
+
+  private void attemptSafely(Retry<?> retry) {
+    try {
+      attempt(retry);
+    } catch (RuntimeException e) {
+      // Dead-lettering or clearing the stored retry failed; a stored retry comes back once overdue
+      logger.error("Failed to settle event retry: subscriber={}, event={}", retry.subscriber(),
+          retry.event(), e);
+    }
+  }
+
+  private void runTicker() {
+    while (ticker == Thread.currentThread()) {
+      LockSupport.parkNanos(wheel.tickNanos());
+      if (Thread.interrupted()) {
+        continue;
+      }
+      try {
+        tick();
+      } catch (RuntimeException e) {
+        logger.error("Event retry tick failed", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,108 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timing wheel: tasks are hashed by deadline tick into a ring of buckets, and one ticker
+ * calls {@link #advanceTo} to expire the bucket of each tick that has passed. Scheduling is a
+ * lock-free queue append and expiring a tick touches one bucket, so the cost does not grow with
+ * the number of pending tasks, and no thread is held per task. A task due further out than one
+ * turn of the wheel waits in its bucket for the remaining number of turns.
+ *
+ * <p>Deadlines are rounded up to the tick, so tasks fire up to one tick late, never early.
+ * {@link #schedule} may be called from any thread; {@link #advanceTo} only from the ticker.
+ */
+class TimingWheel<T> {
+
+  private static final class Entry<T> {
+
+    final T task;
+    final long deadlineNanos;
+    long remainingRounds;
+    Entry<T> next;
+
+    Entry(T task, long deadlineNanos) {
+      this.task = task;
+      this.deadlineNanos = deadlineNanos;
+    }
+  }
+
+  private final long tickNanos;
+  private final long startNanos;
+  private final int mask;
+  private final Entry<T>[] buckets;
+  private final Queue<Entry<T>> incoming = new ConcurrentLinkedQueue<>();
+  private final AtomicLong pending = new AtomicLong();
+  private long tick;
+
+  @SuppressWarnings("unchecked")
+  TimingWheel(long tickNanos, int wheelSize, long startNanos) {
+    if (tickNanos <= 0 || wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+      throw new IllegalArgumentException("Tick must be positive and wheel size a power of two: "
+          + tickNanos + ", " + wheelSize);
+    }
+    this.tickNanos = tickNanos;
+    this.startNanos = startNanos;
+    this.mask = wheelSize - 1;
+    this.buckets = (Entry<T>[]) new Entry<?>[wheelSize];
+  }
+
+  void schedule(T task, long deadlineNanos) {
+    incoming.add(new Entry<>(task, deadlineNanos));
+    pending.incrementAndGet();
+  }
+
+  long pending() {
+    return pending.get();
+  }
+
+  long tickNanos() {
+    return tickNanos;
+  }
+
+  /**
+   * Expires every task due at or before {@code nowNanos}, in tick order, handing each to
+   * {@code onExpiry}.
+   */
+  void advanceTo(long nowNanos, Consumer<? super T> onExpiry) {
+    long lastTick = Math.floorDiv(nowNanos - startNanos, tickNanos);
+    while (tick <= lastTick) {
+      transferIncoming();
+      expire((int) (tick & mask), onExpiry);
+      tick++;
+    }
+  }
+
+  private void transferIncoming() {
+    Entry<T> entry;
+    while ((entry = incoming.poll()) != null) {
+      // Ceiling, so a task never fires before its deadline; overdue tasks go in the current tick
+      long deadlineTick = Math.max(tick, -Math.floorDiv(startNanos - entry.deadlineNanos, tickNanos));
+      entry.remainingRounds = (deadlineTick - tick) / buckets.length;
+      int index = (int) (deadlineTick & mask);
+      entry.next = buckets[index];
+      buckets[index] = entry;
+    }
+  }
+
+  private void expire(int index, Consumer<? super T> onExpiry) {
+    Entry<T> entry = buckets[index];
+    Entry<T> kept = null;
+    while (entry != null) {
+      Entry<T> next = entry.next;
+      if (entry.remainingRounds <= 0) {
+        pending.decrementAndGet();
+        onExpiry.accept(entry.task);
+      } else {
+        entry.remainingRounds--;
+        entry.next = kept;
+        kept = entry;
+      }
+      entry = next;
+    }
+    buckets[index] = kept;
+  }
+}
@@ -0,0 +1,422 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Frame;
+
+/**
+ * Connection from one service process to the {@link EventBroker}: a publishing connection, plus one
+ * connection per subscriber group the process hosts, all served by one selector thread.
+ *
+ * <p>{@link #send} only queues the event; the selector thread batches queued events into frames
+ * as far as the broker's credits allow, and keeps each sent event until the broker acks it. A
+ * dropped connection is reopened with exponential backoff, and the events the broker had not acked
+ * are sent again ahead of the queued ones, so the broker may see an event twice. The send buffer
+ * counts both queued and unacked events.
+ *
+ * <p>Received events run on the subscription's executor. Each finished event is acked, in the
+ * order the events arrived, which also returns its credit, so a subscriber never has more than its
+ * window of events in hand. Events received on a connection that has since dropped are not acked:
+ * the broker redelivers them.
+ */
+public class BrokerClient implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(BrokerClient.class);
+
+  private final InetSocketAddress broker;
+  private final int maxBatch;
+  private final long reconnectInitialNanos;
+  private final long reconnectMaxNanos;
+  private final int sendBuffer;
+  private final ConcurrentLinkedQueue<TransportEvent> outgoing = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger buffered = new AtomicInteger();
+  private final ArrayDeque<TransportEvent> resend = new ArrayDeque<>();
+  private final ArrayDeque<TransportEvent> unacked = new ArrayDeque<>();
+  private final AtomicBoolean wakeupPending = new AtomicBoolean();
+  private final List<Link> links = new ArrayList<>();
+  private final Link publisher;
+  private Selector selector;
+  private Thread thread;
+  private volatile boolean running;
+
+  public BrokerClient(InetSocketAddress broker, int sendBuffer, int maxBatch, long reconnectInitialMs,
+      long reconnectMaxMs) {
+    this.broker = broker;
+    this.maxBatch = maxBatch;
+    this.reconnectInitialNanos = TimeUnit.MILLISECONDS.toNanos(reconnectInitialMs);
+    this.reconnectMaxNanos = TimeUnit.MILLISECONDS.toNanos(reconnectMaxMs);
+    this.sendBuffer = sendBuffer;
+    this.publisher = new Link(null);
+    links.add(publisher);
+  }
+
+  /**
+   * Joins subscriber group {@code subscriber} for {@code typeCodes} once the client starts. At
+   * most {@code window} received events are waiting for or running on {@code executor}.
+   */
+  public synchronized void subscribe(String subscriber, Set<Integer> typeCodes, int window,
+      Executor executor, Consumer<TransportEvent> handler) {
+    if (running) {
+      throw new IllegalStateException("Subscriptions must be added before the broker client starts: " + subscriber);
+    }
+    links.add(new Link(new Subscription(subscriber, Set.copyOf(typeCodes), window, executor, handler)));
+  }
+
+  public synchronized void start() throws IOException {
+    if (running) {
+      return;
+    }
+    selector = Selector.open();
+    running = true;
+    thread = new Thread(this::run, "event-transport");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Queues {@code event} for the broker.
+   *
+   * @return false when the send buffer is full
+   */
+  public boolean send(TransportEvent event) {
+    if (!running) {
+      throw new IllegalStateException("Broker client is not running");
+    }
+    if (buffered.incrementAndGet() > sendBuffer) {
+      buffered.decrementAndGet();
+      return false;
+    }
+    outgoing.add(event);
+    wakeUp();
+    return true;
+  }
+
+  /**
+   * Whether the publishing connection is currently established.
+   */
+  public boolean isConnected() {
+    return publisher.connected;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    selector.wakeup();
+    try {
+      thread.join(5_000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void wakeUp() {
+    if (wakeupPending.compareAndSet(false, true)) {
+      selector.wakeup();
+    }
+  }
+
+  private void run() {
+    links.forEach(this::connect);
+    try {
+      while (running) {
+        selector.select(selectTimeoutMillis());
+        wakeupPending.set(false);
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (key.isValid()) {
+            handle(key, (Link) key.attachment());
+          }
+        }
+        long now = System.nanoTime();
+        for (Link link : links) {
+          if (link.channel == null && now - link.reconnectAt >= 0) {
+            connect(link);
+          }
+        }
+        sendQueued();
+        acknowledge();
+      }
+    } catch (IOException e) {
+      logger.error("Event transport stopped", e);
+    } finally {
+      for (Link link : links) {
+        if (link.channel != null) {
+          link.channel.close();
+        }
+      }
+      try {
+        selector.close();
+      } catch (IOException ignored) {
+        // Shutting down anyway
+      }
+    }
+  }
+
+  private long selectTimeoutMillis() {
+    long now = System.nanoTime();
+    long timeout = 0;
+    for (Link link : links) {
+      if (link.channel == null) {
+        long wait = Math.max(1, TimeUnit.NANOSECONDS.toMillis(link.reconnectAt - now) + 1);
+        timeout = timeout == 0 ? wait : Math.min(timeout, wait);
+      }
+    }
+    return timeout;
+  }
+
+  private void connect(Link link) {
+    try {
+      SocketChannel socket = SocketChannel.open();
+      socket.configureBlocking(false);
+      socket.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      boolean connected = socket.connect(broker);
+      SelectionKey key = socket.register(selector, connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, link);
+      link.channel = new FrameChannel(socket, key);
+      if (connected) {
+        onConnected(link, key);
+      }
+    } catch (IOException e) {
+      connectionLost(link, e);
+    }
+  }
+
+  private void handle(SelectionKey key, Link link) {
+    try {
+      if (key.isConnectable()) {
+        link.channel.channel().finishConnect();
+        onConnected(link, key);
+        return;
+      }
+      if (key.isWritable()) {
+        link.channel.flush();
+      }
+      if (key.isReadable() && !link.channel.read(frame -> onFrame(link, frame))) {
+        connectionLost(link, null);
+      }
+    } catch (IOException | RuntimeException e) {
+      connectionLost(link, e);
+    }
+  }
+
+  private void onConnected(Link link, SelectionKey key) throws IOException {
+    key.interestOps(SelectionKey.OP_READ);
+    link.connected = true;
+    link.backoffNanos = reconnectInitialNanos;
+    Subscription subscription = link.subscription;
+    if (subscription == null) {
+      link.credits = 0;
+      link.channel.write(Frames.hello("", Set.of()));
+      logger.info("Connected to event broker at {} as publisher", broker);
+      return;
+    }
+    link.channel.write(Frames.hello(subscription.name, subscription.typeCodes));
+    link.connection++;
+    // Events received on the old connection and still in hand keep their share of the window
+    int credits = subscription.window - subscription.outstanding.get();
+    if (credits > 0) {
+      link.channel.write(Frames.credit(credits));
+    }
+    logger.info("Connected to event broker at {} as subscriber {}", broker, subscription.name);
+  }
+
+  private void onFrame(Link link, Frame frame) {
+    switch (frame.kind()) {
+      case Frames.CREDIT -> link.credits += Frames.readCredit(frame.body());
+      case Frames.ACK -> {
+        int count = Frames.readAck(frame.body());
+        if (link != publisher || count < 0 || count > unacked.size()) {
+          throw new IllegalStateException("Unexpected ack for " + count + " events");
+        }
+        for (int i = 0; i < count; i++) {
+          unacked.poll();
+        }
+        buffered.addAndGet(-count);
+      }
+      case Frames.EVENTS -> {
+        Subscription subscription = link.subscription;
+        if (subscription == null) {
+          throw new IllegalStateException("Events received on the publishing connection");
+        }
+        for (TransportEvent event : Frames.readEvents(frame.body())) {
+          Received received = new Received(link.connection);
+          link.received.add(received);
+          subscription.outstanding.incrementAndGet();
+          try {
+            subscription.executor.execute(() -> subscription.handle(event, received));
+          } catch (RejectedExecutionException e) {
+            // Shutting down; left unacked, so the broker redelivers it once the connection closes
+            subscription.outstanding.decrementAndGet();
+          }
+        }
+      }
+      default -> throw new IllegalStateException("Unexpected frame kind " + frame.kind());
+    }
+  }
+
+  private void sendQueued() {
+    Link link = publisher;
+    List<TransportEvent> batch = new ArrayList<>();
+    while (link.connected && link.credits > 0 && nextToSend() != null
+        && !link.channel.hasPendingWrites()) {
+      int bytes = 0;
+      int limit = Math.min(link.credits, maxBatch);
+      TransportEvent next;
+      while (batch.size() < limit && (next = nextToSend()) != null
+          && (batch.isEmpty() || bytes + Frames.eventBytes(next) < Frames.MAX_FRAME_BYTES - 16)) {
+        batch.add(resend.isEmpty() ? outgoing.poll() : resend.poll());
+        bytes += Frames.eventBytes(next);
+      }
+      link.credits -= batch.size();
+      unacked.addAll(batch);
+      try {
+        link.channel.write(Frames.events(batch));
+      } catch (IOException e) {
+        // Sent again, with the rest of the unacked events, once the connection is back
+        connectionLost(link, e);
+      }
+      batch.clear();
+    }
+  }
+
+  private TransportEvent nextToSend() {
+    return resend.isEmpty() ? outgoing.peek() : resend.peek();
+  }
+
+  /**
+   * Acks each subscription's finished events, up to the first one still running; events from an
+   * earlier connection are only dropped from the list.
+   */
+  private void acknowledge() {
+    for (Link link : links) {
+      if (link.subscription == null) {
+        continue;
+      }
+      int finished = 0;
+      Received head;
+      while ((head = link.received.peek()) != null && head.finished) {
+        link.received.poll();
+        if (head.connection == link.connection) {
+          finished++;
+        }
+      }
+      if (finished > 0 && link.connected) {
+        try {
+          link.channel.write(Frames.ack(finished));
+        } catch (IOException e) {
+          connectionLost(link, e);
+        }
+      }
+    }
+  }
+
+  private void connectionLost(Link link, Exception cause) {
+    if (link.channel != null) {
+      link.channel.close();
+      link.channel = null;
+    }
+    if (link.connected) {
+      logger.warn("Lost connection to event broker at {}{}", broker,
+          cause == null ? "" : ": " + cause);
+    } else {
+      logger.debug("Event broker at {} unreachable, retrying in {} ms", broker,
+          TimeUnit.NANOSECONDS.toMillis(link.backoffNanos));
+    }
+    if (link == publisher) {
+      // Whatever the broker did not ack goes out first on the next connection
+      for (Iterator<TransportEvent> events = unacked.descendingIterator(); events.hasNext(); ) {
+        resend.addFirst(events.next());
+      }
+      unacked.clear();
+    }
+    link.connected = false;
+    link.reconnectAt = System.nanoTime() + link.backoffNanos;
+    link.backoffNanos = Math.min(link.backoffNanos * 2, reconnectMaxNanos);
+  }
+
+  /**
+   * One connection to the broker; only touched by the selector thread, except {@link #connected}.
+   */
+  private final class Link {
+
+    private final Subscription subscription;
+    private final ArrayDeque<Received> received = new ArrayDeque<>();
+    private FrameChannel channel;
+    private volatile boolean connected;
+    private int credits;
+    private int connection;
+    private long reconnectAt;
+    private long backoffNanos = reconnectInitialNanos;
+
+    private Link(Subscription subscription) {
+      this.subscription = subscription;
+    }
+  }
+
+  /**
+   * An event handed to a subscription's executor, acked once {@link #finished} is set.
+   */
+  private static final class Received {
+
+    private final int connection;
+    private volatile boolean finished;
+
+    private Received(int connection) {
+      this.connection = connection;
+    }
+  }
+
+  private final class Subscription {
+
+    private final String name;
+    private final Set<Integer> typeCodes;
+    private final int window;
+    private final Executor executor;
+    private final Consumer<TransportEvent> handler;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    private Subscription(String name, Set<Integer> typeCodes, int window, Executor executor,
+        Consumer<TransportEvent> handler) {
+      this.name = name;
+      this.typeCodes = typeCodes;
+      this.window = window;
+      this.executor = executor;
+      this.handler = handler;
+    }
+
+    private void handle(TransportEvent event, Received received) {
+      try {
+        handler.accept(event);
+      } catch (RuntimeException e) {
+        logger.error("Event handler failed: subscriber={}, typeCode={}", name, event.typeCode(), e);
+      } finally {
+        outstanding.decrementAndGet();
+        received.finished = true;
+        wakeUp();
+      }
+    }
+  }
+}
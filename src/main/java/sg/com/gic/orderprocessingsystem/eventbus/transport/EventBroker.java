@@ -0,0 +1,350 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ProtocolException;
+import java.net.StandardSocketOptions;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Frame;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Hello;
+
+/**
+ * Small in-memory broker that lets the order, payment and notification services run as separate
+ * processes. Publishers send batches of encoded events; each subscriber group (a listener name such
+ * as {@code payment}) gets its own queue of the event types it asked for, shared round-robin
+ * between the group's connected processes, so a group scales by starting more of them.
+ *
+ * <p>Every event is acknowledged. The broker acks a publisher's events once they are queued, and
+ * a subscriber acks each event once its handlers have finished; events sent to a member and not
+ * acked yet go back to the head of the group's queue if its connection drops, so delivery is
+ * at-least-once and a redelivered event may already have been handled.
+ *
+ * <p>Both directions are credit-based. A subscriber grants its window when it connects, gets one
+ * credit back per acked event and is never sent more than that. A publisher starts with
+ * {@code publisherCredits} and gets them back once its events are queued, unless a group with
+ * connected members has reached {@code queueCapacity}: then its credits are held until the queue
+ * drains, and the publisher's own send buffer fills up instead. One selector thread does all the
+ * work.
+ *
+ * <p>A group's queue exists from the moment its first member connects and keeps filling while all
+ * of its members are away, up to {@code queueCapacity}; past that the group drops its oldest
+ * events rather than hold back the publishers, so one abandoned group cannot stall the others.
+ * Events of a type no group has asked for yet are dropped. Queues live in memory only, and events
+ * the broker has accepted are lost if it stops; publishers keep their outbox, from which
+ * {@code /api/replays} can re-deliver.
+ */
+public class EventBroker implements Closeable {
+
+  private static final Logger logger = LoggerFactory.getLogger(EventBroker.class);
+
+  private final InetSocketAddress address;
+  private final int publisherCredits;
+  private final int maxBatch;
+  private final int queueCapacity;
+  private final Map<String, Group> groups = new LinkedHashMap<>();
+  private final List<Peer> publishers = new ArrayList<>();
+  private Selector selector;
+  private ServerSocketChannel server;
+  private Thread thread;
+  private volatile boolean running;
+
+  public EventBroker(InetSocketAddress address, int publisherCredits, int maxBatch, int queueCapacity) {
+    if (publisherCredits <= 0 || maxBatch <= 0 || queueCapacity <= 0) {
+      throw new IllegalStateException("Event broker credits, batch size and queue capacity must be positive");
+    }
+    this.address = address;
+    this.publisherCredits = publisherCredits;
+    this.maxBatch = maxBatch;
+    this.queueCapacity = queueCapacity;
+  }
+
+  /**
+   * Runs a standalone broker: {@code EventBroker [port]}, 7070 by default.
+   */
+  public static void main(String[] args) throws Exception {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+    EventBroker broker = new EventBroker(new InetSocketAddress(port), 1024, 256, 100_000);
+    broker.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(broker::close));
+    broker.thread.join();
+  }
+
+  public synchronized void start() throws IOException {
+    if (running) {
+      return;
+    }
+    selector = Selector.open();
+    server = ServerSocketChannel.open();
+    server.bind(address);
+    server.configureBlocking(false);
+    server.register(selector, SelectionKey.OP_ACCEPT);
+    running = true;
+    thread = new Thread(this::run, "event-broker");
+    thread.start();
+    logger.info("Event broker listening on {}", server.getLocalAddress());
+  }
+
+  /**
+   * Port the broker listens on; useful when it was bound to port 0.
+   */
+  public int port() throws IOException {
+    return ((InetSocketAddress) server.getLocalAddress()).getPort();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!running) {
+      return;
+    }
+    running = false;
+    selector.wakeup();
+    try {
+      thread.join(5_000);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void run() {
+    try {
+      while (running) {
+        selector.select();
+        Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+        while (keys.hasNext()) {
+          SelectionKey key = keys.next();
+          keys.remove();
+          if (!key.isValid()) {
+            continue;
+          }
+          if (key.isAcceptable()) {
+            accept();
+          } else {
+            handle(key, (Peer) key.attachment());
+          }
+        }
+        deliver();
+        returnPublisherCredits();
+      }
+    } catch (IOException e) {
+      logger.error("Event broker stopped", e);
+    } finally {
+      for (SelectionKey key : selector.keys()) {
+        if (key.attachment() instanceof Peer peer) {
+          peer.channel.close();
+        }
+      }
+      try {
+        server.close();
+        selector.close();
+      } catch (IOException ignored) {
+        // Shutting down anyway
+      }
+    }
+  }
+
+  private void accept() throws IOException {
+    SocketChannel channel = server.accept();
+    if (channel == null) {
+      return;
+    }
+    channel.configureBlocking(false);
+    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+    key.attach(new Peer(new FrameChannel(channel, key)));
+  }
+
+  private void handle(SelectionKey key, Peer peer) {
+    try {
+      if (key.isWritable()) {
+        peer.channel.flush();
+      }
+      if (key.isReadable() && !peer.channel.read(frame -> onFrame(peer, frame))) {
+        disconnect(peer, null);
+      }
+    } catch (IOException | RuntimeException e) {
+      disconnect(peer, e);
+    }
+  }
+
+  private void onFrame(Peer peer, Frame frame) throws IOException {
+    switch (frame.kind()) {
+      case Frames.HELLO -> {
+        Hello hello = Frames.readHello(frame.body());
+        if (hello.isPublisher()) {
+          publishers.add(peer);
+          peer.channel.write(Frames.credit(publisherCredits));
+        } else {
+          Group group = groups.computeIfAbsent(hello.subscriber(), Group::new);
+          group.typeCodes.addAll(hello.typeCodes());
+          group.members.add(peer);
+          peer.group = group;
+          if (group.dropped > 0) {
+            logger.warn("Event broker group {} dropped {} events while it had no members", group.name, group.dropped);
+            group.dropped = 0;
+          }
+        }
+        logger.info("Event broker connection from {}: {}", peer.channel.channel().getRemoteAddress(),
+            hello.isPublisher() ? "publisher" : "subscriber " + hello.subscriber());
+      }
+      case Frames.CREDIT -> peer.credits += Frames.readCredit(frame.body());
+      case Frames.ACK -> {
+        int count = Frames.readAck(frame.body());
+        if (count < 0 || count > peer.unacked.size()) {
+          throw new ProtocolException("Ack for " + count + " events, " + peer.unacked.size() + " unacked");
+        }
+        for (int i = 0; i < count; i++) {
+          peer.unacked.poll();
+        }
+        peer.credits += count;
+      }
+      case Frames.EVENTS -> {
+        List<TransportEvent> events = Frames.readEvents(frame.body());
+        for (TransportEvent event : events) {
+          for (Group group : groups.values()) {
+            if (group.typeCodes.contains(event.typeCode())) {
+              enqueue(group, event);
+            }
+          }
+        }
+        peer.channel.write(Frames.ack(events.size()));
+        peer.owedCredits += events.size();
+      }
+      default -> throw new ProtocolException("Unknown frame kind " + frame.kind());
+    }
+  }
+
+  /**
+   * Queues {@code event} for {@code group}. A group without members only keeps its newest
+   * {@code queueCapacity} events.
+   */
+  private void enqueue(Group group, TransportEvent event) {
+    if (group.members.isEmpty() && group.queue.size() >= queueCapacity) {
+      group.queue.poll();
+      if (group.dropped++ == 0) {
+        logger.warn("Event broker group {} has no members and a full queue; dropping its oldest events", group.name);
+      }
+    }
+    group.queue.add(event);
+  }
+
+  /**
+   * Sends each group's queued events to members with credit, in batches of up to
+   * {@code maxBatch}, rotating between members.
+   */
+  private void deliver() {
+    for (Group group : groups.values()) {
+      int idle = 0;
+      while (!group.queue.isEmpty() && idle < group.members.size()) {
+        group.next = (group.next + 1) % group.members.size();
+        Peer member = group.members.get(group.next);
+        if (member.credits <= 0 || member.channel.hasPendingWrites()) {
+          idle++;
+          continue;
+        }
+        idle = 0;
+        int count = Math.min(Math.min(member.credits, maxBatch), group.queue.size());
+        List<TransportEvent> batch = new ArrayList<>(count);
+        int bytes = 0;
+        while (batch.size() < count && (batch.isEmpty()
+            || bytes + Frames.eventBytes(group.queue.peek()) < Frames.MAX_FRAME_BYTES - 16)) {
+          TransportEvent event = group.queue.poll();
+          bytes += Frames.eventBytes(event);
+          batch.add(event);
+        }
+        member.credits -= batch.size();
+        member.unacked.addAll(batch);
+        try {
+          member.channel.write(Frames.events(batch));
+        } catch (IOException e) {
+          // Requeues the batch with the member's other unacked events
+          disconnect(member, e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the publishers' credits unless a group with members is full; a group without members
+   * sheds its oldest events instead, see {@link #enqueue}.
+   */
+  private void returnPublisherCredits() {
+    for (Group group : groups.values()) {
+      if (!group.members.isEmpty() && group.queue.size() >= queueCapacity) {
+        return;
+      }
+    }
+    for (Peer publisher : new ArrayList<>(publishers)) {
+      if (publisher.owedCredits > 0) {
+        try {
+          publisher.channel.write(Frames.credit(publisher.owedCredits));
+          publisher.owedCredits = 0;
+        } catch (IOException e) {
+          disconnect(publisher, e);
+        }
+      }
+    }
+  }
+
+  private void disconnect(Peer peer, Exception cause) {
+    peer.channel.close();
+    publishers.remove(peer);
+    if (peer.group != null) {
+      peer.group.members.remove(peer);
+      // Redelivered first, to another member or to this one once it reconnects
+      for (Iterator<TransportEvent> unacked = peer.unacked.descendingIterator(); unacked.hasNext(); ) {
+        peer.group.queue.addFirst(unacked.next());
+      }
+      peer.unacked.clear();
+    }
+    if (cause == null) {
+      logger.info("Event broker connection closed{}", peer.group == null ? "" : ": subscriber " + peer.group.name);
+    } else {
+      logger.warn("Event broker connection dropped{}: {}",
+          peer.group == null ? "" : ": subscriber " + peer.group.name, cause.toString());
+    }
+  }
+
+  /**
+   * Connection state; only touched by the selector thread.
+   */
+  private static final class Peer {
+
+    private final FrameChannel channel;
+    private final ArrayDeque<TransportEvent> unacked = new ArrayDeque<>();
+    private Group group;
+    private int credits;
+    private int owedCredits;
+
+    private Peer(FrameChannel channel) {
+      this.channel = channel;
+    }
+  }
+
+  private static final class Group {
+
+    private final String name;
+    private final Set<Integer> typeCodes = new HashSet<>();
+    private final ArrayDeque<TransportEvent> queue = new ArrayDeque<>();
+    private final List<Peer> members = new ArrayList<>();
+    private int next;
+    private long dropped;
+
+    private Group(String name) {
+      this.name = name;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Frame;
+
+/**
+ * A non-blocking socket carrying {@link Frames}. Owned by one selector thread: reads hand over
+ * every complete frame, writes are queued and flushed as far as the socket takes them, with
+ * {@code OP_WRITE} set only while something is left over.
+ */
+final class FrameChannel {
+
+  interface FrameHandler {
+
+    void onFrame(Frame frame) throws IOException;
+  }
+
+  private static final int INITIAL_READ_BUFFER_BYTES = 64 * 1024;
+
+  private final SocketChannel channel;
+  private final SelectionKey key;
+  private final Deque<ByteBuffer> writes = new ArrayDeque<>();
+  private ByteBuffer readBuffer = ByteBuffer.allocate(INITIAL_READ_BUFFER_BYTES);
+
+  FrameChannel(SocketChannel channel, SelectionKey key) {
+    this.channel = channel;
+    this.key = key;
+  }
+
+  SocketChannel channel() {
+    return channel;
+  }
+
+  /**
+   * Reads what the socket has and passes each complete frame to {@code handler}.
+   *
+   * @return false once the peer has closed the connection
+   */
+  boolean read(FrameHandler handler) throws IOException {
+    if (channel.read(readBuffer) < 0) {
+      return false;
+    }
+    readBuffer.flip();
+    Frame frame;
+    while ((frame = Frames.next(readBuffer)) != null) {
+      handler.onFrame(frame);
+    }
+    if (readBuffer.remaining() >= 4) {
+      int needed = 4 + Frames.pendingLength(readBuffer);
+      if (needed > readBuffer.capacity()) {
+        // A frame larger than the buffer: grow it rather than stall
+        readBuffer = ByteBuffer.allocate(needed).put(readBuffer);
+        return true;
+      }
+    }
+    readBuffer.compact();
+    return true;
+  }
+
+  void write(ByteBuffer frame) throws IOException {
+    writes.add(frame);
+    flush();
+  }
+
+  /**
+   * Writes queued frames until the socket buffer is full.
+   */
+  void flush() throws IOException {
+    while (!writes.isEmpty()) {
+      ByteBuffer head = writes.peek();
+      channel.write(head);
+      if (head.hasRemaining()) {
+        key.interestOps(key.interestOps() | SelectionKey.OP_WRITE);
+        return;
+      }
+      writes.poll();
+    }
+    key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+  }
+
+  /**
+   * Whether queued frames are still waiting for the socket; senders hold further batches back.
+   */
+  boolean hasPendingWrites() {
+    return !writes.isEmpty();
+  }
+
+  void close() {
+    key.cancel();
+    try {
+      channel.close();
+    } catch (IOException ignored) {
+      // Closing a broken connection
+    }
+  }
+}
@@ -0,0 +1,155 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Wire format of the event transport. Every frame is {@code length:int kind:byte body}, where the
+ * length counts the kind and the body:
+ *
+ * <ul>
+ *   <li>{@link #HELLO} opens a connection: {@code nameLength:short name typeCount:int
+ *   typeCode:int...}. An empty name marks a publisher; otherwise the connection joins the named
+ *   subscriber group for the listed event types.</li>
+ *   <li>{@link #EVENTS} carries a batch: {@code count:int} then per event {@code typeCode:int
+ *   schemaVersion:int codecId:int payloadLength:int payload}.</li>
+ *   <li>{@link #CREDIT} lets the other side send {@code credits:int} more events.</li>
+ *   <li>{@link #ACK} confirms the oldest {@code count:int} events the sender received on this
+ *   connection and had not confirmed yet.</li>
+ * </ul>
+ */
+final class Frames {
+
+  static final byte HELLO = 1;
+  static final byte EVENTS = 2;
+  static final byte CREDIT = 3;
+  static final byte ACK = 4;
+  static final int MAX_FRAME_BYTES = 16 * 1024 * 1024;
+
+  private static final int EVENT_HEADER_BYTES = 16;
+
+  record Frame(byte kind, ByteBuffer body) {
+
+  }
+
+  record Hello(String subscriber, Set<Integer> typeCodes) {
+
+    boolean isPublisher() {
+      return subscriber.isEmpty();
+    }
+  }
+
+  private Frames() {
+  }
+
+  static ByteBuffer hello(String subscriber, Set<Integer> typeCodes) {
+    byte[] name = subscriber.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer frame = start(HELLO, 2 + name.length + 4 + 4 * typeCodes.size());
+    frame.putShort((short) name.length).put(name).putInt(typeCodes.size());
+    typeCodes.forEach(frame::putInt);
+    return frame.flip();
+  }
+
+  static ByteBuffer credit(int credits) {
+    return start(CREDIT, 4).putInt(credits).flip();
+  }
+
+  static ByteBuffer ack(int count) {
+    return start(ACK, 4).putInt(count).flip();
+  }
+
+  static ByteBuffer events(List<TransportEvent> events) {
+    int bytes = 4;
+    for (TransportEvent event : events) {
+      bytes += EVENT_HEADER_BYTES + event.payload().length;
+    }
+    ByteBuffer frame = start(EVENTS, bytes).putInt(events.size());
+    for (TransportEvent event : events) {
+      frame.putInt(event.typeCode()).putInt(event.schemaVersion()).putInt(event.codecId())
+          .putInt(event.payload().length).put(event.payload());
+    }
+    return frame.flip();
+  }
+
+  /**
+   * Size of an {@link #EVENTS} frame holding just {@code event}, to keep batches under
+   * {@link #MAX_FRAME_BYTES}.
+   */
+  static int eventBytes(TransportEvent event) {
+    return EVENT_HEADER_BYTES + event.payload().length;
+  }
+
+  /**
+   * Takes the next complete frame off {@code in} (in read mode), or returns null and leaves
+   * {@code in} untouched when the frame has not fully arrived. The returned body shares
+   * {@code in}'s content, so it must be parsed before {@code in} is compacted.
+   */
+  static Frame next(ByteBuffer in) throws ProtocolException {
+    if (in.remaining() < 4) {
+      return null;
+    }
+    int length = pendingLength(in);
+    if (in.remaining() < 4 + length) {
+      return null;
+    }
+    in.position(in.position() + 4);
+    byte kind = in.get();
+    ByteBuffer body = in.slice(in.position(), length - 1);
+    in.position(in.position() + length - 1);
+    return new Frame(kind, body);
+  }
+
+  /**
+   * Length of the frame starting at {@code in}'s position, which must hold at least 4 bytes.
+   */
+  static int pendingLength(ByteBuffer in) throws ProtocolException {
+    int length = in.getInt(in.position());
+    if (length < 1 || length > MAX_FRAME_BYTES) {
+      throw new ProtocolException("Invalid frame length " + length);
+    }
+    return length;
+  }
+
+  static Hello readHello(ByteBuffer body) {
+    byte[] name = new byte[body.getShort()];
+    body.get(name);
+    int count = body.getInt();
+    Set<Integer> typeCodes = new HashSet<>();
+    for (int i = 0; i < count; i++) {
+      typeCodes.add(body.getInt());
+    }
+    return new Hello(new String(name, StandardCharsets.UTF_8), typeCodes);
+  }
+
+  static int readCredit(ByteBuffer body) {
+    return body.getInt();
+  }
+
+  static int readAck(ByteBuffer body) {
+    return body.getInt();
+  }
+
+  static List<TransportEvent> readEvents(ByteBuffer body) {
+    int count = body.getInt();
+    List<TransportEvent> events = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int typeCode = body.getInt();
+      int schemaVersion = body.getInt();
+      int codecId = body.getInt();
+      byte[] payload = new byte[body.getInt()];
+      body.get(payload);
+      events.add(new TransportEvent(typeCode, schemaVersion, codecId, payload));
+    }
+    return events;
+  }
+
+  private static ByteBuffer start(byte kind, int bodyBytes) {
+    ByteBuffer frame = ByteBuffer.allocate(4 + 1 + bodyBytes);
+    return frame.putInt(1 + bodyBytes).put(kind);
+  }
+}
@@ -0,0 +1,9 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+/**
+ * An encoded event on the wire between publishers, the {@link EventBroker} and subscribers; the
+ * same fields the outbox stores, so the receiving side decodes it with its own codecs.
+ */
+public record TransportEvent(int typeCode, int schemaVersion, int codecId, byte[] payload) {
+
+}
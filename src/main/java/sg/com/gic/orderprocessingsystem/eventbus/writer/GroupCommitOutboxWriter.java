@@ -0,0 +1,218 @@
+package sg.com.gic.orderprocessingsystem.eventbus.writer;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+
+/**
+ * Coalesces outbox inserts from many publishing threads into one JDBC batch per commit.
+ *
+ * <p>Callers enqueue their row and wait on a future. A single writer thread takes the first
+ * queued row, keeps collecting until either {@code max-batch} rows are queued or the
+ * {@code linger-ms} window has passed, inserts them with one {@code saveAll} in one transaction,
+ * and then completes every caller's future with its saved row (or the failure).
+ *
+ * <p>A row published inside a caller's transaction has to commit or roll back with it, so it cannot
+ * join another thread's commit. {@link #stage} instead collects the rows of one transaction and
+ * inserts them with one {@code saveAll} just before that transaction commits.
+ */
+@Component
+@ConditionalOnProperty(name = "outbox.group-commit.enabled", havingValue = "true")
+public class GroupCommitOutboxWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(GroupCommitOutboxWriter.class);
+  private static final long IDLE_POLL_MILLIS = 100;
+
+  private final OutboxEventRepository outboxEventRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final BlockingQueue<PendingWrite> queue;
+  private final long lingerNanos;
+  private final int maxBatch;
+  private final Thread writerThread;
+  private volatile boolean running = true;
+
+  public GroupCommitOutboxWriter(OutboxEventRepository outboxEventRepository,
+      TransactionTemplate transactionTemplate,
+      @Value("${outbox.group-commit.linger-ms:2}") long lingerMillis,
+      @Value("${outbox.group-commit.max-batch:50}") int maxBatch,
+      @Value("${outbox.group-commit.queue-capacity:10000}") int queueCapacity) {
+    this.outboxEventRepository = outboxEventRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.lingerNanos = TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+    this.maxBatch = maxBatch;
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    this.writerThread = new Thread(this::writeLoop, "outbox-group-commit");
+    this.writerThread.setDaemon(true);
+  }
+
+  @PostConstruct
+  public void start() {
+    writerThread.start();
+  }
+
+  /**
+   * Stops accepting writes and waits for the rows already queued to be flushed.
+   */
+  @PreDestroy
+  public void stop() throws InterruptedException {
+    running = false;
+    writerThread.join(TimeUnit.SECONDS.toMillis(5));
+  }
+
+  /**
+   * Queues a row for the next group commit. Blocks while the queue is full.
+   */
+  public CompletableFuture<OutboxEventEntity> submit(OutboxEventEntity outboxEvent) {
+    if (!running) {
+      throw new IllegalStateException("Group commit writer is stopped");
+    }
+    PendingWrite pending = new PendingWrite(outboxEvent, new CompletableFuture<>());
+    try {
+      queue.put(pending);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while queueing outbox event", e);
+    }
+    // stop() may have run after the check above, and the writer may have seen an empty queue and
+    // exited since. Whichever of us takes the row out of the queue owns it: if it is still here,
+    // nobody will flush it.
+    if (!running && queue.remove(pending)) {
+      throw new IllegalStateException("Group commit writer is stopped");
+    }
+    return pending.future();
+  }
+
+  /**
+   * Queues a row and waits until the batch holding it has committed.
+   */
+  public OutboxEventEntity write(OutboxEventEntity outboxEvent) {
+    try {
+      return submit(outboxEvent).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Stages a row in the caller's transaction, which must have synchronization active. Every row
+   * staged in the transaction is inserted in one batch just before it commits; {@code outboxEvent}
+   * has its id from then on.
+   */
+  public void stage(OutboxEventEntity outboxEvent) {
+    // Synchronizations, unlike bound resources, are suspended for a nested REQUIRES_NEW
+    // transaction, so each transaction finds only its own rows
+    for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+      if (synchronization instanceof StagedRows staged && staged.writer() == this) {
+        staged.rows.add(outboxEvent);
+        return;
+      }
+    }
+    StagedRows staged = new StagedRows();
+    staged.rows.add(outboxEvent);
+    TransactionSynchronizationManager.registerSynchronization(staged);
+  }
+
+  private void writeLoop() {
+    List<PendingWrite> batch = new ArrayList<>(maxBatch);
+    while (running || !queue.isEmpty()) {
+      try {
+        collectBatch(batch);
+      } catch (InterruptedException e) {
+        // Interrupted outside of stop(): flush everything still queued once, then exit
+        Thread.currentThread().interrupt();
+        running = false;
+        queue.drainTo(batch);
+      }
+      if (!batch.isEmpty()) {
+        flush(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  private void collectBatch(List<PendingWrite> batch) throws InterruptedException {
+    PendingWrite first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+    if (first == null) {
+      return;
+    }
+    batch.add(first);
+    long deadline = System.nanoTime() + lingerNanos;
+    while (batch.size() < maxBatch) {
+      // Take whatever is already queued without waiting, then linger for stragglers
+      if (queue.drainTo(batch, maxBatch - batch.size()) > 0) {
+        continue;
+      }
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        return;
+      }
+      PendingWrite next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+      if (next == null) {
+        return;
+      }
+      batch.add(next);
+    }
+  }
+
+  private void flush(List<PendingWrite> batch) {
+    List<OutboxEventEntity> rows = new ArrayList<>(batch.size());
+    for (PendingWrite pending : batch) {
+      rows.add(pending.outboxEvent());
+    }
+    try {
+      List<OutboxEventEntity> saved = transactionTemplate.execute(
+          status -> outboxEventRepository.saveAll(rows));
+      for (int i = 0; i < batch.size(); i++) {
+        batch.get(i).future().complete(saved.get(i));
+      }
+      logger.debug("Group commit wrote {} outbox events", batch.size());
+    } catch (RuntimeException e) {
+      logger.error("Group commit of {} outbox events failed", batch.size(), e);
+      for (PendingWrite pending : batch) {
+        pending.future().completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * The rows staged in one transaction.
+   */
+  private final class StagedRows implements TransactionSynchronization {
+
+    private final List<OutboxEventEntity> rows = new ArrayList<>();
+
+    private GroupCommitOutboxWriter writer() {
+      return GroupCommitOutboxWriter.this;
+    }
+
+    @Override
+    public void beforeCommit(boolean readOnly) {
+      outboxEventRepository.saveAll(rows);
+      logger.debug("Staged outbox rows written with their transaction: {}", rows.size());
+    }
+  }
+
+  private record PendingWrite(OutboxEventEntity outboxEvent,
+                              CompletableFuture<OutboxEventEntity> future) {
+
+  }
+}
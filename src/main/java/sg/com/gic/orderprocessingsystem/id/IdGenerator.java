@@ -0,0 +1,10 @@
+package sg.com.gic.orderprocessingsystem.id;
+
+/**
+ * Source of primary keys for orders, payments, notifications and replays. The implementation is
+ * chosen with {@code id.generator}: {@code uuid-v7} (default) or {@code uuid-v4}.
+ */
+public interface IdGenerator {
+
+  String nextId();
+}
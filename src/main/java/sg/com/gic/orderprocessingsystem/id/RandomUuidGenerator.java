@@ -0,0 +1,19 @@
+package sg.com.gic.orderprocessingsystem.id;
+
+import java.util.UUID;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Random version 4 UUIDs, as the services used before ids became pluggable. Every call draws from
+ * the JVM-wide {@code SecureRandom}, and consecutive ids land anywhere in a primary-key index.
+ */
+@Component
+@ConditionalOnProperty(name = "id.generator", havingValue = "uuid-v4")
+public class RandomUuidGenerator implements IdGenerator {
+
+  @Override
+  public String nextId() {
+    return UUID.randomUUID().toString();
+  }
+}
@@ -2,11 +2,12 @@ package sg.com.gic.orderprocessingsystem.order.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import sg.com.gic.orderprocessingsystem.eventbus.EventPublisher;
 import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.id.IdGenerator;
 import sg.com.gic.orderprocessingsystem.order.domain.Order;
 import sg.com.gic.orderprocessingsystem.order.entity.OrderEntity;
 import sg.com.gic.orderprocessingsystem.order.repository.OrderRepository;
@@ -15,10 +16,13 @@ import sg.com.gic.orderprocessingsystem.order.repository.OrderRepository;
 public class OrderService {
   private final EventPublisher eventPublisher;
   private final OrderRepository orderRepository;
+  private final IdGenerator idGenerator;
 
-  public OrderService(EventPublisher eventPublisher, OrderRepository orderRepository) {
+  public OrderService(EventPublisher eventPublisher, OrderRepository orderRepository,
+      IdGenerator idGenerator) {
     this.orderRepository = orderRepository;
     this.eventPublisher = eventPublisher;
+    this.idGenerator = idGenerator;
   }
 
   public Order resendOrder(String orderId) {
@@ -37,13 +41,18 @@ public class OrderService {
         .orElseThrow(() -> new IllegalArgumentException("Order not found: " + orderId));
   }
 
+  /**
+   * Saves the order and its outbox row in one transaction, so an order is never stored without its
+   * event or vice versa. In-process listeners are dispatched only once that transaction commits.
+   */
+  @Transactional
   public Order createOrder(Double amount, String customerEmail) {
-    String orderId = UUID.randomUUID().toString();
+    String orderId = idGenerator.nextId();
     Order order = new Order(orderId, amount, customerEmail, LocalDateTime.now());
 
     orderRepository.save(toEntity(order));
 
-    // Publish event synchronously so that subscriber exceptions propagate
+    // Joins this transaction; dispatch to listeners is deferred until after commit
     OrderCreatedEvent event = new OrderCreatedEvent(orderId, amount, customerEmail);
     eventPublisher.publish(event);
 
@@ -1,31 +1,80 @@
 package sg.com.gic.orderprocessingsystem.payment.listener;
 
 import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
-import sg.com.gic.orderprocessingsystem.eventbus.EventSubscriber;
+import sg.com.gic.orderprocessingsystem.config.ListenerExecutorConfig;
+import sg.com.gic.orderprocessingsystem.eventbus.batch.EventBatcher;
+import sg.com.gic.orderprocessingsystem.eventbus.batch.EventBatchers;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry;
 import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.metrics.EventMetrics;
+import sg.com.gic.orderprocessingsystem.eventbus.priority.PriorityLanes;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.RetryScheduler;
 import sg.com.gic.orderprocessingsystem.payment.service.PaymentService;
 
 @Component
 public class OrderCreatedEventListener {
 
+  public static final String SUBSCRIBER = "payment";
+
   private static final Logger logger = LoggerFactory.getLogger(OrderCreatedEventListener.class);
 
   private final PaymentService paymentService;
+  private final EventHandlerRegistry eventHandlerRegistry;
+  private final RetryScheduler retryScheduler;
+  private final Consumer<OrderCreatedEvent> handler;
+  private final EventBatcher<OrderCreatedEvent> batcher;
 
-  public OrderCreatedEventListener(PaymentService paymentService) {
+  public OrderCreatedEventListener(PaymentService paymentService, EventHandlerRegistry eventHandlerRegistry,
+      RetryScheduler retryScheduler, EventMetrics eventMetrics, EventBatchers eventBatchers,
+      PriorityLanes priorityLanes) {
     this.paymentService = paymentService;
+    this.eventHandlerRegistry = eventHandlerRegistry;
+    this.retryScheduler = retryScheduler;
+    this.handler = eventMetrics.timed(SUBSCRIBER, paymentService::processOrderCreatedEvent);
+    Consumer<List<OrderCreatedEvent>> batchHandler =
+        eventMetrics.timed(SUBSCRIBER, paymentService::processOrderCreatedEvents);
+    Consumer<List<OrderCreatedEvent>> retriedBatchHandler =
+        batch -> retryScheduler.executeBatch(SUBSCRIBER, batch, batchHandler);
+    if (priorityLanes.enabled()) {
+      // Lanes by order amount, whichever dispatcher or relay delivered the event
+      this.batcher = eventBatchers.start(SUBSCRIBER,
+          priorityLanes.queue(SUBSCRIBER, queued -> queued.event().amount()), priorityLanes.workers(),
+          retriedBatchHandler);
+    } else if (eventBatchers.enabled()) {
+      this.batcher = eventBatchers.start(SUBSCRIBER, retriedBatchHandler);
+    } else {
+      this.batcher = null;
+    }
+  }
+
+  /**
+   * Registers this listener for dispatchers that deliver events without Spring's
+   * {@code @EventListener} support, and for retries another instance left pending.
+   */
+  @PostConstruct
+  public void registerHandlers() {
+    eventHandlerRegistry.register(SUBSCRIBER, OrderCreatedEvent.class, this::handleOrderCreated);
+    retryScheduler.recoverWith(SUBSCRIBER, OrderCreatedEvent.class, handler);
   }
 
-  @Async
+  @Async(ListenerExecutorConfig.PAYMENT_EXECUTOR)
   @EventListener
   public void handleOrderCreated(OrderCreatedEvent event) {
     logger.info("Received CreateOrderRequest for order: {}", event.orderId());
-    paymentService.processOrderCreatedEvent(event);
+    // A failure is retried with backoff and eventually dead-lettered, instead of only being
+    // logged by the async handler. With batching or priority lanes on, the event goes to a worker
+    // and this call returns once its batch has been handled; a failed batch is retried event by
+    // event. A batcher that is full or stopped leaves the event to this thread.
+    if (batcher == null || !batcher.handle(event)) {
+      retryScheduler.execute(SUBSCRIBER, event, handler);
+    }
   }
 
 }
@@ -0,0 +1,124 @@
+package sg.com.gic.orderprocessingsystem.replay.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import sg.com.gic.orderprocessingsystem.exception.ErrorResponse;
+import sg.com.gic.orderprocessingsystem.replay.domain.Replay;
+import sg.com.gic.orderprocessingsystem.replay.dto.ReplayResponse;
+import sg.com.gic.orderprocessingsystem.replay.dto.StartReplayRequest;
+import sg.com.gic.orderprocessingsystem.replay.service.ReplayService;
+
+@RestController
+@RequestMapping("/api/replays")
+@Tag(name = "Replays", description = "Re-deliver stored outbox events to a subscriber")
+public class ReplayController {
+
+  private static final Logger logger = LoggerFactory.getLogger(ReplayController.class);
+  private final ReplayService replayService;
+
+  public ReplayController(ReplayService replayService) {
+    this.replayService = replayService;
+  }
+
+  @PostMapping
+  @Operation(summary = "Start a replay", description = "Replays outbox events in id order to one subscriber at a limited rate")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Replay accepted",
+          content = @Content(schema = @Schema(implementation = ReplayResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Unknown subscriber or event type, or invalid range or rate",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public ResponseEntity<ReplayResponse> startReplay(@RequestBody StartReplayRequest request) {
+    logger.info("Received request to replay events: subscriber={}, eventType={}",
+        request.subscriber(), request.eventType());
+
+    Replay replay = replayService.startReplay(request.subscriber(), request.eventType(),
+        request.fromId(), request.toId(), request.from(), request.to(), request.eventsPerSecond());
+
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(replay));
+  }
+
+  @GetMapping
+  @Operation(summary = "Get all replays", description = "Retrieves every replay and its progress")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved replays",
+          content = @Content(schema = @Schema(implementation = ReplayResponse.class)))
+  })
+  public ResponseEntity<List<ReplayResponse>> getAllReplays() {
+    List<ReplayResponse> responses = replayService.getAllReplays().stream()
+        .map(this::toResponse)
+        .collect(Collectors.toList());
+
+    return ResponseEntity.ok(responses);
+  }
+
+  @GetMapping("/{replayId}")
+  @Operation(summary = "Get a replay", description = "Retrieves the progress of one replay")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved replay",
+          content = @Content(schema = @Schema(implementation = ReplayResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Replay not found",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public ResponseEntity<ReplayResponse> getReplay(@PathVariable String replayId) {
+    return ResponseEntity.ok(toResponse(replayService.getReplay(replayId)));
+  }
+
+  @PostMapping("/{replayId}/pause")
+  @Operation(summary = "Pause a replay", description = "Stops a replay after the event in progress; it can be resumed from its checkpoint")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Pause requested",
+          content = @Content(schema = @Schema(implementation = ReplayResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Replay not found",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public ResponseEntity<ReplayResponse> pauseReplay(@PathVariable String replayId) {
+    logger.info("Received request to pause replay {}", replayId);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(replayService.pauseReplay(replayId)));
+  }
+
+  @PostMapping("/{replayId}/resume")
+  @Operation(summary = "Resume a replay", description = "Continues a paused or failed replay after its checkpoint")
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "202", description = "Replay resumed",
+          content = @Content(schema = @Schema(implementation = ReplayResponse.class))),
+      @ApiResponse(responseCode = "400", description = "Replay not found or not paused or failed",
+          content = @Content(schema = @Schema(implementation = ErrorResponse.class)))
+  })
+  public ResponseEntity<ReplayResponse> resumeReplay(@PathVariable String replayId) {
+    logger.info("Received request to resume replay {}", replayId);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(toResponse(replayService.resumeReplay(replayId)));
+  }
+
+  private ReplayResponse toResponse(Replay replay) {
+    return new ReplayResponse(
+        replay.replayId(),
+        replay.subscriber(),
+        replay.eventType(),
+        replay.fromId(),
+        replay.toId(),
+        replay.checkpointId(),
+        replay.replayed(),
+        replay.eventsPerSecond(),
+        replay.status(),
+        replay.error(),
+        replay.updatedAt()
+    );
+  }
+}
@@ -0,0 +1,25 @@
+package sg.com.gic.orderprocessingsystem.replay.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.time.LocalDateTime;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record Replay(
+    @JsonProperty("replayId") String replayId,
+    @JsonProperty("subscriber") String subscriber,
+    @JsonProperty("eventType") String eventType,
+    @JsonProperty("fromId") long fromId,
+    @JsonProperty("toId") long toId,
+    @JsonProperty("from") LocalDateTime from,
+    @JsonProperty("to") LocalDateTime to,
+    @JsonProperty("eventsPerSecond") int eventsPerSecond,
+    @JsonProperty("checkpointId") long checkpointId,
+    @JsonProperty("replayed") long replayed,
+    @JsonProperty("status") ReplayStatus status,
+    @JsonProperty("error") String error,
+    @JsonProperty("createdAt") LocalDateTime createdAt,
+    @JsonProperty("updatedAt") LocalDateTime updatedAt
+) {
+
+}
@@ -0,0 +1,12 @@
+package sg.com.gic.orderprocessingsystem.replay.domain;
+
+public enum ReplayStatus {
+  /** Accepted and waiting for a replay thread. */
+  PENDING,
+  RUNNING,
+  /** Stopped on request or by a restart; resumable from its checkpoint. */
+  PAUSED,
+  COMPLETED,
+  /** A handler threw; resuming retries the event after the checkpoint. */
+  FAILED
+}
@@ -0,0 +1,24 @@
+package sg.com.gic.orderprocessingsystem.replay.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+import sg.com.gic.orderprocessingsystem.replay.domain.ReplayStatus;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(name = "ReplayResponse", description = "Progress of an outbox replay")
+public record ReplayResponse(
+    @JsonProperty("replayId") @Schema(description = "Unique replay identifier") String replayId,
+    @JsonProperty("subscriber") @Schema(description = "Subscriber the events are delivered to", example = "notification") String subscriber,
+    @JsonProperty("eventType") @Schema(description = "Event type filter, if any") String eventType,
+    @JsonProperty("fromId") @Schema(description = "First outbox id in range") long fromId,
+    @JsonProperty("toId") @Schema(description = "Last outbox id in range") long toId,
+    @JsonProperty("checkpointId") @Schema(description = "Last outbox id delivered; a resume continues after it") long checkpointId,
+    @JsonProperty("replayed") @Schema(description = "Events delivered so far") long replayed,
+    @JsonProperty("eventsPerSecond") @Schema(description = "Delivery rate limit") int eventsPerSecond,
+    @JsonProperty("status") @Schema(description = "Replay status") ReplayStatus status,
+    @JsonProperty("error") @Schema(description = "Failure message when status is FAILED") String error,
+    @JsonProperty("updatedAt") @Schema(description = "Time of the last checkpoint") LocalDateTime updatedAt) {
+
+}
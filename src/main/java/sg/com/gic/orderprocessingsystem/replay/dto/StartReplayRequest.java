@@ -0,0 +1,19 @@
+package sg.com.gic.orderprocessingsystem.replay.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.LocalDateTime;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(name = "StartReplayRequest", description = "Outbox events to replay and where to send them; every filter is optional")
+public record StartReplayRequest(
+    @JsonProperty("subscriber") @Schema(description = "Subscriber to deliver to", example = "notification") String subscriber,
+    @JsonProperty("eventType") @Schema(description = "Only events of this type", example = "PaymentSucceededEvent") String eventType,
+    @JsonProperty("fromId") @Schema(description = "First outbox id, inclusive") Long fromId,
+    @JsonProperty("toId") @Schema(description = "Last outbox id, inclusive; defaults to the newest id when the replay starts") Long toId,
+    @JsonProperty("from") @Schema(description = "Only events created at or after this time") LocalDateTime from,
+    @JsonProperty("to") @Schema(description = "Only events created before this time") LocalDateTime to,
+    @JsonProperty("eventsPerSecond") @Schema(description = "Delivery rate limit", example = "100") Integer eventsPerSecond) {
+
+}
@@ -0,0 +1,155 @@
+package sg.com.gic.orderprocessingsystem.replay.entity;
+
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import sg.com.gic.orderprocessingsystem.replay.domain.ReplayStatus;
+
+@Entity
+@Table(name = "outbox_replays")
+public class ReplayEntity {
+
+  @Id
+  @Column(name = "replay_id", nullable = false)
+  private String replayId;
+
+  @Column(name = "subscriber", nullable = false)
+  private String subscriber;
+
+  @Column(name = "event_type")
+  private String eventType;
+
+  @Column(name = "from_id", nullable = false)
+  private long fromId;
+
+  @Column(name = "to_id", nullable = false)
+  private long toId;
+
+  @Column(name = "from_time")
+  private LocalDateTime from;
+
+  @Column(name = "to_time")
+  private LocalDateTime to;
+
+  @Column(name = "events_per_second", nullable = false)
+  private int eventsPerSecond;
+
+  @Column(name = "checkpoint_id", nullable = false)
+  private long checkpointId;
+
+  @Column(name = "replayed", nullable = false)
+  private long replayed;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status", nullable = false)
+  private ReplayStatus status;
+
+  @Column(name = "error", length = 1000)
+  private String error;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at", nullable = false)
+  private LocalDateTime updatedAt;
+
+  protected ReplayEntity() {
+  }
+
+  public ReplayEntity(String replayId, String subscriber, String eventType, long fromId, long toId,
+      LocalDateTime from, LocalDateTime to, int eventsPerSecond, LocalDateTime createdAt) {
+    this.replayId = replayId;
+    this.subscriber = subscriber;
+    this.eventType = eventType;
+    this.fromId = fromId;
+    this.toId = toId;
+    this.from = from;
+    this.to = to;
+    this.eventsPerSecond = eventsPerSecond;
+    this.checkpointId = fromId - 1;
+    this.status = ReplayStatus.PENDING;
+    this.createdAt = createdAt;
+    this.updatedAt = createdAt;
+  }
+
+  public String getReplayId() {
+    return replayId;
+  }
+
+  public String getSubscriber() {
+    return subscriber;
+  }
+
+  public String getEventType() {
+    return eventType;
+  }
+
+  public long getFromId() {
+    return fromId;
+  }
+
+  public long getToId() {
+    return toId;
+  }
+
+  public LocalDateTime getFrom() {
+    return from;
+  }
+
+  public LocalDateTime getTo() {
+    return to;
+  }
+
+  public int getEventsPerSecond() {
+    return eventsPerSecond;
+  }
+
+  public long getCheckpointId() {
+    return checkpointId;
+  }
+
+  public void setCheckpointId(long checkpointId) {
+    this.checkpointId = checkpointId;
+  }
+
+  public long getReplayed() {
+    return replayed;
+  }
+
+  public void setReplayed(long replayed) {
+    this.replayed = replayed;
+  }
+
+  public ReplayStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(ReplayStatus status) {
+    this.status = status;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+}
@@ -0,0 +1,13 @@
+package sg.com.gic.orderprocessingsystem.replay.repository;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import sg.com.gic.orderprocessingsystem.replay.domain.ReplayStatus;
+import sg.com.gic.orderprocessingsystem.replay.entity.ReplayEntity;
+
+@Repository
+public interface ReplayRepository extends JpaRepository<ReplayEntity, String> {
+
+  List<ReplayEntity> findByStatusIn(List<ReplayStatus> statuses);
+}
@@ -0,0 +1,59 @@
+package sg.com.gic.orderprocessingsystem.replay.service;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting a single replay thread to a steady rate. Tokens refill continuously at
+ * {@code permitsPerSecond} up to one second's worth, so a replay that was held up by a slow handler
+ * can catch up by at most one second of events rather than bursting through the whole backlog.
+ *
+ * <p>Not thread-safe: each replay owns its bucket.
+ */
+class TokenBucket {
+
+  interface Sleeper {
+    void sleep(long nanos) throws InterruptedException;
+  }
+
+  private final double nanosPerPermit;
+  private final double capacity;
+  private final LongSupplier clock;
+  private final Sleeper sleeper;
+  private double tokens;
+  private long refilledAt;
+
+  TokenBucket(int permitsPerSecond) {
+    this(permitsPerSecond, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+  }
+
+  TokenBucket(int permitsPerSecond, LongSupplier clock, Sleeper sleeper) {
+    if (permitsPerSecond <= 0) {
+      throw new IllegalArgumentException("permitsPerSecond must be positive: " + permitsPerSecond);
+    }
+    this.nanosPerPermit = TimeUnit.SECONDS.toNanos(1) / (double) permitsPerSecond;
+    this.capacity = permitsPerSecond;
+    this.clock = clock;
+    this.sleeper = sleeper;
+    this.tokens = 1;
+    this.refilledAt = clock.getAsLong();
+  }
+
+  /**
+   * Takes one permit, sleeping until it is available.
+   */
+  void acquire() throws InterruptedException {
+    refill();
+    if (tokens < 1) {
+      sleeper.sleep((long) Math.ceil((1 - tokens) * nanosPerPermit));
+      refill();
+    }
+    tokens = Math.max(0, tokens - 1);
+  }
+
+  private void refill() {
+    long now = clock.getAsLong();
+    tokens = Math.min(capacity, tokens + (now - refilledAt) / nanosPerPermit);
+    refilledAt = now;
+  }
+}
@@ -0,0 +1,66 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DatabaseConcurrencyLimiter Unit Tests")
+class DatabaseConcurrencyLimiterTest {
+
+  @Test
+  @DisplayName("Should never let more tasks than permits run at once")
+  void capsConcurrency() throws InterruptedException {
+    // Given
+    DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(3);
+    AtomicInteger inside = new AtomicInteger();
+    AtomicInteger peak = new AtomicInteger();
+    CountDownLatch done = new CountDownLatch(200);
+
+    // When
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 200; i++) {
+        executor.execute(() -> {
+          limiter.run(() -> {
+            peak.accumulateAndGet(inside.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(1);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            inside.decrementAndGet();
+          });
+          done.countDown();
+        });
+      }
+      assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    // Then
+    assertThat(peak.get()).isBetween(1, 3);
+  }
+
+  @Test
+  @DisplayName("Should release the permit when the work throws")
+  void releasesOnFailure() {
+    // Given
+    DatabaseConcurrencyLimiter limiter = new DatabaseConcurrencyLimiter(1);
+
+    // When
+    try {
+      limiter.run(() -> {
+        throw new IllegalStateException("boom");
+      });
+    } catch (IllegalStateException expected) {
+      // ignored
+    }
+
+    // Then
+    assertThat(limiter.call(() -> "ok")).isEqualTo("ok");
+  }
+}
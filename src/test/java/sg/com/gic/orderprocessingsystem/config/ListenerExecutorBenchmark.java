@@ -0,0 +1,100 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * JMH comparison of payment-stage throughput (orders/s) on the platform pool and on virtual
+ * threads. Each order blocks in a simulated gateway call, then does its database work under the
+ * {@link DatabaseConcurrencyLimiter}, like {@code PaymentService.processOrderCreatedEvent}.
+ *
+ * <p>Run with {@code ./mvnw test -Pbenchmark -Dtest=ListenerExecutorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@DisplayName("Listener executor benchmark")
+public class ListenerExecutorBenchmark {
+
+  private static final int ORDERS_PER_INVOCATION = 400;
+
+  @Param({"platform", "virtual"})
+  public String mode;
+
+  @Param({"10"})
+  public long gatewayMillis;
+
+  private AsyncTaskExecutor executor;
+  private DatabaseConcurrencyLimiter databaseLimiter;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    databaseLimiter = new DatabaseConcurrencyLimiter(10);
+    if (mode.equals("platform")) {
+      // Default pool size; the queue is sized so nothing is rejected during the run
+      ThreadPoolTaskExecutor pool = ListenerExecutorConfig.boundedExecutor("bench-", 4, ORDERS_PER_INVOCATION);
+      pool.initialize();
+      executor = pool;
+    } else {
+      executor = ListenerExecutorConfig.virtualThreadExecutor("bench-", 1000);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (executor instanceof ThreadPoolTaskExecutor pool) {
+      pool.shutdown();
+    } else {
+      ((SimpleAsyncTaskExecutor) executor).close();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ORDERS_PER_INVOCATION)
+  public void processOrders() throws InterruptedException {
+    CountDownLatch done = new CountDownLatch(ORDERS_PER_INVOCATION);
+    for (int i = 0; i < ORDERS_PER_INVOCATION; i++) {
+      executor.execute(() -> {
+        try {
+          Thread.sleep(gatewayMillis);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        databaseLimiter.run(() -> Math.sqrt(System.nanoTime()));
+        done.countDown();
+      });
+    }
+    done.await();
+  }
+
+  @Test
+  @DisplayName("Run JMH")
+  void run() throws RunnerException {
+    new Runner(new OptionsBuilder().include(ListenerExecutorBenchmark.class.getName()).build()).run();
+  }
+}
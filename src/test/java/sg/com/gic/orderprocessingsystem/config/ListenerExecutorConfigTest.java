@@ -0,0 +1,84 @@
+package sg.com.gic.orderprocessingsystem.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@DisplayName("ListenerExecutorConfig Unit Tests")
+class ListenerExecutorConfigTest {
+
+  @Test
+  @DisplayName("Platform mode should reject tasks once the pool and queue are full")
+  void platformModeRejectsWhenFull() throws InterruptedException {
+    // Given
+    ThreadPoolTaskExecutor executor = (ThreadPoolTaskExecutor) new ListenerExecutorConfig("platform")
+        .paymentListenerExecutor(1, 1, 1000);
+    executor.initialize();
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      executor.execute(() -> awaitQuietly(release));
+      executor.execute(() -> { });
+
+      // When / Then
+      assertThatThrownBy(() -> executor.execute(() -> { })).isInstanceOf(TaskRejectedException.class);
+    } finally {
+      release.countDown();
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Virtual mode should run listeners on virtual threads up to the concurrency cap")
+  void virtualModeRunsOnVirtualThreadsWithCap() throws InterruptedException {
+    // Given
+    AsyncTaskExecutor executor = new ListenerExecutorConfig("virtual").paymentListenerExecutor(4, 100, 2);
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(2);
+    AtomicBoolean virtual = new AtomicBoolean(true);
+    AtomicInteger running = new AtomicInteger();
+    Runnable blocking = () -> {
+      virtual.compareAndSet(true, Thread.currentThread().isVirtual());
+      running.incrementAndGet();
+      started.countDown();
+      awaitQuietly(release);
+    };
+    try {
+      executor.execute(blocking);
+      executor.execute(blocking);
+      assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+      // When / Then
+      assertThatThrownBy(() -> executor.execute(blocking)).isInstanceOf(TaskRejectedException.class);
+      assertThat(virtual).isTrue();
+      assertThat(running).hasValue(2);
+    } finally {
+      release.countDown();
+      ((SimpleAsyncTaskExecutor) executor).close();
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject an unknown mode")
+  void rejectsUnknownMode() {
+    assertThatThrownBy(() -> new ListenerExecutorConfig("green"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
@@ -19,6 +20,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @SpringBootTest
 @AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
 @DisplayName("End-to-End Integration Tests")
 class EndToEndIntegrationTest {
 
@@ -256,5 +258,56 @@ class EndToEndIntegrationTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$[*].amount", hasItem(99999.99)));
     }
-}
 
+    @Test
+    @DisplayName("Should charge and notify once when an order is resent")
+    void shouldChargeOnceWhenOrderIsResent() throws Exception {
+        // Given - an order that has been paid
+        CreateOrderRequest orderRequest = new CreateOrderRequest(64.0, "resend-once@example.com");
+        String response = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String orderId = objectMapper.readTree(response).get("orderId").asText();
+        Thread.sleep(1500);
+
+        // When - the order created event is published again
+        mockMvc.perform(post("/api/orders/{orderId}/resend", orderId))
+                .andExpect(status().isOk());
+        Thread.sleep(1500);
+
+        // Then - the duplicate event is recognised and no second payment or notification is made
+        mockMvc.perform(get("/api/payments")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.orderId == '" + orderId + "')]", hasSize(1)));
+        mockMvc.perform(get("/api/notifications")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.orderId == '" + orderId + "')]", hasSize(1)));
+    }
+
+    @Test
+    @DisplayName("Should expose outbox and handler metrics in Prometheus format")
+    void shouldExposePrometheusMetrics() throws Exception {
+        // Given - an order that has been paid and notified
+        CreateOrderRequest orderRequest = new CreateOrderRequest(12.0, "metrics@example.com");
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(orderRequest)))
+                .andExpect(status().isCreated());
+        Thread.sleep(1500);
+
+        // When / Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/plain"))
+                .andExpect(content().string(containsString("# TYPE outbox_dispatch_latency_seconds histogram")))
+                .andExpect(content().string(containsString(
+                        "event_handler_duration_seconds_count{outcome=\"success\",subscriber=\"payment\"}")))
+                .andExpect(content().string(containsString("outbox_pending{type=\"OrderCreatedEvent\"}")));
+    }
+}
@@ -0,0 +1,217 @@
+package sg.com.gic.orderprocessingsystem.eventbus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Drain latency of the outbox with and without the covering index and hot/cold split.
+ *
+ * <p>Not part of the regular test run; execute with {@code ./mvnw test -Pbenchmark
+ * -Dtest=OutboxDrainBenchmark}. History sizes default to 10k, 1M and 10M rows and can be narrowed
+ * with {@code -Dbenchmark.outbox.history=10000,1000000}. Databases are file-backed under
+ * {@code target/outbox-benchmark} and dropped after each run.
+ *
+ * <p>"flat" and "split" drain with a keyset page query per event type followed by one bulk
+ * UPDATE of a processed flag per page. "flat" is the original schema with the whole history
+ * flagged processed in {@code outbox_events}; "split" has a covering index and keeps history in
+ * {@code outbox_events_done}. "cursor" is the current append-only layout: history in
+ * {@code outbox_events_done}, one primary-key page query over all types and one consumer offset
+ * update per page.
+ */
+@DisplayName("Outbox drain benchmark")
+class OutboxDrainBenchmark {
+
+  private static final int BACKLOG = 5_000;
+  private static final int PAGE_SIZE = 500;
+  private static final String PAYLOAD = "{\"orderId\":\"3f0c8f5e-1d2b-4c6e-9a7f-5b8e2d1c4a6b\","
+      + "\"amount\":199.99,\"customerEmail\":\"benchmark-customer@example.com\"}";
+
+  static List<Long> historySizes() {
+    String sizes = System.getProperty("benchmark.outbox.history", "10000,1000000,10000000");
+    return Arrays.stream(sizes.split(",")).map(String::trim).map(Long::valueOf).toList();
+  }
+
+  @BeforeAll
+  static void warmUp() throws SQLException {
+    OutboxDrainBenchmark warmUp = new OutboxDrainBenchmark();
+    for (Layout layout : Layout.values()) {
+      warmUp.drain("warmup", 10_000, layout);
+    }
+  }
+
+  @ParameterizedTest(name = "history={0}")
+  @MethodSource("historySizes")
+  @DisplayName("Drain latency versus history size")
+  void drainLatency(long history) throws SQLException {
+    long flat = drain("flat", history, Layout.FLAT);
+    long split = drain("split", history, Layout.SPLIT);
+    long cursor = drain("cursor", history, Layout.CURSOR);
+    System.out.printf("outbox drain: history=%,d backlog=%,d flat=%,d ms split=%,d ms cursor=%,d ms%n",
+        history, BACKLOG, flat, split, cursor);
+  }
+
+  private enum Layout { FLAT, SPLIT, CURSOR }
+
+  private long drain(String name, long history, Layout layout) throws SQLException {
+    // File-backed so that 10M rows stay within the page cache instead of the heap
+    String url = "jdbc:h2:file:./target/outbox-benchmark/" + name + "_" + layout + "_" + history;
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      createSchema(connection, layout);
+      loadHistory(connection, history, layout != Layout.FLAT);
+      loadBacklog(connection, history, layout);
+
+      long start = System.nanoTime();
+      int drained = layout == Layout.CURSOR
+          ? drainCursor(connection)
+          : drainType(connection, 1) + drainType(connection, 2);
+      long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+      assertThat(drained).isEqualTo(BACKLOG);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DROP ALL OBJECTS DELETE FILES");
+      }
+      return elapsedMillis;
+    }
+  }
+
+  private void createSchema(Connection connection, Layout layout) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+      statement.execute("CREATE TABLE outbox_events (id BIGINT PRIMARY KEY, "
+          + "type_code INT NOT NULL, schema_version INT NOT NULL, payload CLOB NOT NULL, "
+          + "created_at TIMESTAMP NOT NULL"
+          + (layout == Layout.CURSOR ? ")" : ", processed BOOLEAN NOT NULL)"));
+      if (layout == Layout.SPLIT) {
+        statement.execute("CREATE INDEX idx_outbox_events_pending "
+            + "ON outbox_events (processed, type_code, id)");
+      }
+      if (layout == Layout.CURSOR) {
+        statement.execute("CREATE TABLE outbox_consumer_offsets (consumer VARCHAR(100) PRIMARY KEY, "
+            + "last_event_id BIGINT NOT NULL, updated_at TIMESTAMP NOT NULL)");
+        statement.execute("INSERT INTO outbox_consumer_offsets VALUES ('benchmark', 0, LOCALTIMESTAMP)");
+      }
+      if (layout != Layout.FLAT) {
+        statement.execute("CREATE TABLE outbox_events_done (id BIGINT PRIMARY KEY, "
+            + "type_code INT NOT NULL, schema_version INT NOT NULL, payload CLOB NOT NULL, "
+            + "created_at TIMESTAMP NOT NULL, done_at TIMESTAMP NOT NULL)");
+      }
+    }
+  }
+
+  private void loadHistory(Connection connection, long history, boolean split) throws SQLException {
+    String target = split
+        ? "outbox_events_done (id, type_code, schema_version, payload, created_at, done_at) "
+            + "SELECT X, MOD(X, 2) + 1, 1, "
+            + "?, LOCALTIMESTAMP, LOCALTIMESTAMP"
+        : "outbox_events (id, type_code, schema_version, payload, created_at, processed) "
+            + "SELECT X, MOD(X, 2) + 1, 1, "
+            + "?, LOCALTIMESTAMP, TRUE";
+    try (PreparedStatement statement = connection.prepareStatement(
+        "INSERT INTO " + target + " FROM SYSTEM_RANGE(1, ?)")) {
+      statement.setString(1, PAYLOAD);
+      statement.setLong(2, history);
+      statement.executeUpdate();
+    }
+  }
+
+  private void loadBacklog(Connection connection, long history, Layout layout) throws SQLException {
+    try (PreparedStatement statement = connection.prepareStatement(layout == Layout.CURSOR
+        ? "INSERT INTO outbox_events (id, type_code, schema_version, payload, created_at) "
+            + "SELECT X, MOD(X, 2) + 1, 1, ?, LOCALTIMESTAMP FROM SYSTEM_RANGE(?, ?)"
+        : "INSERT INTO outbox_events (id, type_code, schema_version, payload, created_at, processed) "
+            + "SELECT X, MOD(X, 2) + 1, 1, "
+            + "?, LOCALTIMESTAMP, FALSE FROM SYSTEM_RANGE(?, ?)")) {
+      statement.setString(1, PAYLOAD);
+      statement.setLong(2, history + 1);
+      statement.setLong(3, history + BACKLOG);
+      statement.executeUpdate();
+    }
+  }
+
+  private int drainType(Connection connection, int typeCode) throws SQLException {
+    int drained = 0;
+    long lastId = 0L;
+    List<Long> page;
+    try (PreparedStatement select = connection.prepareStatement(
+        "SELECT id, payload FROM outbox_events WHERE type_code = ? AND processed = FALSE "
+            + "AND id > ? ORDER BY id FETCH FIRST ? ROWS ONLY")) {
+      do {
+        select.setInt(1, typeCode);
+        select.setLong(2, lastId);
+        select.setInt(3, PAGE_SIZE);
+        page = new ArrayList<>(PAGE_SIZE);
+        try (ResultSet rows = select.executeQuery()) {
+          while (rows.next()) {
+            page.add(rows.getLong(1));
+            rows.getString(2);
+          }
+        }
+        if (!page.isEmpty()) {
+          markProcessed(connection, page);
+          lastId = page.get(page.size() - 1);
+          drained += page.size();
+        }
+      } while (page.size() == PAGE_SIZE);
+    }
+    return drained;
+  }
+
+  private int drainCursor(Connection connection) throws SQLException {
+    int drained = 0;
+    long lastId;
+    try (Statement statement = connection.createStatement();
+        ResultSet offset = statement.executeQuery(
+            "SELECT last_event_id FROM outbox_consumer_offsets WHERE consumer = 'benchmark'")) {
+      offset.next();
+      lastId = offset.getLong(1);
+    }
+    int read;
+    try (PreparedStatement select = connection.prepareStatement(
+        "SELECT id, type_code, payload FROM outbox_events WHERE id > ? ORDER BY id "
+            + "FETCH FIRST ? ROWS ONLY");
+        PreparedStatement advance = connection.prepareStatement(
+            "UPDATE outbox_consumer_offsets SET last_event_id = ?, updated_at = LOCALTIMESTAMP "
+                + "WHERE consumer = 'benchmark'")) {
+      do {
+        select.setLong(1, lastId);
+        select.setInt(2, PAGE_SIZE);
+        read = 0;
+        try (ResultSet rows = select.executeQuery()) {
+          while (rows.next()) {
+            lastId = rows.getLong(1);
+            rows.getInt(2);
+            rows.getString(3);
+            read++;
+          }
+        }
+        if (read > 0) {
+          advance.setLong(1, lastId);
+          advance.executeUpdate();
+          drained += read;
+        }
+      } while (read == PAGE_SIZE);
+    }
+    return drained;
+  }
+
+  private void markProcessed(Connection connection, List<Long> ids) throws SQLException {
+    try (PreparedStatement update = connection.prepareStatement(
+        "UPDATE outbox_events SET processed = TRUE WHERE id = ANY(?)")) {
+      update.setArray(1, connection.createArrayOf("BIGINT", ids.toArray()));
+      update.executeUpdate();
+    }
+  }
+}
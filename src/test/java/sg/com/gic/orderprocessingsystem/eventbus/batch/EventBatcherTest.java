@@ -0,0 +1,228 @@
+package sg.com.gic.orderprocessingsystem.eventbus.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sg.com.gic.orderprocessingsystem.eventbus.batch.EventBatcher.Queued;
+
+@DisplayName("EventBatcher Unit Tests")
+class EventBatcherTest {
+
+  private final List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+  private final ExecutorService callers = Executors.newCachedThreadPool();
+  private EventBatcher<Integer> batcher;
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (batcher != null) {
+      batcher.stop();
+    }
+    callers.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("should hand over a full batch without waiting out max-wait")
+  void flushesFullBatch() throws Exception {
+    // Given: a wait far longer than the test
+    batcher = start(3, 60_000, batches::add);
+
+    // When
+    List<CompletableFuture<Boolean>> handled = List.of(handleAsync(1), handleAsync(2), handleAsync(3));
+
+    // Then
+    CompletableFuture.allOf(handled.toArray(CompletableFuture[]::new)).get(2, TimeUnit.SECONDS);
+    assertThat(batches).hasSize(1);
+    assertThat(batches.get(0)).containsExactlyInAnyOrder(1, 2, 3);
+  }
+
+  @Test
+  @DisplayName("should hand over a partial batch once max-wait has passed")
+  void flushesPartialBatchAfterMaxWait() {
+    // Given
+    batcher = start(100, 20, batches::add);
+
+    // When
+    boolean handled = batcher.handle(1);
+
+    // Then
+    assertThat(handled).isTrue();
+    assertThat(batches).containsExactly(List.of(1));
+  }
+
+  @Test
+  @DisplayName("handle() should return only once the batch holding the event has been handled")
+  void waitsForBatch() throws Exception {
+    // Given: a handler held until released
+    CountDownLatch release = new CountDownLatch(1);
+    batcher = start(1, 0, batch -> {
+      await(release);
+      batches.add(batch);
+    });
+
+    // When
+    CompletableFuture<Boolean> handled = handleAsync(1);
+    Thread.sleep(100);
+
+    // Then
+    assertThat(handled).isNotDone();
+    release.countDown();
+    assertThat(handled.get(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(batches).containsExactly(List.of(1));
+  }
+
+  @Test
+  @DisplayName("handle() should reject an event without blocking when the queue is full")
+  void rejectsWhenFull() throws Exception {
+    // Given: the worker is busy with one event and another fills the queue
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch started = new CountDownLatch(1);
+    batcher = new EventBatcher<>("test", 1, 0, 1, false, batch -> {
+      started.countDown();
+      await(release);
+      batches.add(batch);
+    });
+    batcher.start();
+    CompletableFuture<Boolean> first = handleAsync(1);
+    assertThat(started.await(2, TimeUnit.SECONDS)).isTrue();
+    CompletableFuture<Boolean> second = handleAsync(2);
+    while (batcher.pending() == 0) {
+      Thread.sleep(5);
+    }
+
+    // When
+    boolean third = batcher.handle(3);
+
+    // Then
+    assertThat(third).isFalse();
+    release.countDown();
+    assertThat(first.get(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.get(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(batches).containsExactly(List.of(1), List.of(2));
+  }
+
+  @Test
+  @DisplayName("stop() should hand over queued events and reject new ones")
+  void stopFlushesQueuedEvents() throws Exception {
+    // Given: two callers waiting on a long max-wait
+    batcher = start(100, 60_000, batches::add);
+    CompletableFuture<Boolean> first = handleAsync(1);
+    CompletableFuture<Boolean> second = handleAsync(2);
+    Thread.sleep(100);
+
+    // When
+    batcher.stop();
+
+    // Then
+    assertThat(first.get(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(second.get(2, TimeUnit.SECONDS)).isTrue();
+    assertThat(batches).hasSize(1);
+    assertThat(batches.get(0)).containsExactlyInAnyOrder(1, 2);
+    assertThat(batcher.handle(3)).isFalse();
+  }
+
+  @Test
+  @DisplayName("should keep batching after a handler throws")
+  void survivesHandlerFailure() {
+    // Given: the first batch fails
+    batcher = start(1, 0, batch -> {
+      if (batch.contains(1)) {
+        throw new IllegalStateException("boom");
+      }
+      batches.add(batch);
+    });
+
+    // When
+    boolean failed = batcher.handle(1);
+    boolean handled = batcher.handle(2);
+
+    // Then: the handler owns its failures, so both count as handed over
+    assertThat(failed).isTrue();
+    assertThat(handled).isTrue();
+    assertThat(batches).containsExactly(List.of(2));
+  }
+
+  @Test
+  @DisplayName("should hand batches to another worker while one is busy")
+  void runsBatchesOnSeveralWorkers() throws Exception {
+    // Given: two workers, and the first batch blocks until the second has been handled
+    CountDownLatch secondHandled = new CountDownLatch(1);
+    CountDownLatch firstStarted = new CountDownLatch(1);
+    batcher = new EventBatcher<>("test", 1, 0, new ArrayBlockingQueue<Queued<Integer>>(10), 2, false,
+        batch -> {
+          if (batch.contains(1)) {
+            firstStarted.countDown();
+            await(secondHandled);
+          } else {
+            batches.add(batch);
+            secondHandled.countDown();
+          }
+        });
+    batcher.start();
+
+    // When
+    CompletableFuture<Boolean> first = handleAsync(1);
+    assertThat(firstStarted.await(2, TimeUnit.SECONDS)).isTrue();
+    boolean second = batcher.handle(2);
+
+    // Then
+    assertThat(second).isTrue();
+    assertThat(batches).containsExactly(List.of(2));
+    assertThat(first.get(2, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("should run the handler on virtual threads when asked to")
+  void runsOnVirtualThreads() {
+    // Given
+    List<Boolean> virtual = new CopyOnWriteArrayList<>();
+    batcher = new EventBatcher<>("test", 1, 0, 10, true,
+        batch -> virtual.add(Thread.currentThread().isVirtual()));
+    batcher.start();
+
+    // When
+    batcher.handle(1);
+
+    // Then
+    assertThat(virtual).containsExactly(true);
+  }
+
+  @Test
+  @DisplayName("constructor should reject a queue smaller than one batch")
+  void rejectsInvalidSettings() {
+    assertThatThrownBy(() -> new EventBatcher<Integer>("payment", 10, 5, 5, false, batches::add))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("queue-capacity=5");
+  }
+
+  private EventBatcher<Integer> start(int maxSize, long maxWaitMillis,
+      Consumer<List<Integer>> handler) {
+    EventBatcher<Integer> started = new EventBatcher<>("test", maxSize, maxWaitMillis, 1000, false,
+        handler);
+    started.start();
+    return started;
+  }
+
+  private CompletableFuture<Boolean> handleAsync(int event) {
+    return CompletableFuture.supplyAsync(() -> batcher.handle(event), callers);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(2, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
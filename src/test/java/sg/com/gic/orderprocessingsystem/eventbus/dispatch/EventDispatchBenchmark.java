@@ -0,0 +1,178 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderScopedEvent;
+
+/**
+ * JMH comparison of in-process fan-out to two subscribers: Spring's event multicaster with
+ * {@code @Async} listeners on a Boot-shaped task executor versus the ring-buffer dispatcher with
+ * each wait strategy, and the order-partitioned lanes. One operation is one event delivered to both subscribers.
+ *
+ * <p>Run with {@code ./mvnw test -Pbenchmark -Dtest=EventDispatchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@DisplayName("Event dispatch benchmark")
+public class EventDispatchBenchmark {
+
+  private static final int EVENTS_PER_INVOCATION = 10_000;
+  private static final String[] ORDER_IDS =
+      IntStream.range(0, 64).mapToObj(i -> "order-" + i).toArray(String[]::new);
+
+  @Param({"spring", "ring-blocking", "ring-sleeping", "ring-yielding", "ring-busy-spin", "partitioned"})
+  public String dispatcher;
+
+  private final AtomicLong delivered = new AtomicLong();
+  private AnnotationConfigApplicationContext springContext;
+  private RingBufferEventDispatcher ringDispatcher;
+  private PartitionedEventDispatcher partitionedDispatcher;
+  private EventDispatcher eventDispatcher;
+
+  public record BenchmarkEvent(String orderId) implements OrderScopedEvent {
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    delivered.set(0);
+    if (dispatcher.equals("spring")) {
+      springContext = new AnnotationConfigApplicationContext();
+      springContext.registerBean(AtomicLong.class, () -> delivered);
+      springContext.register(SpringPath.class);
+      springContext.refresh();
+      eventDispatcher = new ApplicationEventDispatcher(springContext);
+    } else if (dispatcher.equals("partitioned")) {
+      EventHandlerRegistry registry = new EventHandlerRegistry();
+      registry.register("first", BenchmarkEvent.class, e -> delivered.incrementAndGet());
+      registry.register("second", BenchmarkEvent.class, e -> delivered.incrementAndGet());
+      partitionedDispatcher = new PartitionedEventDispatcher(registry, new SimpleMeterRegistry(), 0, 1024, "blocking", 5_000);
+      partitionedDispatcher.start();
+      eventDispatcher = partitionedDispatcher;
+    } else {
+      EventHandlerRegistry registry = new EventHandlerRegistry();
+      registry.register("first", BenchmarkEvent.class, e -> delivered.incrementAndGet());
+      registry.register("second", BenchmarkEvent.class, e -> delivered.incrementAndGet());
+      ringDispatcher = new RingBufferEventDispatcher(registry, 1024, dispatcher.substring("ring-".length()), 5_000);
+      ringDispatcher.start();
+      eventDispatcher = ringDispatcher;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (springContext != null) {
+      springContext.close();
+    }
+    if (ringDispatcher != null) {
+      ringDispatcher.stop();
+    }
+    if (partitionedDispatcher != null) {
+      partitionedDispatcher.stop();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(EVENTS_PER_INVOCATION)
+  public void dispatchAndDrain() {
+    long target = delivered.get() + 2L * EVENTS_PER_INVOCATION;
+    for (int i = 0; i < EVENTS_PER_INVOCATION; i++) {
+      eventDispatcher.dispatch(new BenchmarkEvent(ORDER_IDS[i % ORDER_IDS.length]));
+    }
+    while (delivered.get() < target) {
+      LockSupport.parkNanos(1_000);
+    }
+  }
+
+  @Test
+  @DisplayName("Run JMH")
+  void run() throws RunnerException {
+    new Runner(new OptionsBuilder().include(EventDispatchBenchmark.class.getName()).build()).run();
+  }
+
+  @Configuration
+  @EnableAsync
+  static class SpringPath {
+
+    /** Same shape as Boot's default applicationTaskExecutor: 8 threads, unbounded queue. */
+    @Bean
+    ThreadPoolTaskExecutor taskExecutor() {
+      ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+      executor.setCorePoolSize(8);
+      executor.setThreadNamePrefix("task-");
+      return executor;
+    }
+
+    @Bean
+    FirstListener firstListener(AtomicLong delivered) {
+      return new FirstListener(delivered);
+    }
+
+    @Bean
+    SecondListener secondListener(AtomicLong delivered) {
+      return new SecondListener(delivered);
+    }
+  }
+
+  static class FirstListener {
+
+    private final AtomicLong delivered;
+
+    FirstListener(AtomicLong delivered) {
+      this.delivered = delivered;
+    }
+
+    @Async
+    @EventListener
+    public void on(BenchmarkEvent event) {
+      delivered.incrementAndGet();
+    }
+  }
+
+  static class SecondListener {
+
+    private final AtomicLong delivered;
+
+    SecondListener(AtomicLong delivered) {
+      this.delivered = delivered;
+    }
+
+    @Async
+    @EventListener
+    public void on(BenchmarkEvent event) {
+      delivered.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,231 @@
+package sg.com.gic.orderprocessingsystem.eventbus.dispatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.core.task.TaskRejectedException;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry.Handler;
+
+@DisplayName("RingBufferEventDispatcher Unit Tests")
+class RingBufferEventDispatcherTest {
+
+  private EventHandlerRegistry registry;
+  private RingBufferEventDispatcher dispatcher;
+
+  @BeforeEach
+  void setUp() {
+    registry = new EventHandlerRegistry();
+  }
+
+  @AfterEach
+  void tearDown() {
+    if (dispatcher != null) {
+      dispatcher.stop();
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @ValueSource(strings = {"blocking", "sleeping", "yielding", "busy-spin"})
+  @DisplayName("Should deliver every event in order to every subscriber")
+  void deliversInOrderToEverySubscriber(String waitStrategy) throws InterruptedException {
+    // Given
+    List<Integer> first = new CopyOnWriteArrayList<>();
+    List<Integer> second = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(200);
+    registry.register("first", Integer.class, first::add);
+    registry.register("second", Integer.class, n -> {
+      second.add(n);
+      done.countDown();
+    });
+    dispatcher = start(8, waitStrategy);
+
+    // When: more events than slots, so the ring wraps
+    IntStream.range(0, 200).forEach(dispatcher::dispatch);
+
+    // Then
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    dispatcher.stop();
+    List<Integer> expected = IntStream.range(0, 200).boxed().toList();
+    assertThat(first).containsExactlyElementsOf(expected);
+    assertThat(second).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  @DisplayName("Should only call handlers registered for the event's type")
+  void routesByEventType() throws InterruptedException {
+    // Given
+    List<Object> strings = new CopyOnWriteArrayList<>();
+    List<Object> integers = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(1);
+    registry.register("sub", String.class, strings::add);
+    registry.register("sub", Integer.class, n -> {
+      integers.add(n);
+      done.countDown();
+    });
+    dispatcher = start(4, "blocking");
+
+    // When
+    dispatcher.dispatch("a");
+    dispatcher.dispatch(1);
+
+    // Then
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(strings).containsExactly("a");
+    assertThat(integers).containsExactly(1);
+  }
+
+  @Test
+  @DisplayName("Should keep delivering after a handler throws")
+  void handlerFailureDoesNotStopSubscriber() throws InterruptedException {
+    // Given
+    CountDownLatch done = new CountDownLatch(1);
+    registry.register("sub", Integer.class, n -> {
+      if (n == 0) {
+        throw new IllegalStateException("boom");
+      }
+      done.countDown();
+    });
+    dispatcher = start(4, "blocking");
+
+    // When
+    dispatcher.dispatch(0);
+    dispatcher.dispatch(1);
+
+    // Then
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should deliver events from concurrent publishers without loss")
+  void concurrentPublishers() throws InterruptedException {
+    // Given
+    int perThread = 5_000;
+    CountDownLatch done = new CountDownLatch(4 * perThread);
+    registry.register("sub", Integer.class, n -> done.countDown());
+    dispatcher = start(64, "blocking");
+
+    // When
+    List<Thread> publishers = IntStream.range(0, 4)
+        .mapToObj(t -> new Thread(() -> IntStream.range(0, perThread).forEach(dispatcher::dispatch)))
+        .toList();
+    publishers.forEach(Thread::start);
+    for (Thread publisher : publishers) {
+      publisher.join();
+    }
+
+    // Then
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should not deadlock when a handler publishes into a full ring")
+  void handlerMayPublish() throws InterruptedException {
+    // Given: every Integer is followed by a String published from the handler
+    CountDownLatch done = new CountDownLatch(100);
+    registry.register("republisher", Integer.class, n -> dispatcher.dispatch("after-" + n));
+    registry.register("sink", String.class, s -> done.countDown());
+    dispatcher = start(2, "blocking");
+
+    // When
+    IntStream.range(0, 100).forEach(dispatcher::dispatch);
+
+    // Then
+    assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should reject an event once the ring has stayed full for the publish timeout")
+  void rejectsWhenRingStaysFull() throws InterruptedException {
+    // Given: the subscriber is stuck on the first event, so two more fill the ring
+    CountDownLatch release = new CountDownLatch(1);
+    List<Integer> handled = new CopyOnWriteArrayList<>();
+    CountDownLatch done = new CountDownLatch(3);
+    registry.register("sub", Integer.class, n -> {
+      awaitQuietly(release);
+      handled.add(n);
+      done.countDown();
+    });
+    dispatcher = new RingBufferEventDispatcher(registry, 2, "blocking", 50);
+    dispatcher.start();
+    IntStream.range(0, 3).forEach(dispatcher::dispatch);
+
+    // When / Then
+    long start = System.nanoTime();
+    assertThatThrownBy(() -> dispatcher.dispatch(3)).isInstanceOf(TaskRejectedException.class);
+    assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    release.countDown();
+    assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(handled).containsExactly(0, 1, 2);
+  }
+
+  @Test
+  @DisplayName("Should clear a slot once every subscriber has taken its event")
+  void clearsConsumedSlots() throws InterruptedException {
+    // Given: two subscribers gating the ring, the second not started yet
+    CountDownLatch firstDone = new CountDownLatch(1);
+    CountDownLatch secondDone = new CountDownLatch(1);
+    registry.register("first", String.class, s -> firstDone.countDown());
+    registry.register("second", String.class, s -> secondDone.countDown());
+    Map<String, List<Handler<?>>> handlers = registry.freeze();
+    RingConsumer.Target target = new RingConsumer.Target(new RingBuffer(4), WaitStrategy.forName("blocking"));
+    RingConsumer first = new RingConsumer("first", "test-first", target, () -> { });
+    RingConsumer second = new RingConsumer("second", "test-second", target, () -> { });
+    target.publish(target.ring().next(0), "event");
+
+    // When / Then: the slot is kept until the second subscriber has taken the event too
+    first.start(handlers.get("first"));
+    assertThat(firstDone.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(target.ring().get(0)).isEqualTo("event");
+    second.start(handlers.get("second"));
+    assertThat(secondDone.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(target.ring().get(0)).isNull();
+    for (RingConsumer consumer : List.of(first, second)) {
+      consumer.halt();
+      consumer.join(5_000);
+    }
+  }
+
+  @Test
+  @DisplayName("Should reject invalid configuration and late registrations")
+  void rejectsMisuse() {
+    assertThatThrownBy(() -> new RingBufferEventDispatcher(registry, 3, "blocking", 5_000))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new RingBufferEventDispatcher(registry, 4, "spinning", 100))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new RingBufferEventDispatcher(registry, 4, "blocking", -1))
+        .isInstanceOf(IllegalStateException.class);
+
+    dispatcher = start(4, "blocking");
+    assertThatThrownBy(() -> registry.register("late", String.class, s -> { }))
+        .isInstanceOf(IllegalStateException.class);
+    dispatcher.stop();
+    assertThatThrownBy(() -> dispatcher.dispatch("after-stop"))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private RingBufferEventDispatcher start(int size, String waitStrategy) {
+    RingBufferEventDispatcher started = new RingBufferEventDispatcher(registry, size, waitStrategy, 5_000);
+    started.start();
+    return started;
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Memory-mapped segment log versus the JPA outbox table as the event store.
+ *
+ * <p>Not part of the regular test run; execute with {@code ./mvnw test -Pbenchmark
+ * -Dtest=SegmentLogBenchmark}. The event count defaults to 20,000
+ * ({@code -Dbenchmark.log.events=...}). The outbox side inserts into a file-backed copy of
+ * {@code outbox_events} under {@code target/log-benchmark} with one commit per event, as
+ * {@code publish} does outside a batch; the log side appends to 64 MiB segments under each fsync
+ * policy. Tail reads fetch pages of 500 after a position, as {@code subscribe} and the relay do.
+ */
+@DisplayName("Segment log benchmark")
+class SegmentLogBenchmark {
+
+  private static final int PAGE_SIZE = 500;
+  private static final int SEGMENT_BYTES = 64 * 1024 * 1024;
+  private static final byte[] PAYLOAD = new byte[180];
+  private static final Path ROOT = Path.of("target", "log-benchmark");
+
+  static int events() {
+    return Integer.getInteger("benchmark.log.events", 20_000);
+  }
+
+  @BeforeAll
+  static void warmUp() throws Exception {
+    SegmentLogBenchmark warmUp = new SegmentLogBenchmark();
+    warmUp.outbox("warmup", 5_000);
+    warmUp.log("warmup", FsyncPolicy.NEVER, 50_000);
+  }
+
+  @Test
+  @DisplayName("Append and tail-read throughput, outbox table versus segment log")
+  void appendAndTailRead() throws Exception {
+    int events = events();
+    print("outbox", outbox("outbox", events), events);
+    for (FsyncPolicy policy : FsyncPolicy.values()) {
+      // A forced msync per event is a disk round trip, so fewer events keep the run short
+      int count = policy == FsyncPolicy.ALWAYS ? Math.min(events, 2_000) : events;
+      print("log/" + policy.name().toLowerCase(), log(policy.name(), policy, count), count);
+    }
+  }
+
+  private record Result(long appendsPerSecond, long readsPerSecond) {
+
+  }
+
+  private static void print(String store, Result result, int events) {
+    System.out.printf("event store: %-13s events=%,d append=%,d events/s tail-read=%,d events/s%n",
+        store, events, result.appendsPerSecond(), result.readsPerSecond());
+  }
+
+  private Result outbox(String name, int events) throws SQLException {
+    String url = "jdbc:h2:file:./target/log-benchmark/" + name;
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DROP ALL OBJECTS");
+        statement.execute("CREATE TABLE outbox_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "type_code INT NOT NULL, schema_version INT NOT NULL, codec_id INT NOT NULL, "
+            + "payload BLOB NOT NULL, created_at TIMESTAMP NOT NULL, "
+            + "relay_delivery BOOLEAN NOT NULL, partition_key INT NOT NULL)");
+      }
+      connection.setAutoCommit(false);
+
+      long start = System.nanoTime();
+      try (PreparedStatement insert = connection.prepareStatement("INSERT INTO outbox_events "
+          + "(type_code, schema_version, codec_id, payload, created_at, relay_delivery, partition_key) "
+          + "VALUES (1, 2, 3, ?, ?, FALSE, 0)")) {
+        for (int i = 0; i < events; i++) {
+          insert.setBytes(1, PAYLOAD);
+          insert.setTimestamp(2, new Timestamp(System.currentTimeMillis()));
+          insert.executeUpdate();
+          connection.commit();
+        }
+      }
+      long appendNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      long position = 0;
+      int read = 0;
+      try (PreparedStatement page = connection.prepareStatement("SELECT id, type_code, "
+          + "schema_version, codec_id, payload, created_at FROM outbox_events WHERE id > ? "
+          + "ORDER BY id LIMIT " + PAGE_SIZE)) {
+        boolean more = true;
+        while (more) {
+          page.setLong(1, position);
+          int rows = 0;
+          try (ResultSet rs = page.executeQuery()) {
+            while (rs.next()) {
+              position = rs.getLong(1);
+              assertThat(rs.getBytes(5)).hasSize(PAYLOAD.length);
+              rows++;
+            }
+          }
+          read += rows;
+          more = rows == PAGE_SIZE;
+        }
+      }
+      long readNanos = System.nanoTime() - start;
+      assertThat(read).isEqualTo(events);
+
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DROP ALL OBJECTS DELETE FILES");
+      }
+      return new Result(perSecond(events, appendNanos), perSecond(events, readNanos));
+    }
+  }
+
+  private Result log(String name, FsyncPolicy policy, int events) throws IOException {
+    Path directory = ROOT.resolve("log-" + name.toLowerCase());
+    deleteRecursively(directory);
+    SegmentLog log = new SegmentLog(directory, SEGMENT_BYTES, 4096, policy);
+    try {
+      long start = System.nanoTime();
+      long lastFlush = start;
+      for (int i = 0; i < events; i++) {
+        log.append(1, 2, 3, PAYLOAD);
+        // The publisher's scheduled flush, run inline every second
+        if (policy == FsyncPolicy.INTERVAL && System.nanoTime() - lastFlush > TimeUnit.SECONDS.toNanos(1)) {
+          log.flush();
+          lastFlush = System.nanoTime();
+        }
+      }
+      long appendNanos = System.nanoTime() - start;
+
+      start = System.nanoTime();
+      long position = 0;
+      int read = 0;
+      List<LogRecord> page;
+      do {
+        page = log.read(position, PAGE_SIZE);
+        for (LogRecord record : page) {
+          assertThat(record.payload()).hasSize(PAYLOAD.length);
+          position = record.offset();
+        }
+        read += page.size();
+      } while (page.size() == PAGE_SIZE);
+      long readNanos = System.nanoTime() - start;
+      assertThat(read).isEqualTo(events);
+      return new Result(perSecond(events, appendNanos), perSecond(events, readNanos));
+    } finally {
+      log.close();
+      deleteRecursively(directory);
+    }
+  }
+
+  private static long perSecond(int events, long nanos) {
+    return events * TimeUnit.SECONDS.toNanos(1) / Math.max(1, nanos);
+  }
+
+  private static void deleteRecursively(Path directory) throws IOException {
+    if (!Files.exists(directory)) {
+      return;
+    }
+    try (Stream<Path> files = Files.walk(directory)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package sg.com.gic.orderprocessingsystem.eventbus.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@DisplayName("SegmentLog Unit Tests")
+class SegmentLogTest {
+
+  private static final int SEGMENT_BYTES = 1024;
+  private static final int INDEX_INTERVAL_BYTES = 64;
+  // 8 bytes of header, 28 of fixed fields and a 10-byte payload
+  private static final int RECORD_BYTES = 46;
+  private static final int RECORDS_PER_SEGMENT = 22;
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("Should number records from 1 and read them back with their fields")
+  void appendsAndReads() throws IOException {
+    // Given
+    SegmentLog log = open();
+
+    // When
+    long first = log.append(7, 2, 3, payload(1));
+    long second = log.append(8, 1, 4, payload(2));
+
+    // Then
+    assertThat(first).isEqualTo(1);
+    assertThat(second).isEqualTo(2);
+    assertThat(log.nextOffset()).isEqualTo(3);
+    List<LogRecord> records = log.read(0, 10);
+    assertThat(records).extracting(LogRecord::offset).containsExactly(1L, 2L);
+    LogRecord record = records.get(1);
+    assertThat(record.typeCode()).isEqualTo(8);
+    assertThat(record.schemaVersion()).isEqualTo(1);
+    assertThat(record.codecId()).isEqualTo(4);
+    assertThat(record.payload()).isEqualTo(payload(2));
+    assertThat(record.timestampMillis()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should read a page starting after any offset through the index")
+  void readsFromTheMiddle() throws IOException {
+    // Given
+    SegmentLog log = open();
+    appendRecords(log, 20);
+
+    // When
+    List<LogRecord> page = log.read(13, 4);
+
+    // Then
+    assertThat(page).extracting(LogRecord::offset).containsExactly(14L, 15L, 16L, 17L);
+    assertThat(page.get(0).payload()).isEqualTo(payload(14));
+    assertThat(log.read(20, 4)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should roll to a new segment named after its first offset and read across it")
+  void rollsSegments() throws IOException {
+    // Given
+    SegmentLog log = open();
+
+    // When
+    appendRecords(log, RECORDS_PER_SEGMENT + 3);
+
+    // Then
+    assertThat(log.segmentCount()).isEqualTo(2);
+    assertThat(files(".log")).containsExactly("00000000000000000001.log", "00000000000000000023.log");
+    assertThat(log.read(RECORDS_PER_SEGMENT - 2, 4)).extracting(LogRecord::offset)
+        .containsExactly(21L, 22L, 23L, 24L);
+  }
+
+  @Test
+  @DisplayName("Should reject an event larger than a segment")
+  void rejectsOversizedEvent() throws IOException {
+    // Given
+    SegmentLog log = open();
+
+    // When / Then
+    assertThatThrownBy(() -> log.append(1, 1, 1, new byte[SEGMENT_BYTES]))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("does not fit");
+  }
+
+  @Test
+  @DisplayName("Should refuse a segment size below four index intervals")
+  void rejectsTinySegments() {
+    assertThatThrownBy(() -> new SegmentLog(directory, 128, 64, FsyncPolicy.NEVER))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("event.log.segment-bytes");
+  }
+
+  @Test
+  @DisplayName("Should continue after the last record of every segment when reopened")
+  void recoversOnReopen() throws IOException {
+    // Given
+    SegmentLog log = open();
+    appendRecords(log, RECORDS_PER_SEGMENT + 5);
+    log.close();
+
+    // When
+    SegmentLog reopened = open();
+    long next = reopened.append(1, 1, 1, payload(28));
+
+    // Then
+    assertThat(next).isEqualTo(RECORDS_PER_SEGMENT + 6);
+    assertThat(reopened.read(0, 100)).extracting(LogRecord::offset)
+        .containsExactlyElementsOf(Stream.iterate(1L, o -> o + 1).limit(RECORDS_PER_SEGMENT + 6).toList());
+  }
+
+  @Test
+  @DisplayName("Should drop a torn last record when reopened and reuse its offset")
+  void truncatesTornWrite() throws IOException {
+    // Given a crash in the middle of writing the third record's payload
+    SegmentLog log = open();
+    appendRecords(log, 3);
+    log.close();
+    try (FileChannel file = FileChannel.open(directory.resolve("00000000000000000001.log"),
+        StandardOpenOption.WRITE)) {
+      file.write(ByteBuffer.wrap(new byte[] {'x'}), 2L * RECORD_BYTES + RECORD_BYTES - 1);
+    }
+
+    // When
+    SegmentLog reopened = open();
+    long next = reopened.append(1, 1, 1, payload(9));
+
+    // Then
+    assertThat(next).isEqualTo(3);
+    List<LogRecord> records = reopened.read(0, 10);
+    assertThat(records).extracting(LogRecord::offset).containsExactly(1L, 2L, 3L);
+    assertThat(records.get(2).payload()).isEqualTo(payload(9));
+  }
+
+  @Test
+  @DisplayName("Should keep consumer offsets across restarts and never move them backwards")
+  void persistsConsumerOffsets() throws IOException {
+    // Given
+    SegmentLog log = open();
+    appendRecords(log, 5);
+    assertThat(log.position("subscriber:OrderCreatedEvent")).isZero();
+
+    // When
+    log.advance("subscriber:OrderCreatedEvent", 4);
+    log.advance("subscriber:OrderCreatedEvent", 2);
+    log.close();
+
+    // Then
+    assertThat(open().position("subscriber:OrderCreatedEvent")).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Should delete only segments every consumer has read, keeping the retained ones")
+  void deletesConsumedSegments() throws IOException {
+    // Given four segments and a consumer inside the third
+    SegmentLog log = open();
+    appendRecords(log, 3 * RECORDS_PER_SEGMENT + 1);
+    log.advance("slow", 2 * RECORDS_PER_SEGMENT + 1);
+
+    // When
+    int deleted = log.deleteConsumedSegments(1);
+
+    // Then
+    assertThat(deleted).isEqualTo(2);
+    assertThat(log.segmentCount()).isEqualTo(2);
+    assertThat(files(".log")).containsExactly("00000000000000000045.log", "00000000000000000067.log");
+    assertThat(log.read(0, 1)).extracting(LogRecord::offset).containsExactly(45L);
+
+    // And the retained minimum holds even once everything is read
+    log.advance("slow", log.nextOffset() - 1);
+    assertThat(log.deleteConsumedSegments(2)).isZero();
+    assertThat(log.deleteConsumedSegments(1)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should hold back deletion for consumers persisted before a restart")
+  void keepsSegmentsForPersistedConsumersAfterRestart() throws IOException {
+    // Given four segments and a consumer inside the second, then a restart
+    SegmentLog log = open();
+    appendRecords(log, 3 * RECORDS_PER_SEGMENT + 1);
+    log.advance("subscriber:OrderCreatedEvent", RECORDS_PER_SEGMENT + 1);
+    log.close();
+
+    // When: nothing has asked for the consumer's position since the restart
+    SegmentLog reopened = open();
+    int deleted = reopened.deleteConsumedSegments(1);
+
+    // Then: only the segment it has read past is deleted
+    assertThat(deleted).isEqualTo(1);
+    assertThat(reopened.read(0, 1)).extracting(LogRecord::offset)
+        .containsExactly((long) RECORDS_PER_SEGMENT + 1);
+  }
+
+  private SegmentLog open() throws IOException {
+    return new SegmentLog(directory, SEGMENT_BYTES, INDEX_INTERVAL_BYTES, FsyncPolicy.NEVER);
+  }
+
+  private static void appendRecords(SegmentLog log, int count) {
+    for (int i = 1; i <= count; i++) {
+      log.append(1, 1, 1, payload(i));
+    }
+  }
+
+  private static byte[] payload(int n) {
+    return String.format("payload%03d", n).getBytes(StandardCharsets.US_ASCII);
+  }
+
+  private List<String> files(String suffix) throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.map(f -> f.getFileName().toString()).filter(n -> n.endsWith(suffix)).sorted().toList();
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package sg.com.gic.orderprocessingsystem.eventbus.maintenance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventDoneEntity;
+
+@DisplayName("OutboxSegmentArchiver Unit Tests")
+class OutboxSegmentArchiverTest {
+
+  private static final LocalDateTime CREATED = LocalDateTime.of(2024, 1, 1, 9, 30, 15, 123_000_000);
+
+  @TempDir
+  Path directory;
+
+  @Test
+  @DisplayName("Should read back every appended batch from one segment")
+  void appendsBatchesToOneSegment() throws IOException {
+    // Given
+    OutboxSegmentArchiver archiver = new OutboxSegmentArchiver(directory, 1024 * 1024);
+
+    // When
+    archiver.append(List.of(row(1), row(2)));
+    archiver.append(List.of(row(3)));
+
+    // Then
+    assertThat(segments()).hasSize(1);
+    List<OutboxEventDoneEntity> read = OutboxSegmentArchiver.read(archiver.currentSegment());
+    assertThat(read).extracting(OutboxEventDoneEntity::getId).containsExactly(1L, 2L, 3L);
+    assertThat(read.get(0).getCreatedAt()).isEqualTo(CREATED);
+    assertThat(read.get(2).getPayload()).containsExactly(row(3).getPayload());
+  }
+
+  @Test
+  @DisplayName("Should roll to a new segment once the current one is full")
+  void rollsSegments() throws IOException {
+    // Given
+    OutboxSegmentArchiver archiver = new OutboxSegmentArchiver(directory, 1);
+
+    // When
+    archiver.append(List.of(row(1)));
+    archiver.append(List.of(row(2)));
+
+    // Then
+    assertThat(segments()).extracting(p -> p.getFileName().toString())
+        .containsExactly("outbox-00000000000000000001.seg.gz", "outbox-00000000000000000002.seg.gz");
+  }
+
+  @Test
+  @DisplayName("Should keep appending to the latest segment after a restart")
+  void resumesLatestSegment() throws IOException {
+    // Given
+    new OutboxSegmentArchiver(directory, 1024 * 1024).append(List.of(row(1)));
+
+    // When
+    OutboxSegmentArchiver restarted = new OutboxSegmentArchiver(directory, 1024 * 1024);
+    restarted.append(List.of(row(2)));
+
+    // Then
+    assertThat(segments()).hasSize(1);
+    assertThat(OutboxSegmentArchiver.read(restarted.currentSegment()))
+        .extracting(OutboxEventDoneEntity::getId).containsExactly(1L, 2L);
+  }
+
+  private List<Path> segments() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      return files.sorted().toList();
+    }
+  }
+
+  private static OutboxEventDoneEntity row(long id) {
+    return new OutboxEventDoneEntity(id, 1, 1, 3, ("payload-" + id).getBytes(), CREATED, CREATED.plusSeconds(1));
+  }
+}
@@ -0,0 +1,93 @@
+package sg.com.gic.orderprocessingsystem.eventbus.maintenance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.offset.ConsumerOffsets;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ProcessedEventMover Unit Tests")
+class ProcessedEventMoverTest {
+
+  private static final int BATCH_SIZE = 2;
+  private static final long WATERMARK = 10L;
+
+  @Mock
+  private OutboxEventRepository outboxRepo;
+
+  @Mock
+  private ConsumerOffsets consumerOffsets;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private ProcessedEventMover mover;
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    lenient().when(consumerOffsets.lowWatermark()).thenReturn(WATERMARK);
+    mover = new ProcessedEventMover(outboxRepo, consumerOffsets, new TransactionTemplate(transactionManager), BATCH_SIZE);
+  }
+
+  @Test
+  @DisplayName("moveBatch() should copy claimed rows to the cold table before deleting them")
+  void moveBatchCopiesThenDeletes() {
+    // Given
+    when(outboxRepo.claimIdsUpTo(WATERMARK, BATCH_SIZE)).thenReturn(List.of(1L, 2L));
+    when(outboxRepo.deleteByIdIn(List.of(1L, 2L))).thenReturn(2);
+
+    // When
+    int moved = mover.moveBatch();
+
+    // Then
+    assertThat(moved).isEqualTo(2);
+    InOrder inOrder = inOrder(outboxRepo);
+    inOrder.verify(outboxRepo).copyToDone(List.of(1L, 2L));
+    inOrder.verify(outboxRepo).deleteByIdIn(List.of(1L, 2L));
+  }
+
+  @Test
+  @DisplayName("moveBatch() should not touch either table when no row is below the watermark")
+  void moveBatchWithNothingConsumed() {
+    // Given
+    when(outboxRepo.claimIdsUpTo(WATERMARK, BATCH_SIZE)).thenReturn(List.of());
+
+    // When
+    int moved = mover.moveBatch();
+
+    // Then
+    assertThat(moved).isZero();
+    verify(outboxRepo, never()).copyToDone(any());
+    verify(outboxRepo, never()).deleteByIdIn(any());
+  }
+
+  @Test
+  @DisplayName("moveProcessed() should keep moving while full batches come back")
+  void moveProcessedDrainsAllConsumedRows() {
+    // Given
+    when(outboxRepo.claimIdsUpTo(WATERMARK, BATCH_SIZE)).thenReturn(List.of(1L, 2L))
+        .thenReturn(List.of(3L));
+    when(outboxRepo.deleteByIdIn(any())).thenReturn(2, 1);
+
+    // When
+    mover.moveProcessed();
+
+    // Then
+    verify(outboxRepo, times(2)).copyToDone(any());
+    verify(outboxRepo, times(2)).deleteByIdIn(any());
+  }
+}
@@ -0,0 +1,103 @@
+package sg.com.gic.orderprocessingsystem.eventbus.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventType;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+
+@DisplayName("EventMetrics Unit Tests")
+class EventMetricsTest {
+
+  private MeterRegistry meterRegistry;
+  private EventTypeRegistry eventTypeRegistry;
+  private EventMetrics eventMetrics;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    eventTypeRegistry = new EventTypeRegistry(new ObjectMapper());
+    eventMetrics = new EventMetrics(meterRegistry, eventTypeRegistry);
+  }
+
+  @Test
+  @DisplayName("should register a dispatch latency histogram for every event type up front")
+  void registersDispatchLatencyPerType() {
+    // Then
+    for (EventType<?> type : eventTypeRegistry.all()) {
+      Timer timer = meterRegistry.get("outbox.dispatch.latency").tag("type", type.name()).timer();
+      assertThat(timer.count()).isZero();
+      assertThat(timer.takeSnapshot().histogramCounts()).hasSize(EventMetrics.BUCKETS.length);
+    }
+  }
+
+  @Test
+  @DisplayName("recordDispatch() should record the time since the outbox row was created")
+  void recordDispatchMeasuresFromCreatedAt() {
+    // Given
+    EventType<OrderCreatedEvent> type = eventTypeRegistry.forClass(OrderCreatedEvent.class);
+
+    // When
+    eventMetrics.recordDispatch(type.code(), LocalDateTime.now().minusSeconds(2));
+
+    // Then
+    Timer timer = meterRegistry.get("outbox.dispatch.latency").tag("type", type.name()).timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.SECONDS)).isBetween(2.0, 10.0);
+    CountAtBucket[] buckets = timer.takeSnapshot().histogramCounts();
+    // 2.5s is the first boundary at or above two seconds; every bucket from there on counts it
+    for (CountAtBucket bucket : buckets) {
+      assertThat(bucket.count()).isEqualTo(bucket.bucket(TimeUnit.SECONDS) >= 2.5 ? 1 : 0);
+    }
+  }
+
+  @Test
+  @DisplayName("recordDispatch() should ignore unknown type codes and clock skew")
+  void recordDispatchToleratesBadInput() {
+    // Given
+    EventType<OrderCreatedEvent> type = eventTypeRegistry.forClass(OrderCreatedEvent.class);
+
+    // When
+    eventMetrics.recordDispatch(999, LocalDateTime.now());
+    eventMetrics.recordDispatch(type.code(), LocalDateTime.now().plusMinutes(1));
+
+    // Then
+    Timer timer = meterRegistry.get("outbox.dispatch.latency").tag("type", type.name()).timer();
+    assertThat(timer.count()).isEqualTo(1);
+    assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isZero();
+  }
+
+  @Test
+  @DisplayName("timed() should record each handler call under its outcome and rethrow failures")
+  void timedRecordsOutcome() {
+    // Given
+    Consumer<String> handler = eventMetrics.timed("notification", event -> {
+      if (event.equals("bad")) {
+        throw new IllegalStateException("boom");
+      }
+    });
+
+    // When
+    handler.accept("good");
+    handler.accept("good");
+    assertThatThrownBy(() -> handler.accept("bad")).isInstanceOf(IllegalStateException.class);
+
+    // Then
+    assertThat(meterRegistry.get("event.handler.duration")
+        .tags("subscriber", "notification", "outcome", "success").timer().count()).isEqualTo(2);
+    assertThat(meterRegistry.get("event.handler.duration")
+        .tags("subscriber", "notification", "outcome", "failure").timer().count()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,64 @@
+package sg.com.gic.orderprocessingsystem.eventbus.offset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.ConsumerGapEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.ConsumerGapRepository;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+
+// A database of its own, so the only rows and gaps are the ones made here, and no relay
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:offsets-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "outbox.relay.enabled=false",
+        "outbox.consumer.max-gap-span=3"
+})
+@DisplayName("ConsumerOffsets Integration Tests")
+class ConsumerOffsetsIntegrationTest {
+
+    @Autowired
+    private ConsumerOffsets consumerOffsets;
+
+    @Autowired
+    private ConsumerGapRepository consumerGapRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    @DisplayName("Should record a run of missing ids once each, up to max-gap-span")
+    void shouldRecordGapRunsUpToMaxSpan() {
+        // Given: rows either side of five ids that have not committed, read by a consumer registered
+        // first, so the mover's own scheduled run cannot move them out of the hot table
+        consumerOffsets.register("subscriber:Gaps");
+        LocalDateTime settled = LocalDateTime.now().minusSeconds(5);
+        List<OutboxEventEntity> rows = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            rows.add(outboxEventRepository.save(row(settled)));
+        }
+        long first = rows.get(0).getId();
+        outboxEventRepository.deleteAll(rows.subList(1, 6));
+
+        // When: read twice, as a consumer retrying the page would
+        consumerOffsets.readAfter("subscriber:Gaps", first, 10);
+        List<OutboxEventEntity> read = consumerOffsets.readAfter("subscriber:Gaps", first, 10);
+
+        // Then: the lowest three ids are gaps, recorded once each
+        assertThat(read).extracting(OutboxEventEntity::getId).containsExactly(first + 6);
+        assertThat(consumerGapRepository.findAll())
+                .filteredOn(gap -> gap.getConsumer().equals("subscriber:Gaps"))
+                .extracting(ConsumerGapEntity::getEventId)
+                .containsExactlyInAnyOrder(first + 1, first + 2, first + 3);
+    }
+
+    private static OutboxEventEntity row(LocalDateTime createdAt) {
+        return new OutboxEventEntity(1, 1, 1, new byte[] {1}, createdAt);
+    }
+}
@@ -0,0 +1,140 @@
+package sg.com.gic.orderprocessingsystem.eventbus.priority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("LaneQueue Unit Tests")
+class LaneQueueTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private Timer highWait;
+  private Timer lowWait;
+
+  @BeforeEach
+  void setUp() {
+    highWait = meterRegistry.timer("wait", "lane", "high");
+    lowWait = meterRegistry.timer("wait", "lane", "low");
+  }
+
+  @Test
+  @DisplayName("should take from backed-up lanes in proportion to their weights")
+  void takesByWeight() {
+    // Given: weights 3 and 1, both lanes backed up; positive values go high, negative low
+    LaneQueue<Integer> queue = queue(3, 100);
+    for (int i = 1; i <= 8; i++) {
+      queue.offer(i);
+      queue.offer(-i);
+    }
+
+    // When
+    List<Integer> taken = new ArrayList<>();
+    queue.drainTo(taken, 8);
+
+    // Then: three high for every low, spread out, each lane in arrival order
+    assertThat(taken).containsExactly(1, 2, -1, 3, 4, 5, -2, 6);
+  }
+
+  @Test
+  @DisplayName("should not starve the low lane while the high lane keeps filling")
+  void doesNotStarveLowLane() throws InterruptedException {
+    // Given
+    LaneQueue<Integer> queue = queue(8, 100);
+    queue.offer(-1);
+    for (int i = 1; i <= 20; i++) {
+      queue.offer(i);
+    }
+
+    // When: the high lane is topped up after every take
+    List<Integer> taken = new ArrayList<>();
+    for (int i = 0; i < 9; i++) {
+      taken.add(queue.poll(1, TimeUnit.SECONDS));
+      queue.offer(100 + i);
+    }
+
+    // Then
+    assertThat(taken).contains(-1);
+  }
+
+  @Test
+  @DisplayName("peek() should return what poll() takes next")
+  void peekMatchesPoll() {
+    // Given
+    LaneQueue<Integer> queue = queue(3, 100);
+    queue.offer(-1);
+    queue.offer(1);
+    queue.offer(2);
+
+    // When / Then
+    while (!queue.isEmpty()) {
+      Integer peeked = queue.peek();
+      assertThat(queue.poll()).isEqualTo(peeked);
+    }
+  }
+
+  @Test
+  @DisplayName("should reject offers beyond capacity and accept them again once drained")
+  void boundsCapacity() {
+    // Given
+    LaneQueue<Integer> queue = queue(3, 2);
+    queue.offer(1);
+    queue.offer(-1);
+
+    // When / Then
+    assertThat(queue.offer(2)).isFalse();
+    assertThat(queue.remainingCapacity()).isZero();
+    queue.poll();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue).hasSize(2);
+  }
+
+  @Test
+  @DisplayName("remove() should take out one element and free its slot")
+  void removesElement() {
+    // Given
+    LaneQueue<Integer> queue = queue(3, 2);
+    queue.offer(1);
+    queue.offer(-1);
+
+    // When
+    boolean removed = queue.remove(-1);
+
+    // Then
+    assertThat(removed).isTrue();
+    assertThat(queue.remove(-1)).isFalse();
+    assertThat(queue.depth(1)).isZero();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue).containsExactly(1, 2);
+  }
+
+  @Test
+  @DisplayName("should record each element's wait on its lane's timer")
+  void recordsWaitPerLane() {
+    // Given
+    LaneQueue<Integer> queue = queue(3, 100);
+    queue.offer(1);
+    queue.offer(2);
+    queue.offer(-1);
+
+    // When
+    queue.drainTo(new ArrayList<>());
+
+    // Then
+    assertThat(highWait.count()).isEqualTo(2);
+    assertThat(lowWait.count()).isEqualTo(1);
+    assertThat(queue.depth(0)).isZero();
+  }
+
+  private LaneQueue<Integer> queue(int highWeight, int capacity) {
+    return new LaneQueue<>(new int[] {highWeight, 1}, new Timer[] {highWait, lowWait}, capacity,
+        value -> value > 0 ? 0 : 1);
+  }
+}
@@ -0,0 +1,83 @@
+package sg.com.gic.orderprocessingsystem.eventbus.priority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.BlockingQueue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.metrics.EventMetrics;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+
+@DisplayName("PriorityLanes Unit Tests")
+class PriorityLanesTest {
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  @Test
+  @DisplayName("should place amounts in the highest lane whose threshold they reach")
+  void placesAmountsByThreshold() {
+    // Given: lanes listed out of order
+    PriorityLanes lanes = lanes("low:0:1,high:1000:8,standard:100:3");
+
+    // When / Then
+    assertThat(lanes.laneIndex(5000.0)).isZero();
+    assertThat(lanes.laneIndex(1000.0)).isZero();
+    assertThat(lanes.laneIndex(999.99)).isEqualTo(1);
+    assertThat(lanes.laneIndex(1.0)).isEqualTo(2);
+    assertThat(lanes.laneIndex(null)).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("should put amounts below every threshold in the lowest lane")
+  void placesSmallAmountsInLowestLane() {
+    // Given
+    PriorityLanes lanes = lanes("high:1000:8,standard:100:3");
+
+    // When / Then
+    assertThat(lanes.laneIndex(-5.0)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("queue() should take large orders first and expose per-lane depth")
+  void queuesEventsByAmount() {
+    // Given
+    PriorityLanes lanes = lanes("high:1000:8,standard:100:3,low:0:1");
+    BlockingQueue<OrderCreatedEvent> queue = lanes.queue("payment", OrderCreatedEvent::amount);
+    OrderCreatedEvent small = new OrderCreatedEvent("order-s", 5.0, "s@example.com");
+    OrderCreatedEvent large = new OrderCreatedEvent("order-l", 5000.0, "l@example.com");
+
+    // When
+    queue.offer(small);
+    queue.offer(large);
+
+    // Then
+    assertThat(meterRegistry.get("event.priority.lane.depth")
+        .tags("subscriber", "payment", "lane", "low").gauge().value()).isEqualTo(1);
+    assertThat(queue.poll()).isEqualTo(large);
+    assertThat(queue.poll()).isEqualTo(small);
+  }
+
+  @Test
+  @DisplayName("should reject malformed lane settings")
+  void rejectsInvalidLanes() {
+    assertThatThrownBy(() -> lanes("high:1000"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("high:1000");
+    assertThatThrownBy(() -> lanes("high:1000:0,low:0:1"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("weight must be positive");
+    assertThatThrownBy(() -> lanes("high:1000:8,high:0:1"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("duplicate lane name");
+  }
+
+  private PriorityLanes lanes(String spec) {
+    return new PriorityLanes(true, spec, 1, 100,
+        new EventMetrics(meterRegistry, new EventTypeRegistry(new ObjectMapper())), meterRegistry);
+  }
+}
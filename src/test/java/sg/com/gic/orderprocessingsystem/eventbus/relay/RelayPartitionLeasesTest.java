@@ -0,0 +1,172 @@
+package sg.com.gic.orderprocessingsystem.eventbus.relay;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.RelayLeaseRepository;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.RelayMemberRepository;
+import sg.com.gic.orderprocessingsystem.id.IdGenerator;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RelayPartitionLeases Unit Tests")
+class RelayPartitionLeasesTest {
+
+  private static final int PARTITIONS = 4;
+
+  @Mock
+  private RelayLeaseRepository leaseRepository;
+
+  @Mock
+  private RelayMemberRepository memberRepository;
+
+  @Mock
+  private IdGenerator idGenerator;
+
+  @Mock
+  private RelayWakeups wakeups;
+
+  @Test
+  @DisplayName("start() should create every lease row and take all partitions when it is the only member")
+  void singleMemberOwnsEverything() {
+    // Given
+    RelayPartitionLeases leases = leases("a", 5_000, 1_000);
+    when(memberRepository.findLiveInstanceIds(any())).thenReturn(List.of("a"));
+    when(leaseRepository.acquire(anyInt(), eq("a"), any(), any())).thenReturn(1);
+
+    // When
+    leases.start();
+
+    // Then
+    for (int partition = 0; partition < PARTITIONS; partition++) {
+      verify(leaseRepository).insertIfAbsent(partition);
+    }
+    verify(memberRepository).heartbeat(eq("a"), any());
+    assertThat(leases.ownedPartitions()).containsExactly(0, 1, 2, 3);
+  }
+
+  @Test
+  @DisplayName("heartbeat() should take the partitions matching its position among the live members")
+  void takesItsShare() {
+    // Given
+    RelayPartitionLeases leases = leases("b", 5_000, 1_000);
+    when(memberRepository.findLiveInstanceIds(any())).thenReturn(List.of("a", "b"));
+    when(leaseRepository.acquire(anyInt(), eq("b"), any(), any())).thenReturn(1);
+
+    // When
+    leases.heartbeat();
+
+    // Then
+    assertThat(leases.ownedPartitions()).containsExactly(1, 3);
+    verify(leaseRepository, never()).acquire(eq(0), any(), any(), any());
+    verify(leaseRepository, never()).acquire(eq(2), any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("heartbeat() should release the partitions handed to a member that joined")
+  void releasesOnJoin() {
+    // Given: alone at first, then "b" joins
+    RelayPartitionLeases leases = leases("a", 5_000, 1_000);
+    when(memberRepository.findLiveInstanceIds(any())).thenReturn(List.of("a"))
+        .thenReturn(List.of("a", "b"));
+    when(leaseRepository.acquire(anyInt(), eq("a"), any(), any())).thenReturn(1);
+    leases.heartbeat();
+
+    // When
+    leases.heartbeat();
+
+    // Then
+    assertThat(leases.ownedPartitions()).containsExactly(0, 2);
+    verify(leaseRepository).release(1, "a");
+    verify(leaseRepository).release(3, "a");
+    verify(leaseRepository, never()).release(eq(0), any());
+    // Only the first heartbeat took over partitions, so only it woke the relay
+    verify(wakeups, times(1)).signal();
+  }
+
+  @Test
+  @DisplayName("heartbeat() should leave out a partition whose lease another member still holds")
+  void waitsForUnexpiredLease() {
+    // Given: partition 2 was not released yet by its previous owner
+    RelayPartitionLeases leases = leases("a", 5_000, 1_000);
+    when(memberRepository.findLiveInstanceIds(any())).thenReturn(List.of("a"));
+    when(leaseRepository.acquire(anyInt(), eq("a"), any(), any())).thenReturn(1);
+    when(leaseRepository.acquire(eq(2), eq("a"), any(), any())).thenReturn(0);
+
+    // When
+    leases.heartbeat();
+
+    // Then
+    assertThat(leases.ownedPartitions()).containsExactly(0, 1, 3);
+  }
+
+  @Test
+  @DisplayName("ownedPartitions() should be empty once the leases ran out without a renewal")
+  void stopsRelayingAfterExpiry() throws Exception {
+    // Given
+    RelayPartitionLeases leases = leases("a", 40, 20);
+    when(memberRepository.findLiveInstanceIds(any())).thenReturn(List.of("a"));
+    when(leaseRepository.acquire(anyInt(), eq("a"), any(), any())).thenReturn(1);
+    leases.heartbeat();
+
+    // When
+    Thread.sleep(60);
+
+    // Then
+    assertThat(leases.ownedPartitions()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("stop() should release its leases and leave the member list")
+  void releasesOnStop() {
+    // Given
+    RelayPartitionLeases leases = leases("a", 5_000, 1_000);
+    when(memberRepository.findLiveInstanceIds(any())).thenReturn(List.of("a", "b"));
+    when(leaseRepository.acquire(anyInt(), eq("a"), any(), any())).thenReturn(1);
+    leases.heartbeat();
+
+    // When
+    leases.stop();
+
+    // Then
+    verify(leaseRepository).release(0, "a");
+    verify(leaseRepository).release(2, "a");
+    verify(memberRepository).deleteById("a");
+    assertThat(leases.ownedPartitions()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("constructor should generate an instance id when none is configured")
+  void generatesInstanceId() {
+    // Given
+    when(idGenerator.nextId()).thenReturn("generated");
+
+    // When
+    RelayPartitionLeases leases = leases("", 5_000, 1_000);
+
+    // Then
+    assertThat(leases.instanceId()).isEqualTo("generated");
+  }
+
+  @Test
+  @DisplayName("constructor should reject a lease shorter than two heartbeats")
+  void rejectsShortLease() {
+    assertThatThrownBy(() -> leases("a", 1_500, 1_000))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("outbox.relay.lease.duration-ms");
+  }
+
+  private RelayPartitionLeases leases(String instanceId, long leaseMillis, long heartbeatMillis) {
+    return new RelayPartitionLeases(leaseRepository, memberRepository, idGenerator, wakeups,
+        instanceId, PARTITIONS, leaseMillis, heartbeatMillis);
+  }
+}
@@ -0,0 +1,92 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.EventCodecs;
+import sg.com.gic.orderprocessingsystem.eventbus.codec.JsonEventCodec;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.DeadLetterEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.DeadLetterEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DeadLetters Unit Tests")
+class DeadLettersTest {
+
+  @Mock
+  private DeadLetterEventRepository repository;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final EventCodecs codecs = new EventCodecs(List.of(new JsonEventCodec()), "json");
+  private EventTypeRegistry registry;
+  private DeadLetters deadLetters;
+
+  @BeforeEach
+  void setUp() {
+    registry = new EventTypeRegistry(new ObjectMapper());
+    deadLetters = new DeadLetters(repository, registry, codecs, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("record() should store a failed event encoded, with its id, attempts and error")
+  void recordsFailedEvent() throws Exception {
+    // Given
+    OrderCreatedEvent event = new OrderCreatedEvent("order-1", 10.0, "a@b.com");
+
+    // When
+    deadLetters.record("payment", event, 5, new IllegalStateException("gateway down"));
+
+    // Then
+    DeadLetterEventEntity saved = captureSaved();
+    assertThat(saved.getSubscriber()).isEqualTo("payment");
+    assertThat(saved.getEventId()).isEqualTo(event.eventId());
+    assertThat(saved.getOutboxId()).isNull();
+    assertThat(saved.getTypeCode()).isEqualTo(registry.forClass(OrderCreatedEvent.class).code());
+    assertThat(saved.getAttempts()).isEqualTo(5);
+    assertThat(saved.getError()).isEqualTo("IllegalStateException: gateway down");
+    assertThat(codecs.decode(registry.forClass(OrderCreatedEvent.class), saved.getCodecId(),
+        saved.getSchemaVersion(), saved.getPayload())).isEqualTo(event);
+    assertThat(meterRegistry.counter("event.dead.letters", "subscriber", "payment").count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("record() should keep an undecodable outbox row byte for byte")
+  void recordsRawOutboxRow() {
+    // Given
+    byte[] payload = "{not json".getBytes(StandardCharsets.UTF_8);
+    OutboxEventEntity row = new OutboxEventEntity(1, 2, JsonEventCodec.ID, payload, LocalDateTime.now());
+    row.setId(42L);
+
+    // When
+    deadLetters.record("outbox-relay", row, new IllegalStateException("x".repeat(2_000)));
+
+    // Then
+    DeadLetterEventEntity saved = captureSaved();
+    assertThat(saved.getOutboxId()).isEqualTo(42L);
+    assertThat(saved.getEventId()).isNull();
+    assertThat(saved.getSchemaVersion()).isEqualTo(2);
+    assertThat(saved.getPayload()).isEqualTo(payload);
+    assertThat(saved.getAttempts()).isEqualTo(1);
+    assertThat(saved.getError()).hasSize(1000);
+  }
+
+  private DeadLetterEventEntity captureSaved() {
+    ArgumentCaptor<DeadLetterEventEntity> saved = ArgumentCaptor.forClass(DeadLetterEventEntity.class);
+    verify(repository).save(saved.capture());
+    return saved.getValue();
+  }
+}
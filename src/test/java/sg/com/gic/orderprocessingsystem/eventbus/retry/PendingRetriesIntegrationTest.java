@@ -0,0 +1,60 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.PendingRetryRepository;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.PendingRetries.Claimed;
+
+// A database of its own, so the only pending retries are the ones stored here
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:pending-retries-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "outbox.relay.enabled=false",
+        "event.retry.recovery-interval-ms=3600000"
+})
+@DisplayName("PendingRetries Integration Tests")
+class PendingRetriesIntegrationTest {
+
+    @Autowired
+    private PendingRetries pendingRetries;
+
+    @Autowired
+    private PendingRetryRepository pendingRetryRepository;
+
+    @Test
+    @DisplayName("Should hand a stored retry to one claim once it is overdue, then remove it")
+    void shouldClaimOverdueRetryOnce() {
+        // Given: a retry that was due a minute ago
+        OrderCreatedEvent event = new OrderCreatedEvent("order-retry", 12.5, "retry@example.com");
+        LocalDateTime now = LocalDateTime.now();
+        long id = pendingRetries.park("payment", event, 2, new IllegalStateException("gateway down"),
+                now.minusMinutes(1));
+
+        // When
+        List<Claimed> early = pendingRetries.claimOverdue("payment", now.minusMinutes(2), now, 10);
+        List<Claimed> claimed = pendingRetries.claimOverdue("payment", now.minusSeconds(30), now, 10);
+        List<Claimed> again = pendingRetries.claimOverdue("payment", now.minusSeconds(30), now, 10);
+
+        // Then: not yet overdue, then claimed with its event and attempts, then held by the claim
+        assertThat(early).isEmpty();
+        assertThat(claimed).containsExactly(new Claimed(id, event, 2));
+        assertThat(again).isEmpty();
+        assertThat(pendingRetryRepository.findById(id)).get()
+                .satisfies(row -> assertThat(row.getNextAttemptAt())
+                        .isCloseTo(now, within(1, ChronoUnit.MILLIS)));
+
+        // When
+        pendingRetries.remove(id);
+
+        // Then
+        assertThat(pendingRetryRepository.findById(id)).isEmpty();
+    }
+}
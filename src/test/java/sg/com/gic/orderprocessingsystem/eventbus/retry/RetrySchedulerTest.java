@@ -0,0 +1,344 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.PendingRetries.Claimed;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RetryScheduler Unit Tests")
+class RetrySchedulerTest {
+
+  private static final int MAX_ATTEMPTS = 3;
+  private static final long INITIAL_BACKOFF_MS = 100;
+  private static final long MAX_BACKOFF_MS = 400;
+  private static final long RECOVERY_GRACE_MS = 60_000;
+
+  @Mock
+  private DeadLetters deadLetters;
+
+  @Mock
+  private PendingRetries pendingRetries;
+
+  private final AtomicLong clock = new AtomicLong(TimeUnit.SECONDS.toNanos(5));
+  private boolean rejecting;
+  private RetryScheduler scheduler;
+
+  private final OrderCreatedEvent event = new OrderCreatedEvent("order-1", 10.0, "a@b.com");
+
+  @BeforeEach
+  void setUp() {
+    scheduler = new RetryScheduler(deadLetters, pendingRetries, this::execute, MAX_ATTEMPTS,
+        INITIAL_BACKOFF_MS, MAX_BACKOFF_MS, 10, 8, RECOVERY_GRACE_MS, clock::get);
+  }
+
+  @Test
+  @DisplayName("execute() should run a successful handler inline and schedule nothing")
+  void runsHandlerInline() {
+    // Given
+    List<OrderCreatedEvent> handled = new ArrayList<>();
+
+    // When
+    scheduler.execute("payment", event, handled::add);
+
+    // Then
+    assertThat(handled).containsExactly(event);
+    assertThat(scheduler.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("execute() should retry a failed handler once its backoff has passed")
+  void retriesAfterBackoff() {
+    // Given: fails the first time only
+    AtomicInteger calls = new AtomicInteger();
+
+    // When
+    scheduler.execute("payment", event, e -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new IllegalStateException("gateway down");
+      }
+    });
+
+    // Then: nothing happens before half the initial backoff, the retry runs by the full backoff
+    assertThat(scheduler.pending()).isEqualTo(1);
+    advance(INITIAL_BACKOFF_MS / 2 - 10);
+    assertThat(calls).hasValue(1);
+    advance(INITIAL_BACKOFF_MS / 2 + 20);
+    assertThat(calls).hasValue(2);
+    assertThat(scheduler.pending()).isZero();
+    verify(deadLetters, never()).record(any(), any(Object.class), any(Integer.class), any());
+  }
+
+  @Test
+  @DisplayName("execute() should dead-letter the event after the last attempt fails")
+  void deadLettersAfterMaxAttempts() {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+    IllegalStateException failure = new IllegalStateException("always fails");
+
+    // When
+    scheduler.execute("payment", event, e -> {
+      calls.incrementAndGet();
+      throw failure;
+    });
+    for (int i = 0; i < 10; i++) {
+      advance(MAX_BACKOFF_MS);
+    }
+
+    // Then
+    assertThat(calls).hasValue(MAX_ATTEMPTS);
+    assertThat(scheduler.pending()).isZero();
+    verify(deadLetters).record("payment", event, MAX_ATTEMPTS, failure);
+  }
+
+  @Test
+  @DisplayName("execute() should store a pending retry and remove it once the retry succeeds")
+  void storesPendingRetryUntilHandled() {
+    // Given: fails twice
+    AtomicInteger calls = new AtomicInteger();
+    when(pendingRetries.park(eq("payment"), eq(event), eq(1), any(), any(LocalDateTime.class)))
+        .thenReturn(7L);
+
+    // When
+    scheduler.execute("payment", event, e -> {
+      if (calls.incrementAndGet() < 3) {
+        throw new IllegalStateException("gateway down");
+      }
+    });
+
+    // Then: stored at the first failure, moved on at the second, removed once handled
+    verify(pendingRetries).park(eq("payment"), eq(event), eq(1), any(), any(LocalDateTime.class));
+    advance(INITIAL_BACKOFF_MS + 20);
+    verify(pendingRetries).reschedule(eq(7L), eq(2), any(), any(LocalDateTime.class));
+    verify(pendingRetries, never()).remove(7L);
+    advance(2 * INITIAL_BACKOFF_MS + 20);
+    assertThat(calls).hasValue(3);
+    verify(pendingRetries).remove(7L);
+  }
+
+  @Test
+  @DisplayName("execute() should remove the stored retry once the event is dead-lettered")
+  void removesPendingRetryWhenDeadLettered() {
+    // Given
+    when(pendingRetries.park(any(), any(), anyInt(), any(), any(LocalDateTime.class))).thenReturn(7L);
+
+    // When
+    scheduler.execute("payment", event, e -> {
+      throw new IllegalStateException("always fails");
+    });
+    for (int i = 0; i < 10; i++) {
+      advance(MAX_BACKOFF_MS);
+    }
+
+    // Then
+    verify(deadLetters).record(eq("payment"), eq(event), eq(MAX_ATTEMPTS), any());
+    verify(pendingRetries).remove(7L);
+  }
+
+  @Test
+  @DisplayName("execute() should still retry from memory when the retry cannot be stored")
+  void retriesWhenStoreFails() {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+    when(pendingRetries.park(any(), any(), anyInt(), any(), any(LocalDateTime.class)))
+        .thenThrow(new IllegalStateException("database down"));
+
+    // When
+    scheduler.execute("payment", event, e -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new IllegalStateException("gateway down");
+      }
+    });
+    advance(INITIAL_BACKOFF_MS + 20);
+
+    // Then
+    assertThat(calls).hasValue(2);
+    verify(pendingRetries, never()).remove(anyLong());
+  }
+
+  @Test
+  @DisplayName("recoverOverdue() should run retries left behind with the registered handler and their attempts so far")
+  void recoversOverdueRetries() {
+    // Given: another instance stopped after two failed attempts
+    List<OrderCreatedEvent> handled = new ArrayList<>();
+    scheduler.recoverWith("payment", OrderCreatedEvent.class, handled::add);
+    when(pendingRetries.claimOverdue(eq("payment"), any(LocalDateTime.class),
+        any(LocalDateTime.class), anyInt())).thenReturn(List.of(new Claimed(9L, event, 2)));
+
+    // When
+    scheduler.recoverOverdue();
+    advance(10);
+
+    // Then
+    assertThat(handled).containsExactly(event);
+    verify(pendingRetries).remove(9L);
+  }
+
+  @Test
+  @DisplayName("recover() should count a recovered retry's earlier attempts towards dead-lettering")
+  void recoveredRetryKeepsItsAttempts() {
+    // Given: one attempt left
+    when(pendingRetries.claimOverdue(eq("subscriber:OrderCreatedEvent"), any(LocalDateTime.class),
+        any(LocalDateTime.class), anyInt())).thenReturn(List.of(new Claimed(9L, event, MAX_ATTEMPTS - 1)));
+    IllegalStateException failure = new IllegalStateException("still failing");
+
+    // When
+    scheduler.recover("subscriber:OrderCreatedEvent", OrderCreatedEvent.class, e -> {
+      throw failure;
+    });
+
+    // Then: run on the calling thread, then dead-lettered
+    verify(deadLetters).record("subscriber:OrderCreatedEvent", event, MAX_ATTEMPTS, failure);
+    verify(pendingRetries).remove(9L);
+  }
+
+  @Test
+  @DisplayName("backoffNanos() should double per attempt, cap at the maximum and jitter within the top half")
+  void backoffDoublesAndCaps() {
+    for (int i = 0; i < 100; i++) {
+      assertThat(scheduler.backoffNanos(1)).isBetween(ms(50), ms(100));
+      assertThat(scheduler.backoffNanos(2)).isBetween(ms(100), ms(200));
+      assertThat(scheduler.backoffNanos(3)).isBetween(ms(200), ms(400));
+      assertThat(scheduler.backoffNanos(4)).isBetween(ms(200), ms(400));
+      assertThat(scheduler.backoffNanos(80)).isBetween(ms(200), ms(400));
+    }
+  }
+
+  @Test
+  @DisplayName("tick() should hold a due retry back a tick, without spending an attempt, while the executor is full")
+  void rejectedRetryKeepsItsAttempt() {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+    scheduler.execute("payment", event, e -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException("still failing");
+    });
+    rejecting = true;
+
+    // When
+    advance(INITIAL_BACKOFF_MS);
+    advance(INITIAL_BACKOFF_MS);
+
+    // Then
+    assertThat(calls).hasValue(1);
+    assertThat(scheduler.pending()).isEqualTo(1);
+
+    // When: the executor drains and the rest of the attempts run
+    rejecting = false;
+    for (int i = 0; i < 10; i++) {
+      advance(MAX_BACKOFF_MS);
+    }
+
+    // Then
+    assertThat(calls).hasValue(MAX_ATTEMPTS);
+    ArgumentCaptor<Integer> attempts = ArgumentCaptor.forClass(Integer.class);
+    verify(deadLetters).record(eq("payment"), eq(event), attempts.capture(), any());
+    assertThat(attempts.getValue()).isEqualTo(MAX_ATTEMPTS);
+  }
+
+  @Test
+  @DisplayName("constructor should reject a maximum backoff below the initial backoff")
+  void rejectsInvalidSettings() {
+    assertThatThrownBy(() -> new RetryScheduler(deadLetters, pendingRetries, Runnable::run, 3, 500,
+        100, 10, 8, RECOVERY_GRACE_MS, clock::get))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("max-backoff-ms=100");
+  }
+
+  @Test
+  @DisplayName("executeBatch() should hand a successful batch over in one call")
+  void runsBatchInline() {
+    // Given
+    OrderCreatedEvent other = new OrderCreatedEvent("order-2", 20.0, "c@d.com");
+    List<List<OrderCreatedEvent>> calls = new ArrayList<>();
+
+    // When
+    scheduler.executeBatch("payment", List.of(event, other), calls::add);
+
+    // Then
+    assertThat(calls).containsExactly(List.of(event, other));
+    assertThat(scheduler.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("executeBatch() should split a failed batch so only the bad event is retried")
+  void splitsFailedBatch() {
+    // Given: any batch holding the bad event fails until its retry
+    OrderCreatedEvent bad = new OrderCreatedEvent("order-bad", 20.0, "c@d.com");
+    AtomicInteger badCalls = new AtomicInteger();
+    List<OrderCreatedEvent> handled = new ArrayList<>();
+
+    // When
+    scheduler.executeBatch("payment", List.of(event, bad), batch -> {
+      if (batch.contains(bad) && badCalls.incrementAndGet() < 3) {
+        throw new IllegalStateException("bad order");
+      }
+      handled.addAll(batch);
+    });
+
+    // Then: the good event went through on its own, the bad one waits for its backoff
+    assertThat(handled).containsExactly(event);
+    assertThat(scheduler.pending()).isEqualTo(1);
+    advance(INITIAL_BACKOFF_MS + 20);
+    assertThat(handled).containsExactly(event, bad);
+    verify(deadLetters, never()).record(any(), any(Object.class), any(Integer.class), any());
+  }
+
+  @Test
+  @DisplayName("executeBatch() should count a failed batch of one as the event's first attempt")
+  void failedSingleEventBatchIsFirstAttempt() {
+    // Given
+    AtomicInteger calls = new AtomicInteger();
+
+    // When
+    scheduler.executeBatch("payment", List.of(event), batch -> {
+      calls.incrementAndGet();
+      throw new IllegalStateException("gateway down");
+    });
+
+    // Then: not run again inline, and dead-lettered after the configured attempts
+    assertThat(calls).hasValue(1);
+    advance(MAX_BACKOFF_MS + 20);
+    advance(MAX_BACKOFF_MS + 20);
+    assertThat(calls).hasValue(MAX_ATTEMPTS);
+    verify(deadLetters).record(eq("payment"), eq(event), eq(MAX_ATTEMPTS), any());
+  }
+
+  private void execute(Runnable task) {
+    if (rejecting) {
+      throw new RejectedExecutionException("retry executor full");
+    }
+    task.run();
+  }
+
+  private void advance(long millis) {
+    clock.addAndGet(ms(millis));
+    scheduler.tick();
+  }
+
+  private static long ms(long millis) {
+    return TimeUnit.MILLISECONDS.toNanos(millis);
+  }
+}
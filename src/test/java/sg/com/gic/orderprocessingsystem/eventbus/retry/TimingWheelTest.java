@@ -0,0 +1,101 @@
+package sg.com.gic.orderprocessingsystem.eventbus.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TimingWheel Unit Tests")
+class TimingWheelTest {
+
+  private static final long TICK = 10;
+  private static final int WHEEL_SIZE = 8;
+
+  private final List<String> expired = new ArrayList<>();
+  private TimingWheel<String> wheel;
+
+  @BeforeEach
+  void setUp() {
+    wheel = new TimingWheel<>(TICK, WHEEL_SIZE, 1_000);
+  }
+
+  @Test
+  @DisplayName("advanceTo() should expire a task at its deadline tick and not before")
+  void expiresAtDeadline() {
+    // Given
+    wheel.schedule("a", 1_025);
+
+    // When
+    wheel.advanceTo(1_029, expired::add);
+
+    // Then: the deadline rounds up to the tick at 1_030
+    assertThat(expired).isEmpty();
+    assertThat(wheel.pending()).isEqualTo(1);
+
+    // When
+    wheel.advanceTo(1_030, expired::add);
+
+    // Then
+    assertThat(expired).containsExactly("a");
+    assertThat(wheel.pending()).isZero();
+  }
+
+  @Test
+  @DisplayName("advanceTo() should expire tasks in deadline order when several ticks pass at once")
+  void expiresInTickOrder() {
+    // Given
+    wheel.schedule("late", 1_050);
+    wheel.schedule("early", 1_010);
+    wheel.schedule("middle", 1_030);
+
+    // When
+    wheel.advanceTo(1_100, expired::add);
+
+    // Then
+    assertThat(expired).containsExactly("early", "middle", "late");
+  }
+
+  @Test
+  @DisplayName("advanceTo() should keep a task due after several turns of the wheel until its round")
+  void waitsForRemainingRounds() {
+    // Given: one turn of the wheel is 80 ns, so this task shares a bucket with tick 2
+    wheel.schedule("far", 1_000 + 3 * WHEEL_SIZE * TICK + 2 * TICK);
+
+    // When
+    wheel.advanceTo(1_000 + 2 * WHEEL_SIZE * TICK + 2 * TICK, expired::add);
+
+    // Then
+    assertThat(expired).isEmpty();
+
+    // When
+    wheel.advanceTo(1_000 + 3 * WHEEL_SIZE * TICK + 2 * TICK, expired::add);
+
+    // Then
+    assertThat(expired).containsExactly("far");
+  }
+
+  @Test
+  @DisplayName("advanceTo() should expire an overdue task on the next tick")
+  void expiresOverdueTaskImmediately() {
+    // Given
+    wheel.advanceTo(1_200, expired::add);
+    wheel.schedule("overdue", 1_050);
+
+    // When
+    wheel.advanceTo(1_210, expired::add);
+
+    // Then
+    assertThat(expired).containsExactly("overdue");
+  }
+
+  @Test
+  @DisplayName("constructor should reject a wheel size that is not a power of two")
+  void rejectsBadWheelSize() {
+    assertThatThrownBy(() -> new TimingWheel<String>(TICK, 6, 0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,332 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Frame;
+
+@DisplayName("EventBroker and BrokerClient Tests")
+class EventBrokerTest {
+
+  private static final int ORDER_CREATED = 1;
+  private static final int PAYMENT_SUCCEEDED = 2;
+
+  private final List<AutoCloseable> resources = new ArrayList<>();
+  private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterEach
+  void tearDown() throws Exception {
+    Collections.reverse(resources);
+    for (AutoCloseable resource : resources) {
+      resource.close();
+    }
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should deliver each event type to the groups that subscribed to it")
+  void routesByType() throws Exception {
+    // Given
+    EventBroker broker = broker(0, 1024, 100);
+    List<TransportEvent> payments = Collections.synchronizedList(new ArrayList<>());
+    List<TransportEvent> notifications = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch delivered = new CountDownLatch(3);
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 16, collect(payments, delivered));
+    subscriber(broker, "notification", Set.of(ORDER_CREATED, PAYMENT_SUCCEEDED), 16, collect(notifications, delivered));
+    BrokerClient publisher = publisher(broker);
+    awaitConnected(publisher);
+
+    // When
+    publisher.send(event(ORDER_CREATED, 1));
+    publisher.send(event(PAYMENT_SUCCEEDED, 2));
+
+    // Then
+    assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(payments).extracting(e -> e.payload()[0]).containsExactly((byte) 1);
+    assertThat(notifications).extracting(e -> e.payload()[0]).containsExactly((byte) 1, (byte) 2);
+  }
+
+  @Test
+  @DisplayName("Should share one group's events between its connected members")
+  void sharesGroupBetweenMembers() throws Exception {
+    // Given
+    EventBroker broker = broker(0, 1024, 100);
+    AtomicInteger first = new AtomicInteger();
+    AtomicInteger second = new AtomicInteger();
+    CountDownLatch delivered = new CountDownLatch(40);
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 1, e -> {
+      first.incrementAndGet();
+      delivered.countDown();
+    });
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 1, e -> {
+      second.incrementAndGet();
+      delivered.countDown();
+    });
+    BrokerClient publisher = publisher(broker);
+    awaitConnected(publisher);
+    Thread.sleep(200);
+
+    // When
+    for (int i = 0; i < 40; i++) {
+      publisher.send(event(ORDER_CREATED, i));
+    }
+
+    // Then
+    assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(first.get() + second.get()).isEqualTo(40);
+    assertThat(first.get()).isPositive();
+    assertThat(second.get()).isPositive();
+  }
+
+  @Test
+  @DisplayName("Should never send a subscriber more events than it has credit for")
+  void respectsSubscriberCredits() throws Exception {
+    // Given a subscriber with a window of 2 whose handler blocks
+    EventBroker broker = broker(0, 1024, 100);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger started = new AtomicInteger();
+    CountDownLatch all = new CountDownLatch(10);
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 2, e -> {
+      started.incrementAndGet();
+      await(release);
+      all.countDown();
+    }, Executors.newFixedThreadPool(4));
+    BrokerClient publisher = publisher(broker);
+    awaitConnected(publisher);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      publisher.send(event(ORDER_CREATED, i));
+    }
+    Thread.sleep(300);
+
+    // Then
+    assertThat(started.get()).isEqualTo(2);
+    release.countDown();
+    assertThat(all.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should hold publishers back once a group's queue is full")
+  void appliesBackPressureToPublishers() throws Exception {
+    // Given a group that grants no credit, so its queue only grows
+    EventBroker broker = broker(0, 2, 1);
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 0, e -> { });
+    BrokerClient publisher = new BrokerClient(address(broker.port()), 3, 16, 50, 500);
+    publisher.start();
+    resources.add(publisher);
+    awaitConnected(publisher);
+
+    // When
+    int accepted = 0;
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (publisher.send(event(ORDER_CREATED, accepted)) && System.nanoTime() < deadline) {
+      accepted++;
+      Thread.sleep(10);
+    }
+
+    // Then two events were credited to the broker and three wait in the send buffer
+    assertThat(accepted).isEqualTo(5);
+  }
+
+  @Test
+  @DisplayName("Should redeliver events a subscriber had not acked when its connection dropped")
+  void redeliversUnackedEvents() throws Exception {
+    // Given a member holding two events it never finishes
+    EventBroker broker = broker(0, 1024, 100);
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    BrokerClient stuck = subscriber(broker, "payment", Set.of(ORDER_CREATED), 2, e -> {
+      started.countDown();
+      await(release);
+    }, Executors.newSingleThreadExecutor());
+    resources.add(release::countDown);
+    BrokerClient publisher = publisher(broker);
+    awaitConnected(publisher);
+    publisher.send(event(ORDER_CREATED, 1));
+    publisher.send(event(ORDER_CREATED, 2));
+    assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+    // When its connection drops and another member joins the group
+    stuck.close();
+    List<TransportEvent> redelivered = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch delivered = new CountDownLatch(2);
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 16, collect(redelivered, delivered));
+
+    // Then
+    assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(redelivered).extracting(e -> e.payload()[0]).containsExactly((byte) 1, (byte) 2);
+  }
+
+  @Test
+  @DisplayName("Should send events again when the broker drops the connection before acking them")
+  void resendsUnackedEvents() throws Exception {
+    // Given a broker stand-in that grants credit but never acks
+    try (ServerSocket server = new ServerSocket(0)) {
+      BrokerClient publisher = new BrokerClient(address(server.getLocalPort()), 16, 16, 20, 20);
+      publisher.start();
+      resources.add(publisher);
+      List<TransportEvent> first;
+      try (Socket socket = server.accept()) {
+        readFrame(socket);
+        socket.getOutputStream().write(Frames.credit(16).array());
+        publisher.send(event(ORDER_CREATED, 1));
+        first = Frames.readEvents(readFrame(socket).body());
+      }
+
+      // When the client reconnects
+      List<TransportEvent> second;
+      try (Socket socket = server.accept()) {
+        readFrame(socket);
+        socket.getOutputStream().write(Frames.credit(16).array());
+        second = Frames.readEvents(readFrame(socket).body());
+        socket.getOutputStream().write(Frames.ack(second.size()).array());
+      }
+
+      // Then
+      assertThat(first).extracting(e -> e.payload()[0]).containsExactly((byte) 1);
+      assertThat(second).extracting(e -> e.payload()[0]).containsExactly((byte) 1);
+    }
+  }
+
+  @Test
+  @DisplayName("Should keep publishing to other groups while a group without members is full")
+  void orphanedGroupDoesNotBlockPublishers() throws Exception {
+    // Given a group whose only member has gone, with room for one queued event
+    EventBroker broker = broker(0, 2, 1);
+    BrokerClient gone = subscriber(broker, "audit", Set.of(ORDER_CREATED), 16, e -> { });
+    CountDownLatch delivered = new CountDownLatch(10);
+    subscriber(broker, "payment", Set.of(ORDER_CREATED), 16, e -> delivered.countDown());
+    BrokerClient publisher = publisher(broker);
+    awaitConnected(publisher);
+    gone.close();
+    Thread.sleep(100);
+
+    // When
+    for (int i = 0; i < 10; i++) {
+      publisher.send(event(ORDER_CREATED, i));
+    }
+
+    // Then
+    assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should connect once the broker comes up and then send what was queued")
+  void reconnects() throws Exception {
+    // Given clients started before their broker; the publisher retries less often, so the
+    // subscriber's group exists by the time the queued event arrives
+    int port;
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    CountDownLatch delivered = new CountDownLatch(1);
+    BrokerClient subscriber = new BrokerClient(address(port), 16, 16, 20, 20);
+    subscriber.subscribe("payment", Set.of(ORDER_CREATED), 4, executor, e -> delivered.countDown());
+    subscriber.start();
+    resources.add(subscriber);
+    BrokerClient publisher = new BrokerClient(address(port), 16, 16, 1000, 1000);
+    publisher.start();
+    resources.add(publisher);
+    publisher.send(event(ORDER_CREATED, 1));
+    Thread.sleep(300);
+    assertThat(publisher.isConnected()).isFalse();
+
+    // When
+    broker(port, 1024, 100);
+
+    // Then
+    assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+    assertThat(publisher.isConnected()).isTrue();
+  }
+
+  private EventBroker broker(int port, int publisherCredits, int queueCapacity) throws IOException {
+    EventBroker broker = new EventBroker(new InetSocketAddress("localhost", port), publisherCredits, 16, queueCapacity);
+    broker.start();
+    resources.add(broker);
+    return broker;
+  }
+
+  private BrokerClient publisher(EventBroker broker) throws IOException {
+    BrokerClient client = new BrokerClient(address(broker.port()), 1000, 16, 50, 500);
+    client.start();
+    resources.add(client);
+    return client;
+  }
+
+  private BrokerClient subscriber(EventBroker broker, String name, Set<Integer> typeCodes, int window,
+      Consumer<TransportEvent> handler) throws IOException {
+    return subscriber(broker, name, typeCodes, window, handler, executor);
+  }
+
+  private BrokerClient subscriber(EventBroker broker, String name, Set<Integer> typeCodes, int window,
+      Consumer<TransportEvent> handler, ExecutorService handlerExecutor) throws IOException {
+    BrokerClient client = new BrokerClient(address(broker.port()), 16, 16, 50, 500);
+    client.subscribe(name, typeCodes, window, handlerExecutor, handler);
+    client.start();
+    resources.add(client);
+    if (handlerExecutor != executor) {
+      resources.add(handlerExecutor::shutdownNow);
+    }
+    return client;
+  }
+
+  private static Consumer<TransportEvent> collect(List<TransportEvent> into, CountDownLatch latch) {
+    return e -> {
+      into.add(e);
+      latch.countDown();
+    };
+  }
+
+  private static Frame readFrame(Socket socket) throws IOException {
+    socket.setSoTimeout(5_000);
+    DataInputStream in = new DataInputStream(socket.getInputStream());
+    byte[] frame = new byte[in.readInt()];
+    in.readFully(frame);
+    return new Frame(frame[0], ByteBuffer.wrap(frame, 1, frame.length - 1).slice());
+  }
+
+  private static void awaitConnected(BrokerClient client) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!client.isConnected() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertThat(client.isConnected()).isTrue();
+    // Let subscribers that started at the same time finish their handshake too
+    Thread.sleep(100);
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static InetSocketAddress address(int port) {
+    return new InetSocketAddress("localhost", port);
+  }
+
+  private static TransportEvent event(int typeCode, int n) {
+    return new TransportEvent(typeCode, 1, 1, new byte[] {(byte) n});
+  }
+}
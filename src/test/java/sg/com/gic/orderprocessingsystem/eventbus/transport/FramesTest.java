@@ -0,0 +1,84 @@
+package sg.com.gic.orderprocessingsystem.eventbus.transport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Frame;
+import sg.com.gic.orderprocessingsystem.eventbus.transport.Frames.Hello;
+
+@DisplayName("Frames Unit Tests")
+class FramesTest {
+
+  @Test
+  @DisplayName("Should read back a batch of events with their fields")
+  void roundTripsEvents() throws ProtocolException {
+    // Given
+    ByteBuffer frame = Frames.events(List.of(new TransportEvent(1, 2, 3, new byte[] {9, 8}),
+        new TransportEvent(4, 5, 6, new byte[0])));
+
+    // When
+    Frame read = Frames.next(frame);
+
+    // Then
+    assertThat(read.kind()).isEqualTo(Frames.EVENTS);
+    List<TransportEvent> events = Frames.readEvents(read.body());
+    assertThat(events).hasSize(2);
+    assertThat(events.get(0).typeCode()).isEqualTo(1);
+    assertThat(events.get(0).schemaVersion()).isEqualTo(2);
+    assertThat(events.get(0).codecId()).isEqualTo(3);
+    assertThat(events.get(0).payload()).containsExactly(9, 8);
+    assertThat(events.get(1).payload()).isEmpty();
+    assertThat(frame.hasRemaining()).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should read hello, credit and ack frames")
+  void roundTripsHelloCreditAndAck() throws ProtocolException {
+    // Given
+    ByteBuffer in = ByteBuffer.allocate(256);
+    in.put(Frames.hello("payment", Set.of(7, 11))).put(Frames.hello("", Set.of())).put(Frames.credit(42))
+        .put(Frames.ack(3)).flip();
+
+    // When
+    Hello subscriber = Frames.readHello(Frames.next(in).body());
+    Hello publisher = Frames.readHello(Frames.next(in).body());
+    Frame credit = Frames.next(in);
+    Frame ack = Frames.next(in);
+
+    // Then
+    assertThat(subscriber.subscriber()).isEqualTo("payment");
+    assertThat(subscriber.typeCodes()).containsExactlyInAnyOrder(7, 11);
+    assertThat(publisher.isPublisher()).isTrue();
+    assertThat(credit.kind()).isEqualTo(Frames.CREDIT);
+    assertThat(Frames.readCredit(credit.body())).isEqualTo(42);
+    assertThat(ack.kind()).isEqualTo(Frames.ACK);
+    assertThat(Frames.readAck(ack.body())).isEqualTo(3);
+    assertThat(Frames.next(in)).isNull();
+  }
+
+  @Test
+  @DisplayName("Should wait for the rest of a partly received frame")
+  void waitsForPartialFrame() throws ProtocolException {
+    // Given
+    ByteBuffer whole = Frames.credit(5);
+    ByteBuffer partial = ByteBuffer.allocate(16).put(whole.slice(0, whole.remaining() - 1)).flip();
+
+    // When / Then
+    assertThat(Frames.next(partial)).isNull();
+    assertThat(partial.position()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should reject a frame length outside the allowed range")
+  void rejectsInvalidLength() {
+    ByteBuffer in = ByteBuffer.allocate(8).putInt(Frames.MAX_FRAME_BYTES + 1).putInt(0).flip();
+
+    assertThatThrownBy(() -> Frames.next(in)).isInstanceOf(ProtocolException.class);
+  }
+}
@@ -0,0 +1,72 @@
+package sg.com.gic.orderprocessingsystem.eventbus.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+
+// A database of its own, so the row counts only see what these tests stage
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:group-commit-test;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "outbox.relay.enabled=false",
+        "outbox.group-commit.enabled=true"
+})
+@DisplayName("GroupCommitOutboxWriter Integration Tests")
+class GroupCommitOutboxWriterIntegrationTest {
+
+    @Autowired
+    private GroupCommitOutboxWriter writer;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("Should insert staged rows when the caller's transaction commits")
+    void shouldInsertStagedRowsOnCommit() {
+        // Given
+        long before = outboxEventRepository.count();
+        OutboxEventEntity first = row();
+        OutboxEventEntity second = row();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.stage(first);
+            writer.stage(second);
+        });
+
+        // Then
+        assertThat(outboxEventRepository.count()).isEqualTo(before + 2);
+        assertThat(outboxEventRepository.findAllById(List.of(first.getId(), second.getId())))
+                .hasSize(2);
+    }
+
+    @Test
+    @DisplayName("Should leave no staged rows behind when the caller's transaction rolls back")
+    void shouldDropStagedRowsOnRollback() {
+        // Given
+        long before = outboxEventRepository.count();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            writer.stage(row());
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(outboxEventRepository.count()).isEqualTo(before);
+    }
+
+    private static OutboxEventEntity row() {
+        return new OutboxEventEntity(1, 1, 1, new byte[] {1}, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,202 @@
+package sg.com.gic.orderprocessingsystem.eventbus.writer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GroupCommitOutboxWriter Unit Tests")
+class GroupCommitOutboxWriterTest {
+
+  @Mock
+  private OutboxEventRepository outboxRepo;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Captor
+  private ArgumentCaptor<List<OutboxEventEntity>> batches;
+
+  private GroupCommitOutboxWriter writer;
+
+  private final AtomicLong ids = new AtomicLong();
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    lenient().when(outboxRepo.saveAll(anyList())).thenAnswer(inv -> {
+      List<OutboxEventEntity> rows = inv.getArgument(0);
+      rows.forEach(row -> row.setId(ids.incrementAndGet()));
+      return rows;
+    });
+  }
+
+  @AfterEach
+  void tearDown() throws InterruptedException {
+    if (writer != null) {
+      writer.stop();
+    }
+  }
+
+  @Test
+  @DisplayName("Should coalesce rows queued within the linger window into one batch")
+  void shouldCoalesceConcurrentWrites() throws Exception {
+    // Given: a linger window long enough for all submissions to land in it
+    writer = new GroupCommitOutboxWriter(outboxRepo, new TransactionTemplate(transactionManager), 200, 50, 100);
+    writer.start();
+
+    // When
+    List<CompletableFuture<OutboxEventEntity>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(writer.submit(row("order-" + i)));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    // Then
+    verify(outboxRepo, times(1)).saveAll(anyList());
+    assertThat(futures).allSatisfy(f -> assertThat(f.join().getId()).isNotNull());
+  }
+
+  @Test
+  @DisplayName("Should insert the rows staged in a transaction together just before it commits")
+  void shouldWriteStagedRowsBeforeCommit() {
+    // Given
+    writer = new GroupCommitOutboxWriter(outboxRepo, new TransactionTemplate(transactionManager), 200, 50, 100);
+    OutboxEventEntity first = row("order-1");
+    OutboxEventEntity second = row("order-2");
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      writer.stage(first);
+      writer.stage(second);
+      verify(outboxRepo, never()).saveAll(anyList());
+
+      // When
+      TransactionSynchronizationManager.getSynchronizations().forEach(s -> s.beforeCommit(false));
+
+      // Then: one batch in the caller's transaction, none on the writer thread
+      verify(outboxRepo, times(1)).saveAll(List.of(first, second));
+      verifyNoInteractions(transactionManager);
+      assertThat(first.getId()).isNotNull();
+      assertThat(second.getId()).isNotNull();
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("Should cap each batch at max-batch rows")
+  void shouldCapBatchSize() throws Exception {
+    // Given
+    writer = new GroupCommitOutboxWriter(outboxRepo, new TransactionTemplate(transactionManager), 200, 4, 100);
+    writer.start();
+
+    // When
+    List<CompletableFuture<OutboxEventEntity>> futures = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      futures.add(writer.submit(row("order-" + i)));
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    // Then
+    verify(outboxRepo, atLeast(3)).saveAll(batches.capture());
+    assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(4));
+  }
+
+  @Test
+  @DisplayName("Should fail every caller in a batch whose commit fails")
+  void shouldFailCallersWhenCommitFails() {
+    // Given
+    when(outboxRepo.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+    writer = new GroupCommitOutboxWriter(outboxRepo, new TransactionTemplate(transactionManager), 1, 50, 100);
+    writer.start();
+
+    // When & Then
+    assertThatThrownBy(() -> writer.write(row("order-1")))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("database down");
+  }
+
+  @Test
+  @DisplayName("Should flush queued rows before stopping")
+  void shouldFlushOnStop() throws Exception {
+    // Given
+    writer = new GroupCommitOutboxWriter(outboxRepo, new TransactionTemplate(transactionManager), 50, 50, 100);
+    writer.start();
+    CompletableFuture<OutboxEventEntity> pending = writer.submit(row("order-1"));
+
+    // When
+    writer.stop();
+
+    // Then
+    assertThat(pending.get(1, TimeUnit.SECONDS).getId()).isNotNull();
+    assertThatThrownBy(() -> writer.submit(row("order-2"))).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  @DisplayName("Should settle every accepted row when stop() races with submitters")
+  void shouldSettleRowsSubmittedWhileStopping() throws Exception {
+    // Given: submitters that keep queueing rows until the writer refuses them
+    writer = new GroupCommitOutboxWriter(outboxRepo, new TransactionTemplate(transactionManager), 0, 50, 100);
+    writer.start();
+    List<CompletableFuture<OutboxEventEntity>> accepted = new CopyOnWriteArrayList<>();
+    ExecutorService submitters = Executors.newFixedThreadPool(4);
+    try {
+      for (int t = 0; t < 4; t++) {
+        submitters.execute(() -> {
+          try {
+            while (true) {
+              accepted.add(writer.submit(row("order")));
+            }
+          } catch (IllegalStateException e) {
+            // stopped
+          }
+        });
+      }
+      Thread.sleep(20);
+
+      // When
+      writer.stop();
+      submitters.shutdown();
+      assertThat(submitters.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+      // Then: no caller is left waiting on a row the writer will never flush
+      assertThat(accepted).isNotEmpty();
+      CompletableFuture.allOf(accepted.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+    } finally {
+      submitters.shutdownNow();
+    }
+  }
+
+  private OutboxEventEntity row(String orderId) {
+    return new OutboxEventEntity(1, 1, 1, ("{\"orderId\":\"" + orderId + "\"}").getBytes(StandardCharsets.UTF_8),
+        LocalDateTime.now());
+  }
+}
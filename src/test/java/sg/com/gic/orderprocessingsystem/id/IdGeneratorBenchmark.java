@@ -0,0 +1,149 @@
+package sg.com.gic.orderprocessingsystem.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Random (v4) versus time-ordered (v7) UUID primary keys.
+ *
+ * <p>Not part of the regular test run; execute with {@code ./mvnw test -Pbenchmark
+ * -Dtest=IdGeneratorBenchmark}. Table sizes default to 100k and 1M rows and can be changed with
+ * {@code -Dbenchmark.id.rows=100000,5000000}. Rows go into a file-backed copy of the
+ * {@code orders} table under {@code target/id-benchmark}, committed every 1,000 rows like a busy
+ * order endpoint would; the reported size is the database file after a checkpoint, so half-empty
+ * pages left by random inserts count against v4.
+ */
+@DisplayName("ID generator benchmark")
+class IdGeneratorBenchmark {
+
+  private static final int COMMIT_EVERY = 1_000;
+
+  static List<Long> tableSizes() {
+    String sizes = System.getProperty("benchmark.id.rows", "100000,1000000");
+    return Arrays.stream(sizes.split(",")).map(String::trim).map(Long::valueOf).toList();
+  }
+
+  @BeforeAll
+  static void warmUp() throws Exception {
+    IdGeneratorBenchmark warmUp = new IdGeneratorBenchmark();
+    warmUp.insert("warmup-v4", new RandomUuidGenerator(), 50_000);
+    warmUp.insert("warmup-v7", new TimeOrderedUuidGenerator(), 50_000);
+  }
+
+  @ParameterizedTest(name = "rows={0}")
+  @MethodSource("tableSizes")
+  @DisplayName("Insert throughput and file size versus table size")
+  void insertThroughput(long rows) throws Exception {
+    Result v4 = insert("v4", new RandomUuidGenerator(), rows);
+    Result v7 = insert("v7", new TimeOrderedUuidGenerator(), rows);
+    System.out.printf("id insert: rows=%,d v4=%,d rows/s %,d KiB  v7=%,d rows/s %,d KiB%n",
+        rows, v4.rowsPerSecond(), v4.fileBytes() / 1024, v7.rowsPerSecond(), v7.fileBytes() / 1024);
+  }
+
+  @Test
+  @DisplayName("Generation throughput with 1 and 8 threads")
+  void generationThroughput() throws Exception {
+    for (int threads : new int[] {1, 8}) {
+      long v4 = generate(new RandomUuidGenerator(), threads);
+      long v7 = generate(new TimeOrderedUuidGenerator(), threads);
+      System.out.printf("id generation: threads=%d v4=%,d ids/s v7=%,d ids/s%n", threads, v4, v7);
+    }
+  }
+
+  private record Result(long rowsPerSecond, long fileBytes) {
+
+  }
+
+  private Result insert(String name, IdGenerator generator, long rows) throws SQLException, IOException {
+    Path file = Path.of("target", "id-benchmark", name + "_" + rows + ".mv.db");
+    String url = "jdbc:h2:file:./target/id-benchmark/" + name + "_" + rows;
+    try (Connection connection = DriverManager.getConnection(url, "sa", "")) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DROP ALL OBJECTS");
+        statement.execute("CREATE TABLE orders (order_id VARCHAR(255) PRIMARY KEY, "
+            + "amount DOUBLE NOT NULL, customer_email VARCHAR(255) NOT NULL, "
+            + "created_at VARCHAR(255) NOT NULL)");
+      }
+      connection.setAutoCommit(false);
+
+      long start = System.nanoTime();
+      try (PreparedStatement insert = connection.prepareStatement(
+          "INSERT INTO orders (order_id, amount, customer_email, created_at) VALUES (?, ?, ?, ?)")) {
+        for (long i = 1; i <= rows; i++) {
+          insert.setString(1, generator.nextId());
+          insert.setDouble(2, 199.99);
+          insert.setString(3, "benchmark-customer@example.com");
+          insert.setString(4, "2024-05-06T07:08:09.123456789");
+          insert.addBatch();
+          if (i % COMMIT_EVERY == 0 || i == rows) {
+            insert.executeBatch();
+            connection.commit();
+          }
+        }
+      }
+      long elapsedNanos = System.nanoTime() - start;
+
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("CHECKPOINT SYNC");
+        try (ResultSet count = statement.executeQuery("SELECT COUNT(*) FROM orders")) {
+          count.next();
+          assertThat(count.getLong(1)).isEqualTo(rows);
+        }
+      }
+      long fileBytes = Files.size(file);
+      try (Statement statement = connection.createStatement()) {
+        statement.execute("DROP ALL OBJECTS DELETE FILES");
+      }
+      return new Result(rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos, fileBytes);
+    }
+  }
+
+  private long generate(IdGenerator generator, int threads) throws Exception {
+    long durationNanos = TimeUnit.SECONDS.toNanos(2);
+    LongAdder generated = new LongAdder();
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      Future<?>[] workers = new Future<?>[threads];
+      long start = System.nanoTime();
+      for (int t = 0; t < threads; t++) {
+        workers[t] = executor.submit(() -> {
+          long count = 0;
+          int sink = 0;
+          while (System.nanoTime() - start < durationNanos) {
+            sink += generator.nextId().length();
+            count++;
+          }
+          assertThat(sink).isPositive();
+          generated.add(count);
+        });
+      }
+      for (Future<?> worker : workers) {
+        worker.get();
+      }
+      return generated.sum() * TimeUnit.SECONDS.toNanos(1) / (System.nanoTime() - start);
+    } finally {
+      executor.shutdown();
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package sg.com.gic.orderprocessingsystem.id;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TimeOrderedUuidGenerator Unit Tests")
+class TimeOrderedUuidGeneratorTest {
+
+  private static final long NOW = 1_700_000_000_000L;
+
+  @Test
+  @DisplayName("nextUuid() should produce version 7 UUIDs carrying the current millisecond")
+  void nextUuidIsVersion7() {
+    // Given
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> NOW);
+
+    // When
+    UUID id = generator.nextUuid();
+
+    // Then
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+    assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(NOW);
+  }
+
+  @Test
+  @DisplayName("nextId() should increase strictly within a millisecond, past counter overflow")
+  void nextIdIncreasesWithinMillisecond() {
+    // Given - a clock that never moves, so the 12-bit counter must overflow
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(() -> NOW);
+
+    // When
+    List<String> ids = new ArrayList<>();
+    for (int i = 0; i < 10_000; i++) {
+      ids.add(generator.nextId());
+    }
+
+    // Then
+    assertThat(ids).isSorted().doesNotHaveDuplicates();
+    assertThat(UUID.fromString(ids.get(ids.size() - 1)).getMostSignificantBits() >>> 16).isGreaterThan(NOW);
+  }
+
+  @Test
+  @DisplayName("nextId() should stay increasing when the clock steps back")
+  void nextIdSurvivesClockStepBack() {
+    // Given
+    AtomicLong clock = new AtomicLong(NOW);
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+    String before = generator.nextId();
+
+    // When
+    clock.set(NOW - 5_000);
+    String after = generator.nextId();
+
+    // Then
+    assertThat(after).isGreaterThan(before);
+  }
+
+  @Test
+  @DisplayName("nextId() should sort ids from later milliseconds after earlier ones")
+  void nextIdSortsByTime() {
+    // Given
+    AtomicLong clock = new AtomicLong(NOW);
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator(clock::get);
+
+    // When
+    String first = generator.nextId();
+    clock.incrementAndGet();
+    String second = generator.nextId();
+
+    // Then
+    assertThat(second).isGreaterThan(first);
+  }
+
+  @Test
+  @DisplayName("nextId() should not collide across threads")
+  void nextIdIsUniqueAcrossThreads() throws Exception {
+    // Given
+    TimeOrderedUuidGenerator generator = new TimeOrderedUuidGenerator();
+    Set<String> ids = ConcurrentHashMap.newKeySet();
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    // When
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          Set<String> local = new HashSet<>();
+          for (int i = 0; i < 20_000; i++) {
+            local.add(generator.nextId());
+          }
+          ids.addAll(local);
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    // Then
+    assertThat(ids).hasSize(8 * 20_000);
+  }
+}
@@ -0,0 +1,59 @@
+package sg.com.gic.orderprocessingsystem.order.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import sg.com.gic.orderprocessingsystem.eventbus.entity.OutboxEventEntity;
+import sg.com.gic.orderprocessingsystem.eventbus.repository.OutboxEventRepository;
+import sg.com.gic.orderprocessingsystem.order.domain.Order;
+import sg.com.gic.orderprocessingsystem.order.repository.OrderRepository;
+
+@SpringBootTest
+@DisplayName("OrderService Integration Tests")
+class OrderServiceIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockitoSpyBean
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    @DisplayName("Should commit the order together with its outbox row")
+    void shouldCommitOrderWithOutboxRow() {
+        // Given
+        long outboxRowsBefore = outboxEventRepository.count();
+
+        // When
+        Order order = orderService.createOrder(25.0, "atomic@example.com");
+
+        // Then
+        assertThat(orderRepository.findById(order.orderId())).isPresent();
+        assertThat(outboxEventRepository.count()).isGreaterThan(outboxRowsBefore);
+    }
+
+    @Test
+    @DisplayName("Should roll back the order when the outbox insert fails")
+    void shouldRollBackOrderWhenOutboxInsertFails() {
+        // Given
+        doThrow(new DataIntegrityViolationException("outbox unavailable"))
+                .when(outboxEventRepository).save(any(OutboxEventEntity.class));
+        long ordersBefore = orderRepository.count();
+
+        // When / Then
+        assertThatThrownBy(() -> orderService.createOrder(25.0, "rollback@example.com"))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(orderRepository.count()).isEqualTo(ordersBefore);
+    }
+}
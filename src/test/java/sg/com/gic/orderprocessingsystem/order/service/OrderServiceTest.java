@@ -11,6 +11,7 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import sg.com.gic.orderprocessingsystem.eventbus.EventPublisher;
 import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
@@ -20,6 +21,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 import sg.com.gic.orderprocessingsystem.order.entity.OrderEntity;
 import sg.com.gic.orderprocessingsystem.order.repository.OrderRepository;
+import sg.com.gic.orderprocessingsystem.id.IdGenerator;
+import sg.com.gic.orderprocessingsystem.id.TimeOrderedUuidGenerator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -33,6 +36,9 @@ class OrderServiceTest {
     @Mock
     private EventPublisher eventPublisher;
 
+    @Spy
+    private IdGenerator idGenerator = new TimeOrderedUuidGenerator();
+
     @InjectMocks
     private OrderService orderService;
 
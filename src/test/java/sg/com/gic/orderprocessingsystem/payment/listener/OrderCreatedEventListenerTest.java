@@ -1,18 +1,29 @@
 package sg.com.gic.orderprocessingsystem.payment.listener;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import sg.com.gic.orderprocessingsystem.eventbus.EventSubscriber;
+import sg.com.gic.orderprocessingsystem.eventbus.batch.EventBatchers;
+import sg.com.gic.orderprocessingsystem.eventbus.dispatch.EventHandlerRegistry;
 import sg.com.gic.orderprocessingsystem.eventbus.event.OrderCreatedEvent;
+import sg.com.gic.orderprocessingsystem.eventbus.metrics.EventMetrics;
+import sg.com.gic.orderprocessingsystem.eventbus.priority.PriorityLanes;
+import sg.com.gic.orderprocessingsystem.eventbus.registry.EventTypeRegistry;
+import sg.com.gic.orderprocessingsystem.eventbus.retry.RetryScheduler;
 import sg.com.gic.orderprocessingsystem.payment.service.PaymentService;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,18 +39,38 @@ class OrderCreatedEventListenerTest {
     @Mock
     private EventSubscriber eventSubscriber;
 
+    @Mock
+    private EventHandlerRegistry eventHandlerRegistry;
+
     @Mock
     private PaymentService paymentService;
 
-    @InjectMocks
+    @Mock
+    private RetryScheduler retryScheduler;
+
+    private MeterRegistry meterRegistry;
+
+    private EventMetrics eventMetrics;
+
     private OrderCreatedEventListener listener;
 
     @Captor
     private ArgumentCaptor<Consumer<OrderCreatedEvent>> handlerCaptor;
 
+    @Captor
+    private ArgumentCaptor<List<OrderCreatedEvent>> batchCaptor;
+
     @BeforeEach
     void setUp() {
-        // Reset is handled by @ExtendWith(MockitoExtension.class)
+        meterRegistry = new SimpleMeterRegistry();
+        eventMetrics = new EventMetrics(meterRegistry, new EventTypeRegistry(new ObjectMapper()));
+        listener = new OrderCreatedEventListener(paymentService, eventHandlerRegistry, retryScheduler,
+                eventMetrics, new EventBatchers(false, 1, 0, 1, "platform"), priorityLanes(false));
+        // Run handlers straight through; retries are covered by RetrySchedulerTest
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(2).accept(inv.getArgument(1));
+            return null;
+        }).when(retryScheduler).execute(any(), any(), any());
     }
 
 
@@ -93,17 +124,18 @@ class OrderCreatedEventListenerTest {
     }
 
     @Test
-    @DisplayName("Should propagate payment service exception")
-    void shouldPropagatePaymentServiceException() {
+    @DisplayName("Should hand the event to the retry scheduler under the payment subscriber")
+    void shouldRunHandlerThroughRetryScheduler() {
         // Given
         OrderCreatedEvent event = new OrderCreatedEvent("order-error", 100.0, "error@example.com");
-        doThrow(new RuntimeException("Payment processing failed"))
-                .when(paymentService).processOrderCreatedEvent(any(OrderCreatedEvent.class));
+        doNothing().when(retryScheduler).execute(any(), any(), any());
 
-        // When & Then
-        assertThrows(RuntimeException.class, () -> {
-            listener.handleOrderCreated(event);
-        });
+        // When
+        listener.handleOrderCreated(event);
+
+        // Then: a failure is the scheduler's to retry, so the service is not called directly
+        verify(retryScheduler, times(1)).execute(eq("payment"), eq(event), any());
+        verifyNoInteractions(paymentService);
     }
 
     @Test
@@ -131,5 +163,138 @@ class OrderCreatedEventListenerTest {
         // Then
         verify(paymentService, times(1)).processOrderCreatedEvent(event);
     }
-}
 
+    @Test
+    @DisplayName("Should register its handler for dispatchers that bypass @EventListener")
+    void shouldRegisterHandlerWithRegistry() {
+        // Given
+        OrderCreatedEvent event = new OrderCreatedEvent("order-ring", 10.0, "ring@example.com");
+
+        // When
+        listener.registerHandlers();
+
+        // Then
+        verify(eventHandlerRegistry).register(eq("payment"), eq(OrderCreatedEvent.class), handlerCaptor.capture());
+        handlerCaptor.getValue().accept(event);
+        verify(paymentService, times(1)).processOrderCreatedEvent(event);
+    }
+
+    @Test
+    @DisplayName("Should register its handler for retries another instance left pending")
+    void shouldRegisterHandlerForRetryRecovery() {
+        // Given
+        OrderCreatedEvent event = new OrderCreatedEvent("order-recovered", 10.0, "recovered@example.com");
+
+        // When
+        listener.registerHandlers();
+
+        // Then: the recovered retry runs the work itself, not another round of retries
+        verify(retryScheduler).recoverWith(eq("payment"), eq(OrderCreatedEvent.class), handlerCaptor.capture());
+        handlerCaptor.getValue().accept(event);
+        verify(paymentService, times(1)).processOrderCreatedEvent(event);
+        verify(retryScheduler, never()).execute(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should time each handler attempt by outcome")
+    void shouldTimeHandlerAttempts() {
+        // Given
+        OrderCreatedEvent ok = new OrderCreatedEvent("order-ok", 10.0, "ok@example.com");
+        OrderCreatedEvent failing = new OrderCreatedEvent("order-fail", 10.0, "fail@example.com");
+        lenient().doThrow(new IllegalStateException("gateway down")).when(paymentService).processOrderCreatedEvent(failing);
+
+        // When
+        listener.handleOrderCreated(ok);
+        assertThrows(IllegalStateException.class, () -> listener.handleOrderCreated(failing));
+
+        // Then
+        assertThat(meterRegistry.get("event.handler.duration")
+                .tags("subscriber", "payment", "outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("event.handler.duration")
+                .tags("subscriber", "payment", "outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should hand batched events to the payment service together when batching is on")
+    void shouldHandleBatchedEvents() throws Exception {
+        // Given
+        EventBatchers eventBatchers = new EventBatchers(true, 2, 1000, 10, "platform");
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(2).accept(inv.getArgument(1));
+            return null;
+        }).when(retryScheduler).executeBatch(any(), any(), any());
+        OrderCreatedEventListener batchingListener = new OrderCreatedEventListener(paymentService,
+                eventHandlerRegistry, retryScheduler, eventMetrics, eventBatchers, priorityLanes(false));
+        OrderCreatedEvent first = new OrderCreatedEvent("order-b1", 10.0, "b1@example.com");
+        OrderCreatedEvent second = new OrderCreatedEvent("order-b2", 20.0, "b2@example.com");
+
+        try {
+            // When: two deliveries at once, each waiting for its batch
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> batchingListener.handleOrderCreated(first)),
+                    CompletableFuture.runAsync(() -> batchingListener.handleOrderCreated(second)))
+                    .get(500, TimeUnit.MILLISECONDS);
+
+            // Then: one call for both, well before the one-second wait, and none one by one
+            verify(paymentService).processOrderCreatedEvents(batchCaptor.capture());
+            assertThat(batchCaptor.getValue()).containsExactlyInAnyOrder(first, second);
+            verify(paymentService, never()).processOrderCreatedEvent(any());
+        } finally {
+            eventBatchers.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle the event on the calling thread once the batcher has stopped")
+    void shouldHandleEventItselfWhenBatcherStopped() throws Exception {
+        // Given
+        EventBatchers eventBatchers = new EventBatchers(true, 2, 1000, 10, "platform");
+        OrderCreatedEventListener batchingListener = new OrderCreatedEventListener(paymentService,
+                eventHandlerRegistry, retryScheduler, eventMetrics, eventBatchers, priorityLanes(false));
+        OrderCreatedEvent event = new OrderCreatedEvent("order-s1", 10.0, "s1@example.com");
+        eventBatchers.stop();
+
+        // When
+        batchingListener.handleOrderCreated(event);
+
+        // Then
+        verify(retryScheduler).execute(eq("payment"), eq(event), any());
+        verify(paymentService).processOrderCreatedEvent(event);
+        verify(retryScheduler, never()).executeBatch(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should queue events in their amount's priority lane when lanes are on")
+    void shouldQueueEventsByPriorityLane() throws Exception {
+        // Given: batching off, so each event is handed over on its own
+        EventBatchers eventBatchers = new EventBatchers(false, 100, 10, 10, "platform");
+        lenient().doAnswer(inv -> {
+            inv.<Consumer<Object>>getArgument(2).accept(inv.getArgument(1));
+            return null;
+        }).when(retryScheduler).executeBatch(any(), any(), any());
+        OrderCreatedEventListener laneListener = new OrderCreatedEventListener(paymentService,
+                eventHandlerRegistry, retryScheduler, eventMetrics, eventBatchers, priorityLanes(true));
+        OrderCreatedEvent large = new OrderCreatedEvent("order-p1", 5000.0, "p1@example.com");
+
+        try {
+            // When
+            laneListener.handleOrderCreated(large);
+
+            // Then: handled by a lane worker before the call returned, its wait recorded under the
+            // high lane
+            verify(paymentService).processOrderCreatedEvents(List.of(large));
+            verify(retryScheduler, never()).execute(any(), any(), any());
+            assertThat(meterRegistry.get("event.priority.lane.wait")
+                    .tags("subscriber", "payment", "lane", "high").timer().count()).isEqualTo(1);
+            assertThat(meterRegistry.get("event.priority.lane.wait")
+                    .tags("subscriber", "payment", "lane", "low").timer().count()).isZero();
+        } finally {
+            eventBatchers.stop();
+        }
+    }
+
+    private PriorityLanes priorityLanes(boolean enabled) {
+        return new PriorityLanes(enabled, "high:1000:8,standard:100:3,low:0:1", 1, 10, eventMetrics,
+                meterRegistry);
+    }
+}
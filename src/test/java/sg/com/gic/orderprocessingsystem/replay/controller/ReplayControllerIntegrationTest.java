@@ -0,0 +1,116 @@
+package sg.com.gic.orderprocessingsystem.replay.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import sg.com.gic.orderprocessingsystem.notification.repository.NotificationRepository;
+import sg.com.gic.orderprocessingsystem.order.dto.CreateOrderRequest;
+import sg.com.gic.orderprocessingsystem.replay.dto.StartReplayRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DisplayName("ReplayController Integration Tests")
+class ReplayControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper.findAndRegisterModules();
+    }
+
+    @Test
+    @DisplayName("Should replay a payment event to the notification subscriber, which handles it again")
+    void shouldReplayPaymentEventToNotifications() throws Exception {
+        // Given - an order that has been paid and notified once
+        // Bounded by time, not id: ids come in pooled blocks, so a new row may sit below the newest id
+        LocalDateTime from = LocalDateTime.now();
+        String orderResponse = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new CreateOrderRequest(42.0, "replay@example.com"))))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String orderId = objectMapper.readTree(orderResponse).get("orderId").asText();
+        Thread.sleep(1500);
+        assertThat(notificationsFor(orderId)).isEqualTo(1);
+
+        // When
+        StartReplayRequest request = new StartReplayRequest("notification", "PaymentSucceededEvent",
+                null, null, from, null, 50);
+        String replayResponse = mockMvc.perform(post("/api/replays")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.replayId").exists())
+                .andExpect(jsonPath("$.subscriber").value("notification"))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        String replayId = objectMapper.readTree(replayResponse).get("replayId").asText();
+
+        // Then
+        JsonNode replay = awaitFinished(replayId);
+        assertThat(replay.get("status").asText()).isEqualTo("COMPLETED");
+        assertThat(replay.get("replayed").asLong()).isGreaterThanOrEqualTo(1);
+        // The replay clears the consumer's processed-event record, so the notification is sent again
+        assertThat(notificationsFor(orderId)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should return 400 for an unknown subscriber")
+    void shouldRejectUnknownSubscriber() throws Exception {
+        StartReplayRequest request = new StartReplayRequest("nobody", null, null, null, null, null, null);
+
+        mockMvc.perform(post("/api/replays")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Unknown subscriber: nobody"));
+    }
+
+    private JsonNode awaitFinished(String replayId) throws Exception {
+        JsonNode replay = null;
+        for (int attempt = 0; attempt < 50; attempt++) {
+            String body = mockMvc.perform(get("/api/replays/{replayId}", replayId))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            replay = objectMapper.readTree(body);
+            String status = replay.get("status").asText();
+            if (!status.equals("PENDING") && !status.equals("RUNNING")) {
+                return replay;
+            }
+            Thread.sleep(200);
+        }
+        return replay;
+    }
+
+    private long notificationsFor(String orderId) {
+        return notificationRepository.findAll().stream()
+                .filter(notification -> notification.getOrderId().equals(orderId))
+                .count();
+    }
+}
@@ -0,0 +1,85 @@
+package sg.com.gic.orderprocessingsystem.replay.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TokenBucket Unit Tests")
+class TokenBucketTest {
+
+  private long now;
+  private List<Long> sleeps;
+
+  @BeforeEach
+  void setUp() {
+    now = 0;
+    sleeps = new ArrayList<>();
+  }
+
+  private TokenBucket bucket(int permitsPerSecond) {
+    return new TokenBucket(permitsPerSecond, () -> now, nanos -> {
+      sleeps.add(nanos);
+      now += nanos;
+    });
+  }
+
+  @Test
+  @DisplayName("acquire() should space permits at the configured rate")
+  void acquireSpacesPermits() throws Exception {
+    // Given
+    TokenBucket bucket = bucket(10);
+
+    // When
+    for (int i = 0; i < 4; i++) {
+      bucket.acquire();
+    }
+
+    // Then
+    assertThat(sleeps).hasSize(3);
+    assertThat(sleeps).allSatisfy(nanos -> assertThat(nanos).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100)));
+  }
+
+  @Test
+  @DisplayName("acquire() should not sleep while tokens have built up")
+  void acquireUsesAccumulatedTokens() throws Exception {
+    // Given
+    TokenBucket bucket = bucket(10);
+    now += TimeUnit.MILLISECONDS.toNanos(500);
+
+    // When
+    for (int i = 0; i < 6; i++) {
+      bucket.acquire();
+    }
+
+    // Then
+    assertThat(sleeps).isEmpty();
+  }
+
+  @Test
+  @DisplayName("acquire() should cap the burst after an idle period at one second of permits")
+  void acquireCapsBurst() throws Exception {
+    // Given
+    TokenBucket bucket = bucket(5);
+    now += TimeUnit.SECONDS.toNanos(60);
+
+    // When
+    for (int i = 0; i < 6; i++) {
+      bucket.acquire();
+    }
+
+    // Then
+    assertThat(sleeps).hasSize(1);
+  }
+
+  @Test
+  @DisplayName("constructor should reject a non-positive rate")
+  void rejectsNonPositiveRate() {
+    assertThatThrownBy(() -> bucket(0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}